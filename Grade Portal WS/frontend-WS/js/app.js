@@ -1,29 +1,17 @@
 const API_BASE = "http://localhost:8080/api";
 
 // ----------------- Utility Functions -----------------
-function extractUsernameFromToken(token) {
-    try {
-        // JWT token format: header.payload.signature
-        const payload = token.split('.')[1];
-        // Decode base64 payload
-        const decodedPayload = atob(payload.replace(/-/g, '+').replace(/_/g, '/'));
-        const payloadObj = JSON.parse(decodedPayload);
-        return payloadObj.sub; // 'sub' contains the username
-    } catch (error) {
-        console.error('Error extracting username from token:', error);
-        return null;
-    }
-}
-
 function showLoading(elementId) {
-    const element = document.getElementById(elementId);
+    // Write into the table body so the header row and the tbody survive for rendering
+    const element = document.querySelector(`#${elementId} tbody`) || document.getElementById(elementId);
     if (element) {
         element.innerHTML = '<tr><td colspan="6">Loading...</td></tr>';
     }
 }
 
 function showError(elementId, message) {
-    const element = document.getElementById(elementId);
+    // Write into the table body so the header row and the tbody survive for rendering
+    const element = document.querySelector(`#${elementId} tbody`) || document.getElementById(elementId);
     if (element) {
         element.innerHTML = '<tr><td colspan="6" style="color: red;">' + message + '</td></tr>';
     }
@@ -64,7 +52,43 @@ function getAuthHeaders() {
     };
 }
 
-async function apiCall(url, options = {}) {
+// Shared between concurrent calls: a refresh token may only be used once
+let refreshInFlight = null;
+
+function refreshAccessToken() {
+    const refreshToken = localStorage.getItem("refreshToken");
+    if (!refreshToken) {
+        return Promise.resolve(false);
+    }
+    if (!refreshInFlight) {
+        refreshInFlight = fetch(`${API_BASE}/auth/refresh`, {
+            method: "POST",
+            headers: { "Content-Type": "application/json" },
+            body: JSON.stringify({ refreshToken })
+        })
+            .then(async res => {
+                if (!res.ok) {
+                    return false;
+                }
+                const data = await res.json();
+                localStorage.setItem("token", data.token);
+                localStorage.setItem("refreshToken", data.refreshToken);
+                return true;
+            })
+            .catch(() => false)
+            .finally(() => { refreshInFlight = null; });
+    }
+    return refreshInFlight;
+}
+
+function clearSession() {
+    disconnectChangeFeed();
+    localStorage.removeItem("token");
+    localStorage.removeItem("refreshToken");
+    localStorage.removeItem("role");
+}
+
+async function apiCall(url, options = {}, retried = false) {
     try {
         const response = await fetch(url, {
             ...options,
@@ -76,9 +100,11 @@ async function apiCall(url, options = {}) {
 
         if (!response.ok) {
             if (response.status === 401) {
-                // Token expired or invalid
-                localStorage.removeItem("token");
-                localStorage.removeItem("role");
+                // Access token expired: renew it once and replay the request
+                if (!retried && await refreshAccessToken()) {
+                    return apiCall(url, options, true);
+                }
+                clearSession();
                 alert("Session expired. Please login again.");
                 showSection('loginSection');
                 return null;
@@ -129,16 +155,15 @@ document.addEventListener("DOMContentLoaded", () => {
         // User is logged in, show appropriate dashboard
         if (role === "ADMIN") {
             showSection('adminSection');
-            loadTeachers();
-            loadRequests();
+            loadAdminDashboard();
         } else if (role === "TEACHER") {
             showSection('teacherSection');
-            loadStudents();
-            loadSubjects();
+            loadTeacherDashboard();
         } else if (role === "STUDENT") {
             showSection('studentSection');
             loadMyGrades();
         }
+        connectChangeFeed();
     } else {
         // Show login section
         showSection('loginSection');
@@ -148,8 +173,13 @@ document.addEventListener("DOMContentLoaded", () => {
     const logoutButtons = document.querySelectorAll("#logoutBtn");
     logoutButtons.forEach(btn => {
         btn.addEventListener("click", () => {
-            localStorage.removeItem("token");
-            localStorage.removeItem("role");
+            const refreshToken = localStorage.getItem("refreshToken");
+            fetch(`${API_BASE}/auth/logout`, {
+                method: "POST",
+                headers: getAuthHeaders(),
+                body: JSON.stringify({ refreshToken })
+            }).catch(error => console.error("Logout failed:", error));
+            clearSession();
             showInfoMessage("Logged out successfully");
             showSection('loginSection');
         });
@@ -186,21 +216,21 @@ document.addEventListener("DOMContentLoaded", () => {
                 const data = await res.json();
 
                 localStorage.setItem("token", data.token);
+                localStorage.setItem("refreshToken", data.refreshToken);
                 localStorage.setItem("role", data.user.role);
 
                 showSuccessMessage("LOGIN SUCCESS!");
                 if (data.user.role === "ADMIN") {
                     showSection('adminSection');
-                    loadTeachers();
-                    loadRequests();
+                    loadAdminDashboard();
                 } else if (data.user.role === "TEACHER") {
                     showSection('teacherSection');
-                    loadStudents();
-                    loadSubjects();
+                    loadTeacherDashboard();
                 } else if (data.user.role === "STUDENT") {
                     showSection('studentSection');
                     loadMyGrades();
                 }
+                connectChangeFeed();
 
             } catch (err) {
                 if (errorMsg) errorMsg.textContent = err.message;
@@ -255,81 +285,108 @@ document.addEventListener("DOMContentLoaded", () => {
         assignGradeForm.addEventListener("submit", assignGrade);
     }
 
-}
+});
 
 // ----------------- Admin Functions -----------------
+// Teachers and pending requests arrive together in one round trip
+async function loadAdminDashboard() {
+    if (document.querySelector("#teachersTable tbody")) showLoading("teachersTable");
+    if (document.querySelector("#requestsTable tbody")) showLoading("requestsTable");
+
+    try {
+        const dashboard = await apiCall(`${API_BASE}/dashboard/admin`);
+        if (!dashboard) return;
+
+        renderTeachers(dashboard.teachers);
+        renderRequests(dashboard.pendingUsers);
+    } catch (error) {
+        console.error("Error loading admin dashboard:", error);
+        showError("teachersTable", "Failed to load teachers");
+        showError("requestsTable", "Failed to load requests");
+    }
+}
+
 async function loadTeachers() {
-    const tbody = document.querySelector("#teachersTable tbody");
-    if (!tbody) return;
+    if (!document.querySelector("#teachersTable tbody")) return;
 
     showLoading("teachersTable");
 
     try {
         const teachers = await apiCall(`${API_BASE}/users/teachers`);
-
-        tbody.innerHTML = "";
-        teachers.forEach(t => {
-            const tr = document.createElement("tr");
-            const statusClass = t.status === 'APPROVED' ? 'active' : 'pending';
-            tr.innerHTML = '<td>' + t.id + '</td>' +
-                '<td>' + t.firstName + ' ' + t.lastName + '</td>' +
-                '<td>' + t.username + '</td>' +
-                '<td><span class="status-badge ' + statusClass + '">' + (t.status || 'Active') + '</span></td>' +
-                '<td>' + (t.assignedClass || 'Not Assigned') + '</td>';
-            tbody.appendChild(tr);
-        });
-
-        // Populate teacher select for assignment
-        const select = document.getElementById("teacherId");
-        if (select) {
-            select.innerHTML = '<option value="">Choose a teacher...</option>';
-            teachers.forEach(t => {
-                select.innerHTML += `<option value="${t.id}">${t.firstName} ${t.lastName}</option>`;
-            });
-        }
+        renderTeachers(teachers);
     } catch (error) {
         console.error("Error loading teachers:", error);
         showError("teachersTable", "Failed to load teachers");
     }
 }
 
+function renderTeachers(teachers) {
+    const tbody = document.querySelector("#teachersTable tbody");
+    if (!tbody || !teachers) return;
+
+    tbody.innerHTML = "";
+    teachers.forEach(t => {
+        const tr = document.createElement("tr");
+        const statusClass = t.status === 'APPROVED' ? 'active' : 'pending';
+        tr.innerHTML = '<td>' + t.id + '</td>' +
+            '<td>' + t.firstName + ' ' + t.lastName + '</td>' +
+            '<td>' + t.username + '</td>' +
+            '<td><span class="status-badge ' + statusClass + '">' + (t.status || 'Active') + '</span></td>' +
+            '<td>' + (t.assignedClass || 'Not Assigned') + '</td>';
+        tbody.appendChild(tr);
+    });
+
+    // Populate teacher select for assignment
+    const select = document.getElementById("teacherId");
+    if (select) {
+        select.innerHTML = '<option value="">Choose a teacher...</option>';
+        teachers.forEach(t => {
+            select.innerHTML += `<option value="${t.id}">${t.firstName} ${t.lastName}</option>`;
+        });
+    }
+}
+
 async function loadRequests() {
-    const tbody = document.querySelector("#requestsTable tbody");
-    if (!tbody) return;
+    if (!document.querySelector("#requestsTable tbody")) return;
 
     showLoading("requestsTable");
 
     try {
         const requests = await apiCall(`${API_BASE}/users/pending`);
-
-        tbody.innerHTML = "";
-        requests.forEach(r => {
-            const tr = document.createElement("tr");
-            tr.innerHTML = `
-                <td>${r.id}</td>
-                <td>${r.username}</td>
-                <td>${r.role}</td>
-                <td>${r.firstName} ${r.lastName}</td>
-                <td>
-                    <button onclick="approveRequest(${r.id})" class="btn btn-success">Approve</button>
-                    <button onclick="declineRequest(${r.id})" class="btn btn-danger">Decline</button>
-                    <button onclick="deleteRequest(${r.id})" class="btn btn-warning">Delete</button>
-                </td>
-            `;
-            tbody.appendChild(tr);
-        });
+        renderRequests(requests);
     } catch (error) {
         console.error("Error loading requests:", error);
         showError("requestsTable", "Failed to load requests");
     }
 }
 
+function renderRequests(requests) {
+    const tbody = document.querySelector("#requestsTable tbody");
+    if (!tbody || !requests) return;
+
+    tbody.innerHTML = "";
+    requests.forEach(r => {
+        const tr = document.createElement("tr");
+        tr.innerHTML = `
+            <td>${r.id}</td>
+            <td>${r.username}</td>
+            <td>${r.role}</td>
+            <td>${r.firstName} ${r.lastName}</td>
+            <td>
+                <button onclick="approveRequest(${r.id})" class="btn btn-success">Approve</button>
+                <button onclick="declineRequest(${r.id})" class="btn btn-danger">Decline</button>
+                <button onclick="deleteRequest(${r.id})" class="btn btn-warning">Delete</button>
+            </td>
+        `;
+        tbody.appendChild(tr);
+    });
+}
+
 async function approveRequest(id) {
     try {
         await apiCall(`${API_BASE}/users/${id}/approve`, { method: "PUT" });
         showInfoMessage("Request approved successfully!");
-        loadRequests();
-        loadTeachers();
+        loadAdminDashboard();
     } catch (error) {
         console.error("Error approving request:", error);
         alert("Failed to approve request");
@@ -386,56 +443,71 @@ async function assignTeacher(e) {
 }
 
 // ----------------- Teacher Functions -----------------
+// Students and subjects arrive together in one round trip
+async function loadTeacherDashboard() {
+    if (document.querySelector("#studentsTable tbody")) showLoading("studentsTable");
+
+    try {
+        const dashboard = await apiCall(`${API_BASE}/dashboard/teacher`);
+        if (!dashboard) return;
+
+        renderStudents(dashboard.students);
+        renderSubjects(dashboard.subjects);
+    } catch (error) {
+        console.error("Error loading teacher dashboard:", error);
+        showError("studentsTable", "Failed to load students");
+    }
+}
+
 async function loadStudents() {
-    const tbody = document.querySelector("#studentsTable tbody");
-    if (!tbody) return;
+    if (!document.querySelector("#studentsTable tbody")) return;
 
     showLoading("studentsTable");
 
     try {
-        const students = await apiCall(`${API_BASE}/students`);
-
-        tbody.innerHTML = "";
-        students.forEach(s => {
-            const tr = document.createElement("tr");
-            tr.innerHTML = `
-                <td>${s.id}</td>
-                <td>${s.name}</td>
-                <td>${s.section}</td>
-                <td>
-                    <button onclick="viewStudentGrades(${s.id})" class="btn btn-primary">View Grades</button>
-                </td>
-            `;
-            tbody.appendChild(tr);
-        });
-
-        // Populate student select
-        const select = document.getElementById("studentId");
-        if (select) {
-            select.innerHTML = '<option value="">Choose student...</option>';
-            students.forEach(s => {
-                select.innerHTML += `<option value="${s.id}">${s.name}</option>`;
-            });
-        }
+        const students = await apiCall(`${API_BASE}/students?fields=id,name,section`);
+        renderStudents(students);
     } catch (error) {
         console.error("Error loading students:", error);
         showError("studentsTable", "Failed to load students");
     }
 }
 
-async function loadSubjects() {
-    try {
-        const subjects = await apiCall(`${API_BASE}/subjects`);
-
-        const select = document.getElementById("subjectId");
-        if (select) {
-            select.innerHTML = '<option value="">Choose subject...</option>';
-            subjects.forEach(s => {
-                select.innerHTML += `<option value="${s.id}">${s.name}</option>`;
-            });
-        }
-    } catch (error) {
-        console.error("Error loading subjects:", error);
+function renderStudents(students) {
+    const tbody = document.querySelector("#studentsTable tbody");
+    if (!tbody || !students) return;
+
+    tbody.innerHTML = "";
+    students.forEach(s => {
+        const tr = document.createElement("tr");
+        tr.innerHTML = `
+            <td>${s.id}</td>
+            <td>${s.name}</td>
+            <td>${s.section}</td>
+            <td>
+                <button onclick="viewStudentGrades(${s.id})" class="btn btn-primary">View Grades</button>
+            </td>
+        `;
+        tbody.appendChild(tr);
+    });
+
+    // Populate student select
+    const select = document.getElementById("studentId");
+    if (select) {
+        select.innerHTML = '<option value="">Choose student...</option>';
+        students.forEach(s => {
+            select.innerHTML += `<option value="${s.id}">${s.name}</option>`;
+        });
+    }
+}
+
+function renderSubjects(subjects) {
+    const select = document.getElementById("subjectId");
+    if (select && subjects) {
+        select.innerHTML = '<option value="">Choose subject...</option>';
+        subjects.forEach(s => {
+            select.innerHTML += `<option value="${s.id}">${s.name}</option>`;
+        });
     }
 }
 
@@ -502,11 +574,14 @@ async function assignGrade(e) {
 
 async function viewStudentGrades(studentId) {
     try {
-        const grades = await apiCall(`${API_BASE}/grades/student/${studentId}`);
+        // Compact view: subjects are sent once and each grade is a [subject, gradeValue] tuple
+        const grades = await apiCall(`${API_BASE}/grades/student/${studentId}?view=compact&fields=subject.name,gradeValue`);
+        const subjectColumn = grades.columns.indexOf("subject");
+        const valueColumn = grades.columns.indexOf("gradeValue");
         
         let message = `Grades for student ID ${studentId}:\n\n`;
-        grades.forEach(g => {
-            message += `${g.subject.name}: ${g.gradeValue}\n`;
+        grades.grades.forEach(row => {
+            message += `${grades.subjects[row[subjectColumn]].name}: ${row[valueColumn]}\n`;
         });
         
         alert(message);
@@ -523,33 +598,19 @@ async function loadMyGrades() {
 
     showLoading("gradesTable");
 
-    // Get current user info from localStorage (username from token)
-    const token = localStorage.getItem("token");
-    if (!token) {
+    if (!localStorage.getItem("token")) {
         alert("Please log in first");
         showSection('loginSection');
         return;
     }
 
-    // Extract username from JWT token
-    const username = extractUsernameFromToken(token);
-
     try {
-        // Get current user info
-        const currentUser = await apiCall(`${API_BASE}/users/current?username=${username}`);
-
-        if (!currentUser || currentUser.role !== 'STUDENT') {
-            alert("Access denied. Only students can view this page.");
-            showSection('loginSection');
-            return;
-        }
-
-        // Get student record for this user
-        const student = await apiCall(`${API_BASE}/students/user/${currentUser.id}`);
+        // The server resolves the student from the token and returns the report card in the same response
+        const dashboard = await apiCall(`${API_BASE}/dashboard/student`);
+        if (!dashboard) return;
 
-        if (student) {
-            // Get detailed report card with statistics
-            const reportCard = await apiCall(`${API_BASE}/grades/student/${student.id}/report`);
+        if (dashboard.student && dashboard.reportCard) {
+            const reportCard = dashboard.reportCard;
 
             // Display grades table
             tbody.innerHTML = "";
@@ -610,15 +671,94 @@ function displayGradeStatistics(reportCard) {
     `;
 }
 
-// ----------------- Auto-refresh data every 30 seconds for admin and teacher sections -----------------
-setInterval(() => {
+// ----------------- Live Updates -----------------
+// Lists are reloaded when the server reports a relevant change instead of on a timer
+let changeFeed = null;
+let lastChangeEventId = null;
+let changeFeedRetryMs = 1000;
+let reloadTimer = null;
+
+async function connectChangeFeed() {
+    disconnectChangeFeed();
+    const token = localStorage.getItem("token");
+    if (!token || typeof EventSource === "undefined") return;
+
+    // EventSource cannot send an Authorization header, so the stream is opened with a single-use ticket
+    // rather than the token. A ticket opens one stream only, so every connection asks for a new one and
+    // passes the last event id explicitly.
+    let ticket;
+    try {
+        const response = await fetch(`${API_BASE}/events/ticket`, {
+            method: "POST",
+            headers: { "Authorization": `Bearer ${token}` }
+        });
+        if (!response.ok) throw new Error(`HTTP ${response.status}`);
+        ticket = (await response.json()).ticket;
+    } catch (error) {
+        console.error("Error opening change feed:", error);
+        setTimeout(() => { if (!changeFeed) connectChangeFeed(); }, changeFeedRetryMs);
+        changeFeedRetryMs = Math.min(changeFeedRetryMs * 2, 60000);
+        return;
+    }
+    if (changeFeed) return; // another connect won the race
+
+    let url = `${API_BASE}/events?ticket=${encodeURIComponent(ticket)}`;
+    if (lastChangeEventId) {
+        url += `&lastEventId=${encodeURIComponent(lastChangeEventId)}`;
+    }
+    const source = new EventSource(url);
+    changeFeed = source;
+
+    source.onopen = () => { changeFeedRetryMs = 1000; };
+    ["user", "student", "subject", "grade", "reset"].forEach(type => {
+        source.addEventListener(type, event => {
+            lastChangeEventId = event.lastEventId || lastChangeEventId;
+            scheduleReload(type);
+        });
+    });
+
+    // The browser's own retry reuses the spent ticket and is refused, so reconnect with a new one
+    source.onerror = async () => {
+        if (changeFeed !== source) return;
+        source.close();
+        changeFeed = null;
+        if (isTokenExpired(localStorage.getItem("token")) && !(await refreshAccessToken())) return;
+        setTimeout(() => { if (!changeFeed) connectChangeFeed(); }, changeFeedRetryMs);
+        changeFeedRetryMs = Math.min(changeFeedRetryMs * 2, 60000);
+    };
+}
+
+function disconnectChangeFeed() {
+    if (changeFeed) {
+        changeFeed.close();
+        changeFeed = null;
+    }
+}
+
+function isTokenExpired(token) {
+    try {
+        const payload = JSON.parse(atob(token.split('.')[1].replace(/-/g, '+').replace(/_/g, '/')));
+        return payload.exp * 1000 <= Date.now();
+    } catch (error) {
+        return true;
+    }
+}
+
+// Bursts of events, e.g. from a bulk import, collapse into one reload of the visible page
+function scheduleReload(type) {
     const activeSection = document.querySelector('.section.active');
-    if (activeSection) {
-        if (activeSection.id === 'adminSection') {
-            loadTeachers();
-            loadRequests();
-        } else if (activeSection.id === 'teacherSection') {
-            loadStudents();
-        }
+    if (!activeSection) return;
+
+    let reload = null;
+    if (activeSection.id === 'adminSection' && (type === "user" || type === "reset")) {
+        reload = loadAdminDashboard;
+    } else if (activeSection.id === 'teacherSection' && (type === "student" || type === "subject" || type === "reset")) {
+        reload = loadTeacherDashboard;
+    } else if (activeSection.id === 'studentSection') {
+        reload = loadMyGrades;
+    }
+    if (reload) {
+        clearTimeout(reloadTimer);
+        reloadTimer = setTimeout(reload, 250);
     }
-}, 30000);
+}
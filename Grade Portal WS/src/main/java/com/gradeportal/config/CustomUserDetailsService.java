@@ -20,6 +20,8 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
     
+    // Requests are authenticated from token claims and logins go through UserService.login, so nothing on
+    // the request path calls these lookups; they read the database directly
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
@@ -43,10 +45,17 @@ public class CustomUserDetailsService implements UserDetailsService {
         private Collection<? extends GrantedAuthority> authorities;
         private User.UserRole role;
         private User.UserStatus status;
+        private Long securityVersion;
         
         public UserPrincipal(Long id, String username, String email, String password, 
                            Collection<? extends GrantedAuthority> authorities, 
                            User.UserRole role, User.UserStatus status) {
+            this(id, username, email, password, authorities, role, status, 0L);
+        }
+        
+        public UserPrincipal(Long id, String username, String email, String password, 
+                           Collection<? extends GrantedAuthority> authorities, 
+                           User.UserRole role, User.UserStatus status, Long securityVersion) {
             this.id = id;
             this.username = username;
             this.email = email;
@@ -54,6 +63,7 @@ public class CustomUserDetailsService implements UserDetailsService {
             this.authorities = authorities;
             this.role = role;
             this.status = status;
+            this.securityVersion = securityVersion;
         }
         
         public static UserPrincipal create(User user) {
@@ -68,14 +78,29 @@ public class CustomUserDetailsService implements UserDetailsService {
                 user.getPassword(),
                 authorities,
                 user.getRole(),
-                user.getStatus()
+                user.getStatus(),
+                user.getSecurityVersion()
             );
         }
         
+        // Rebuilds a principal from verified token claims; no password or email is carried
+        public static UserPrincipal create(Long id, String username, User.UserRole role, 
+                                           User.UserStatus status, Long securityVersion) {
+            List<GrantedAuthority> authorities = Collections.singletonList(
+                new SimpleGrantedAuthority("ROLE_" + role.name())
+            );
+            
+            return new UserPrincipal(id, username, null, null, authorities, role, status, securityVersion);
+        }
+        
         public Long getId() {
             return id;
         }
         
+        public Long getSecurityVersion() {
+            return securityVersion;
+        }
+        
         public User.UserRole getRole() {
             return role;
         }
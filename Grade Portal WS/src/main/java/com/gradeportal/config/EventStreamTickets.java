@@ -0,0 +1,65 @@
+package com.gradeportal.config;
+
+import com.gradeportal.config.CustomUserDetailsService.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Short-lived, single-use tickets that open one /api/events stream. EventSource cannot send an Authorization
+// header, and a JWT in the URL would end up in access logs, proxy logs and browser history, so the client
+// trades its token for an opaque ticket bound to the same user. Kept in memory, like the feed it opens.
+@Component
+public class EventStreamTickets {
+
+    private static final int TICKET_BYTES = 32;
+
+    @Value("${events.ticket-ttl-ms:30000}")
+    private long ttlMs;
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+
+    public String issue(UserPrincipal principal) {
+        byte[] bytes = new byte[TICKET_BYTES];
+        random.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tickets.put(ticket, new Ticket(principal, System.currentTimeMillis() + ttlMs));
+        return ticket;
+    }
+
+    // Returns null for unknown, already used or expired tickets
+    public UserPrincipal redeem(String ticket) {
+        Ticket redeemed = ticket != null ? tickets.remove(ticket) : null;
+        if (redeemed == null || redeemed.expiresAt <= System.currentTimeMillis()) {
+            return null;
+        }
+        return redeemed.principal;
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    // Tickets that were never redeemed
+    @Scheduled(fixedDelayString = "${events.ticket-purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        tickets.values().removeIf(ticket -> ticket.expiresAt <= now);
+    }
+
+    private static final class Ticket {
+        private final UserPrincipal principal;
+        private final long expiresAt;
+
+        Ticket(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
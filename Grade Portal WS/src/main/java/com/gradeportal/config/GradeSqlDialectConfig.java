@@ -0,0 +1,30 @@
+package com.gradeportal.config;
+
+import com.gradeportal.repository.GradeSqlDialect;
+import com.gradeportal.repository.H2GradeSqlDialect;
+import com.gradeportal.repository.MySqlGradeSqlDialect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.Locale;
+
+@Configuration
+public class GradeSqlDialectConfig {
+
+    @Bean
+    public GradeSqlDialect gradeSqlDialect(DataSource dataSource) throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        String name = product.toLowerCase(Locale.ROOT);
+        if (name.contains("mysql") || name.contains("mariadb")) {
+            return new MySqlGradeSqlDialect();
+        }
+        if (name.contains("h2")) {
+            return new H2GradeSqlDialect();
+        }
+        throw new IllegalStateException("No grade SQL dialect for database " + product);
+    }
+}
@@ -0,0 +1,16 @@
+package com.gradeportal.config;
+
+import com.gradeportal.util.SparseFieldset;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+    
+    // DTOs name a @JsonFilter for sparse fieldsets; responses without a `fields=` parameter are not filtered
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsetFilters() {
+        return builder -> builder.filters(SparseFieldset.ALL_FIELDS);
+    }
+}
@@ -1,6 +1,7 @@
 package com.gradeportal.config;
 
-import com.gradeportal.config.CustomUserDetailsService;
+import com.gradeportal.config.CustomUserDetailsService.UserPrincipal;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,7 +9,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -19,11 +19,19 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String EVENTS_PATH = "/api/events";
+
     @Autowired
     private JwtTokenProvider tokenProvider;
 
     @Autowired
-    private CustomUserDetailsService customUserDetailsService;
+    private UserSecurityVersions userSecurityVersions;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private EventStreamTickets eventStreamTickets;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -32,10 +40,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.extractUsername(jwt);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.resolveClaims(jwt) : null;
+
+            if (claims != null && tokenRevocationList.isRevoked(claims.getId())) {
+                claims = null;
+            }
+
+            UserPrincipal userDetails = claims != null ? tokenProvider.getUserPrincipal(claims) : null;
+
+            // EventSource cannot set headers, so the event stream alone is opened with a single-use ticket
+            if (jwt == null && EVENTS_PATH.equals(request.getRequestURI()) && "GET".equals(request.getMethod())) {
+                userDetails = eventStreamTickets.redeem(request.getParameter("ticket"));
+            }
 
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+            if (userDetails != null
+                    && userSecurityVersions.isCurrent(userDetails.getId(), userDetails.getSecurityVersion())) {
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -0,0 +1,205 @@
+package com.gradeportal.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Signing keys identified by kid. Every key has its own secret (jwt.keys.<kid>.secret), so one key can be
+// retired or replaced without exposing or touching the others. The newest key whose active-from has passed
+// signs; a key provisioned with a future active-from takes over on schedule without a restart.
+@Component
+public class JwtKeyRing {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final int MIN_SECRET_BYTES = 32; // HS256 needs at least 256 bits
+
+    private static final String DEFAULT_KEY_ID = "default";
+
+    @Autowired
+    private Environment environment;
+
+    // Only used as the single, never-rotating key when no jwt.keys entries are configured
+    @Value("${jwt.secret:mySecretKey123456789012345678901234567890}")
+    private String jwtSecret;
+
+    // How long a superseded key still verifies tokens; never shorter than the access token lifetime
+    @Value("${jwt.key-rotation.grace-ms:3600000}")
+    private long graceMs;
+
+    @Value("${jwt.expiration:900000}")
+    private long jwtExpirationInMs;
+
+    private Clock clock = Clock.systemUTC();
+
+    // Loaded once at startup, ordered by activation time
+    private List<ConfiguredKey> configuredKeys = Collections.emptyList();
+
+    private volatile SigningKey currentKey;
+
+    // Replaced wholesale on rotation, so readers never see a half-updated ring
+    private volatile Map<String, SecretKey> verificationKeys = Collections.emptyMap();
+
+    @PostConstruct
+    void init() {
+        configuredKeys = loadKeys();
+        rotate();
+    }
+
+    public SigningKey getCurrentKey() {
+        return currentKey;
+    }
+
+    // Returns null for unknown or retired key ids
+    public SecretKey getVerificationKey(String keyId) {
+        return keyId == null ? null : verificationKeys.get(keyId);
+    }
+
+    public int size() {
+        return verificationKeys.size();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.key-rotation.check-interval-ms:60000}")
+    public synchronized void rotate() {
+        long now = clock.millis();
+        long grace = Math.max(graceMs, jwtExpirationInMs);
+
+        int signingIndex = -1;
+        for (int i = 0; i < configuredKeys.size(); i++) {
+            if (configuredKeys.get(i).getActiveFrom() <= now) {
+                signingIndex = i;
+            }
+        }
+        if (signingIndex < 0) {
+            throw new IllegalStateException("No JWT signing key is active yet");
+        }
+
+        // Keys that are not active yet already verify, so an instance whose clock switches a little
+        // earlier does not issue tokens the others reject. Superseded keys verify until the grace window
+        // after their successor took over has passed.
+        Map<String, SecretKey> keys = new HashMap<>();
+        for (int i = 0; i < configuredKeys.size(); i++) {
+            if (i < signingIndex && configuredKeys.get(i + 1).getActiveFrom() + grace <= now) {
+                continue;
+            }
+            keys.put(configuredKeys.get(i).getKeyId(), configuredKeys.get(i).getKey());
+        }
+        ConfiguredKey signing = configuredKeys.get(signingIndex);
+
+        // Publish the verification keys first so a token signed with a new key always verifies
+        if (!keys.keySet().equals(verificationKeys.keySet())) {
+            verificationKeys = Collections.unmodifiableMap(keys);
+        }
+        if (currentKey == null || !currentKey.getKeyId().equals(signing.getKeyId())) {
+            currentKey = new SigningKey(signing.getKeyId(), signing.getKey());
+        }
+    }
+
+    // Reads jwt.keys.<kid>.secret and the optional jwt.keys.<kid>.active-from (ISO-8601 instant)
+    private List<ConfiguredKey> loadKeys() {
+        Map<String, String> properties = Binder.get(environment)
+                .bind("jwt.keys", Bindable.mapOf(String.class, String.class))
+                .orElse(Collections.emptyMap());
+        if (properties.isEmpty()) {
+            return List.of(new ConfiguredKey(DEFAULT_KEY_ID, 0, secretKey(DEFAULT_KEY_ID, jwtSecret)));
+        }
+
+        TreeSet<String> keyIds = new TreeSet<>();
+        for (String name : properties.keySet()) {
+            int dot = name.indexOf('.');
+            keyIds.add(dot > 0 ? name.substring(0, dot) : name);
+        }
+
+        List<ConfiguredKey> keys = new ArrayList<>();
+        for (String keyId : keyIds) {
+            String secret = properties.get(keyId + ".secret");
+            if (secret == null) {
+                throw new IllegalStateException("jwt.keys." + keyId + ".secret is not set");
+            }
+            keys.add(new ConfiguredKey(keyId, activeFrom(keyId, properties.get(keyId + ".active-from")),
+                    secretKey(keyId, secret)));
+        }
+        keys.sort(Comparator.comparingLong(ConfiguredKey::getActiveFrom).thenComparing(ConfiguredKey::getKeyId));
+        return Collections.unmodifiableList(keys);
+    }
+
+    private long activeFrom(String keyId, String value) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        try {
+            return Instant.parse(value.trim()).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalStateException("jwt.keys." + keyId + ".active-from is not an ISO-8601 instant", e);
+        }
+    }
+
+    private SecretKey secretKey(String keyId, String secret) {
+        byte[] material = secret.getBytes(StandardCharsets.UTF_8);
+        if (material.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("JWT key " + keyId + " must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        return new SecretKeySpec(material, HMAC_ALGORITHM);
+    }
+
+    private static class ConfiguredKey {
+        private final String keyId;
+        private final long activeFrom;
+        private final SecretKey key;
+
+        ConfiguredKey(String keyId, long activeFrom, SecretKey key) {
+            this.keyId = keyId;
+            this.activeFrom = activeFrom;
+            this.key = key;
+        }
+
+        String getKeyId() {
+            return keyId;
+        }
+
+        long getActiveFrom() {
+            return activeFrom;
+        }
+
+        SecretKey getKey() {
+            return key;
+        }
+    }
+
+    public static class SigningKey {
+        private final String keyId;
+        private final SecretKey key;
+
+        public SigningKey(String keyId, SecretKey key) {
+            this.keyId = keyId;
+            this.key = key;
+        }
+
+        public String getKeyId() {
+            return keyId;
+        }
+
+        public SecretKey getKey() {
+            return key;
+        }
+    }
+}
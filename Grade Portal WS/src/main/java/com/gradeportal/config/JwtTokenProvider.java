@@ -1,29 +1,83 @@
 package com.gradeportal.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.gradeportal.config.CustomUserDetailsService.UserPrincipal;
+import com.gradeportal.entity.User;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret:mySecretKey123456789012345678901234567890}")
-    private String jwtSecret;
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_STATUS = "status";
+    private static final String CLAIM_SECURITY_VERSION = "sv";
 
-    @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
+    @Autowired
+    private JwtKeyRing keyRing;
+
+    @Value("${jwt.expiration:900000}") // 15 minutes in milliseconds
     private Long jwtExpirationInMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+
+    // Built once; the signing key is looked up in the key ring by the token's kid header
+    private JwtParser jwtParser;
+
+    // Verified claims keyed by SHA-256 of the token, so a repeated bearer token skips signature checks
+    private Cache<String, Claims> verifiedClaims;
+
+    @PostConstruct
+    void init() {
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keyRing.getVerificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+        verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String extractUsername(String token) {
@@ -40,20 +94,61 @@ public class JwtTokenProvider {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSigningKey())
-                .parseClaimsJws(token)
-                .getBody();
+        return verifiedClaims.get(digest(token), key -> jwtParser.parseClaimsJws(token).getBody());
+    }
+
+    // Returns null when the token is malformed, badly signed or expired
+    public Claims resolveClaims(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            return claims.getExpiration().before(new Date()) ? null : claims;
+        } catch (Exception e) {
+            return null;
+        }
     }
 
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = extractExpiration(token);
-        return expiration.before(new Date());
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     public String generateToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
-        return generateToken(userPrincipal.getUsername());
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        if (userDetails instanceof UserPrincipal userPrincipal) {
+            return generateToken(userPrincipal);
+        }
+        return generateToken(userDetails.getUsername());
+    }
+
+    public String generateToken(UserPrincipal userPrincipal) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, userPrincipal.getId());
+        claims.put(CLAIM_ROLE, userPrincipal.getRole().name());
+        claims.put(CLAIM_STATUS, userPrincipal.getStatus().name());
+        claims.put(CLAIM_SECURITY_VERSION, userPrincipal.getSecurityVersion());
+        return createToken(claims, userPrincipal.getUsername());
+    }
+
+    // Returns null for tokens issued without the principal claims
+    public UserPrincipal getUserPrincipal(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        String status = claims.get(CLAIM_STATUS, String.class);
+        Number securityVersion = claims.get(CLAIM_SECURITY_VERSION, Number.class);
+        if (userId == null || role == null || status == null || securityVersion == null) {
+            return null;
+        }
+        return UserPrincipal.create(
+                userId.longValue(),
+                claims.getSubject(),
+                User.UserRole.valueOf(role),
+                User.UserStatus.valueOf(status),
+                securityVersion.longValue()
+        );
     }
 
     public String generateToken(String username) {
@@ -62,26 +157,28 @@ public class JwtTokenProvider {
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        JwtKeyRing.SigningKey signingKey = keyRing.getCurrentKey();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.getKeyId())
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString()) // jti, lets a single token be revoked on logout
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationInMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey.getKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    public long getExpirationInSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(jwtExpirationInMs);
+    }
+
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final Claims claims = resolveClaims(token);
+        return claims != null && claims.getSubject().equals(userDetails.getUsername());
     }
 
     public Boolean validateToken(String token) {
-        try {
-            extractUsername(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+        return resolveClaims(token) != null;
     }
 }
@@ -0,0 +1,162 @@
+package com.gradeportal.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Counts failed logins per username and per client IP and locks a key out with exponential backoff,
+// so throttled attempts are turned away before any password hashing happens
+@Component
+public class LoginAttemptThrottle {
+
+    private static final String USER_PREFIX = "u:";
+    private static final String IP_PREFIX = "ip:";
+
+    @Value("${login.throttle.window-ms:300000}")
+    private long windowMs;
+
+    @Value("${login.throttle.max-failures-per-user:5}")
+    private int maxFailuresPerUser;
+
+    @Value("${login.throttle.max-failures-per-ip:50}")
+    private int maxFailuresPerIp;
+
+    @Value("${login.throttle.base-lockout-ms:1000}")
+    private long baseLockoutMs;
+
+    @Value("${login.throttle.max-lockout-ms:900000}")
+    private long maxLockoutMs;
+
+    @Value("${login.throttle.max-keys:100000}")
+    private long maxKeys;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Clock clock = Clock.systemUTC();
+
+    // Idle keys expire once neither their window nor a lockout can still matter
+    private Cache<String, AttemptCounter> counters;
+
+    private Counter rejectedCounter;
+
+    private Counter userLockoutCounter;
+
+    private Counter ipLockoutCounter;
+
+    @PostConstruct
+    void init() {
+        counters = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMillis(Math.max(windowMs, maxLockoutMs)))
+                .build();
+
+        Gauge.builder("login.throttle.tracked.keys", counters, Cache::estimatedSize)
+                .description("Usernames and client IPs with recent failed logins")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("login.throttle.rejected")
+                .description("Login attempts rejected without hashing because the user or IP was locked out")
+                .register(meterRegistry);
+        userLockoutCounter = Counter.builder("login.throttle.lockouts").tag("scope", "user")
+                .register(meterRegistry);
+        ipLockoutCounter = Counter.builder("login.throttle.lockouts").tag("scope", "ip")
+                .register(meterRegistry);
+    }
+
+    // Seconds the client must wait before trying again, or 0 when the attempt may proceed
+    public long getRetryAfterSeconds(String username, String clientIp) {
+        long now = clock.millis();
+        long waitMs = Math.max(lockedFor(USER_PREFIX + normalize(username), now), lockedFor(IP_PREFIX + clientIp, now));
+        if (waitMs <= 0) {
+            return 0;
+        }
+        rejectedCounter.increment();
+        return (waitMs + 999) / 1000;
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        long now = clock.millis();
+        recordFailure(USER_PREFIX + normalize(username), maxFailuresPerUser, userLockoutCounter, now);
+        recordFailure(IP_PREFIX + clientIp, maxFailuresPerIp, ipLockoutCounter, now);
+    }
+
+    // The IP key is left alone: one valid account must not reset the counter for a stuffing source
+    public void recordSuccess(String username) {
+        counters.invalidate(USER_PREFIX + normalize(username));
+    }
+
+    private void recordFailure(String key, int maxFailures, Counter lockoutCounter, long now) {
+        AttemptCounter counter = counters.get(key, k -> new AttemptCounter());
+        if (counter.increment(now, windowMs) >= maxFailures) {
+            counter.lockOut(now, baseLockoutMs, maxLockoutMs);
+            lockoutCounter.increment();
+        }
+    }
+
+    private long lockedFor(String key, long now) {
+        AttemptCounter counter = counters.getIfPresent(key);
+        return counter == null ? 0 : counter.lockedUntil - now;
+    }
+
+    private String normalize(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Sliding window split into buckets; each bucket packs its epoch and count into one long updated by CAS
+    static final class AttemptCounter {
+
+        private static final int BUCKETS = 6;
+        private static final int COUNT_BITS = 20;
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+        private static final int MAX_BACKOFF_SHIFT = 20;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        private final AtomicInteger lockouts = new AtomicInteger();
+
+        private volatile long lockedUntil;
+
+        // Returns the number of failures in the window including this one
+        int increment(long now, long windowMs) {
+            long epoch = now / Math.max(1, windowMs / BUCKETS);
+            int index = (int) (epoch % BUCKETS);
+            long current;
+            long next;
+            do {
+                current = buckets.get(index);
+                long count = (current >>> COUNT_BITS) == epoch ? current & COUNT_MASK : 0;
+                next = (epoch << COUNT_BITS) | Math.min(count + 1, COUNT_MASK);
+            } while (!buckets.compareAndSet(index, current, next));
+
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                long bucket = buckets.get(i);
+                if (epoch - (bucket >>> COUNT_BITS) < BUCKETS) {
+                    total += bucket & COUNT_MASK;
+                }
+            }
+            return (int) total;
+        }
+
+        // Each further lockout within the key's lifetime doubles the wait, up to the maximum
+        void lockOut(long now, long baseLockoutMs, long maxLockoutMs) {
+            int level = Math.min(lockouts.getAndIncrement(), MAX_BACKOFF_SHIFT);
+            long until = now + Math.min(maxLockoutMs, baseLockoutMs << level);
+            if (until > lockedUntil) {
+                lockedUntil = until;
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.gradeportal.config;
+
+import com.gradeportal.util.BoundedExecutors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Runs password hashing off the Tomcat worker pool so login storms cannot starve other endpoints
+@Component
+public class LoginExecutor {
+
+    @Value("${login.executor.threads:0}") // 0 = one thread per available core
+    private int threads;
+
+    @Value("${login.executor.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${login.executor.max-wait-ms:5000}")
+    private long maxWaitMs;
+
+    @Value("${login.executor.retry-after-seconds:2}")
+    private long retryAfterSeconds;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+
+    private Timer waitTimer;
+
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        executor = BoundedExecutors.create("login", poolSize, queueCapacity, meterRegistry, "login.executor");
+        waitTimer = Timer.builder("login.executor.wait")
+                .description("Time a login request spent queued before hashing started")
+                .register(meterRegistry);
+        // Requests that waited too long count as rejected too
+        rejectedCounter = meterRegistry.counter("login.executor.rejected");
+    }
+
+    // Completes exceptionally with RejectedExecutionException when the request is not admitted
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long waited = System.nanoTime() - enqueuedAt;
+                waitTimer.record(waited, TimeUnit.NANOSECONDS);
+                if (TimeUnit.NANOSECONDS.toMillis(waited) > maxWaitMs) {
+                    // The client has likely given up already; don't spend a hash on it
+                    rejectedCounter.increment();
+                    throw new RejectedExecutionException("Login request waited too long");
+                }
+                return task.get();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
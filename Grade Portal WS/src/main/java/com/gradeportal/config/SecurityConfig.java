@@ -1,11 +1,12 @@
 package com.gradeportal.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.annotation.ObjectPostProcessor;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -15,6 +16,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.header.HeaderWriterFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -32,14 +34,13 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
 
+    // Hashes below this strength are upgraded on the next successful login
     @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig) throws Exception {
-        return authConfig.getAuthenticationManager();
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -49,7 +50,19 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .exceptionHandling(exception -> exception.authenticationEntryPoint(jwtAuthenticationEntryPoint))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            // Security headers go out before the handler runs: an event stream is written by the feed's sender
+            // threads while this request is still unwinding, so headers added afterwards would race with them
+            .headers(headers -> headers.addObjectPostProcessor(new ObjectPostProcessor<HeaderWriterFilter>() {
+                @Override
+                public <O extends HeaderWriterFilter> O postProcess(O filter) {
+                    filter.setShouldWriteHeadersEagerly(true);
+                    return filter;
+                }
+            }))
             .authorizeHttpRequests(authz -> authz
+                // Completion of a streamed or async response; the original request was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Public endpoints
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
@@ -59,12 +72,18 @@ public class SecurityConfig {
                 .requestMatchers("/", "/index.html", "/signup.html", "/admin.html", "/teacher.html", "/student.html", "/dashboard.html", "/css/**", "/js/**", "/assets/**").permitAll()
                 
                 // Admin endpoints
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/audit").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/users/teachers").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/users/pending").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/api/users/{id}/approve").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/api/users/{id}/decline").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.DELETE, "/api/users/{id}").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/api/users/{id}/assign").hasRole("ADMIN")
+                .requestMatchers("/api/users/bulk/**").hasRole("ADMIN")
+                .requestMatchers("/api/grades/stats/**").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/grades/export").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/dashboard/admin").hasRole("ADMIN")
                 
                 // Teacher endpoints
                 .requestMatchers(HttpMethod.GET, "/api/students").hasRole("TEACHER")
@@ -72,15 +91,31 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.PUT, "/api/students/{id}").hasRole("TEACHER")
                 .requestMatchers(HttpMethod.DELETE, "/api/students/{id}").hasRole("TEACHER")
                 .requestMatchers(HttpMethod.GET, "/api/subjects").hasRole("TEACHER")
+                .requestMatchers(HttpMethod.GET, "/api/dashboard/teacher").hasRole("TEACHER")
                 .requestMatchers(HttpMethod.GET, "/api/grades/student/{id}").hasRole("TEACHER")
+                .requestMatchers(HttpMethod.GET, "/api/grades/student/{id}/page").hasRole("TEACHER")
+                .requestMatchers(HttpMethod.GET, "/api/grades/subject/{id}").hasRole("TEACHER")
                 .requestMatchers(HttpMethod.POST, "/api/grades").hasRole("TEACHER")
+                .requestMatchers(HttpMethod.POST, "/api/grades/batch").hasRole("TEACHER")
+                .requestMatchers(HttpMethod.GET, "/api/grades/{id}").hasRole("TEACHER")
                 .requestMatchers(HttpMethod.PUT, "/api/grades/{id}").hasRole("TEACHER")
                 .requestMatchers(HttpMethod.DELETE, "/api/grades/{id}").hasRole("TEACHER")
+                .requestMatchers(HttpMethod.POST, "/api/imports").hasRole("TEACHER")
+                .requestMatchers(HttpMethod.GET, "/api/analytics").hasAnyRole("TEACHER", "ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/grades/student/{id}/history").hasAnyRole("TEACHER", "ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/imports/{id}").hasAnyRole("TEACHER", "ADMIN")
                 
                 // Student endpoints
+                .requestMatchers(HttpMethod.GET, "/api/dashboard/student").hasRole("STUDENT")
+                .requestMatchers(HttpMethod.GET, "/api/events").hasAnyRole("STUDENT", "TEACHER", "ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/events/ticket").hasAnyRole("STUDENT", "TEACHER", "ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/grades/student/{id}/report").hasAnyRole("STUDENT", "TEACHER", "ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/grades/student/{id}/summary").hasAnyRole("STUDENT", "TEACHER", "ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/grades/student/{id}/as-of").hasAnyRole("STUDENT", "TEACHER", "ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/users/current").hasAnyRole("STUDENT", "TEACHER", "ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/students/user/{userId}").hasAnyRole("STUDENT", "TEACHER", "ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/students/{id}/rank").hasAnyRole("STUDENT", "TEACHER", "ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/sections/{section}/top").hasAnyRole("STUDENT", "TEACHER", "ADMIN")
                 
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
@@ -0,0 +1,53 @@
+package com.gradeportal.config;
+
+import com.gradeportal.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class UserSecurityVersions {
+
+    // Marks users whose tokens must be rejected (deleted, or a change is in flight)
+    private static final long REVOKED = -1L;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public boolean isCurrent(Long userId, Long tokenVersion) {
+        if (userId == null || tokenVersion == null) {
+            return false;
+        }
+        long current = versions.computeIfAbsent(userId,
+                id -> userRepository.findSecurityVersionById(id).orElse(REVOKED));
+        return current != REVOKED && current == tokenVersion;
+    }
+
+    // Rejects the user's tokens right away and reloads the committed version once the change completes
+    public void revoke(Long userId) {
+        revokeAll(List.of(userId));
+    }
+
+    public void revokeAll(Collection<Long> userIds) {
+        List<Long> revoked = List.copyOf(userIds);
+        revoked.forEach(userId -> versions.put(userId, REVOKED));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    revoked.forEach(versions::remove);
+                }
+            });
+        } else {
+            revoked.forEach(versions::remove);
+        }
+    }
+}
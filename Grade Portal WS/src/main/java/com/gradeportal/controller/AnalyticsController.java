@@ -0,0 +1,32 @@
+package com.gradeportal.controller;
+
+import com.gradeportal.dto.SectionSubjectStatsDTO;
+import com.gradeportal.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    // One entry per section and subject; both filters are optional
+    @GetMapping
+    @PreAuthorize("hasAnyRole('TEACHER', 'ADMIN')")
+    public ResponseEntity<?> getSectionSubjectStats(@RequestParam(required = false) String section,
+                                                    @RequestParam(required = false) Long subjectId) {
+        try {
+            List<SectionSubjectStatsDTO> stats = analyticsService.getSectionSubjectStats(section, subjectId);
+            return ResponseEntity.ok(stats);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error computing analytics: " + e.getMessage());
+        }
+    }
+}
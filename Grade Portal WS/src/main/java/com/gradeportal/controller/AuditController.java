@@ -0,0 +1,46 @@
+package com.gradeportal.controller;
+
+import com.gradeportal.entity.AuditEvent;
+import com.gradeportal.service.AuditService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/audit")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class AuditController {
+
+    private static final int MAX_LIMIT = 500;
+
+    @Autowired
+    private AuditService auditService;
+
+    // Pass the returned nextBefore as "before" to fetch the next (older) page
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getAuditEvents(@RequestParam(required = false) Long before,
+                                            @RequestParam(required = false) AuditEvent.EventType type,
+                                            @RequestParam(required = false) String actor,
+                                            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            if (limit < 1 || limit > MAX_LIMIT) {
+                return ResponseEntity.badRequest().body("limit must be between 1 and " + MAX_LIMIT);
+            }
+
+            List<AuditEvent> events = auditService.findPage(before, type, actor, limit);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("events", events);
+            response.put("nextBefore", events.size() == limit ? events.get(events.size() - 1).getId() : null);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching audit events: " + e.getMessage());
+        }
+    }
+}
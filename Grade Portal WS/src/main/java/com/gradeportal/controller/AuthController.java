@@ -1,56 +1,108 @@
 package com.gradeportal.controller;
 
+import com.gradeportal.config.CustomUserDetailsService.UserPrincipal;
+import com.gradeportal.config.LoginAttemptThrottle;
+import com.gradeportal.config.LoginExecutor;
+import com.gradeportal.config.TokenRevocationList;
 import com.gradeportal.dto.auth.LoginRequest;
 import com.gradeportal.dto.auth.LoginResponse;
+import com.gradeportal.dto.auth.RefreshTokenRequest;
 import com.gradeportal.dto.auth.SignupRequest;
+import com.gradeportal.entity.AuditEvent;
 import com.gradeportal.entity.User;
+import com.gradeportal.service.AuditService;
+import com.gradeportal.service.RefreshTokenService;
 import com.gradeportal.service.UserService;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class AuthController {
 
-    @Autowired
-    private AuthenticationManager authenticationManager;
-
     @Autowired
     private UserService userService;
 
     @Autowired
     private com.gradeportal.config.JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private LoginExecutor loginExecutor;
+
+    @Autowired
+    private LoginAttemptThrottle loginAttemptThrottle;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        try {
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                    loginRequest.getUsername(),
-                    loginRequest.getPassword()
-                )
-            );
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                                              HttpServletRequest request) {
+        String clientIp = request.getRemoteAddr();
+
+        // Locked-out users and IPs are turned away before any hashing
+        long retryAfter = loginAttemptThrottle.getRetryAfterSeconds(loginRequest.getUsername(), clientIp);
+        if (retryAfter > 0) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .body("Too many failed login attempts, please try again later"));
+        }
+
+        // Hashing happens on the login executor; the request thread is released meanwhile
+        return loginExecutor.<ResponseEntity<?>>submit(() -> login(loginRequest, clientIp))
+            .exceptionally(this::loginNotProcessed);
+    }
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+    private ResponseEntity<?> loginNotProcessed(Throwable ex) {
+        if (ex instanceof RejectedExecutionException || ex.getCause() instanceof RejectedExecutionException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginExecutor.getRetryAfterSeconds()))
+                .body("Too many login requests, please try again shortly");
+        }
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid username or password");
+    }
 
-            User user = userService.authenticateUser(loginRequest.getUsername(), loginRequest.getPassword());
+    private ResponseEntity<?> login(LoginRequest loginRequest, String clientIp) {
+        try {
+            UserService.AuthenticatedUser authenticatedUser =
+                userService.login(loginRequest.getUsername(), loginRequest.getPassword());
             
-            if (user == null) {
-                return ResponseEntity.badRequest().body("Invalid credentials");
+            if (authenticatedUser == null) {
+                loginAttemptThrottle.recordFailure(loginRequest.getUsername(), clientIp);
+                auditService.record(AuditEvent.EventType.LOGIN_FAILURE, loginRequest.getUsername(), null, null, clientIp);
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid username or password");
             }
 
+            loginAttemptThrottle.recordSuccess(loginRequest.getUsername());
+            auditService.record(AuditEvent.EventType.LOGIN_SUCCESS, loginRequest.getUsername(),
+                authenticatedUser.getUser().getId(), null, clientIp);
+
+            Authentication authentication = authenticatedUser.getAuthentication();
+
             // Generate token
             String token = jwtTokenProvider.generateToken(authentication);
 
-            LoginResponse loginResponse = new LoginResponse(token, user);
+            String refreshToken = refreshTokenService.issue(authenticatedUser.getUser());
+
+            LoginResponse loginResponse = new LoginResponse(token, refreshToken,
+                jwtTokenProvider.getExpirationInSeconds(), authenticatedUser.getUser());
             
             return ResponseEntity.ok(loginResponse);
 
@@ -59,6 +111,42 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshTokenRequest.getRefreshToken());
+            
+            if (rotation == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired refresh token");
+            }
+
+            String token = jwtTokenProvider.generateToken(UserPrincipal.create(rotation.getUser()));
+
+            return ResponseEntity.ok(new LoginResponse(token, rotation.getRefreshToken(),
+                jwtTokenProvider.getExpirationInSeconds(), rotation.getUser()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired refresh token");
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(@RequestBody(required = false) RefreshTokenRequest refreshTokenRequest,
+                                         @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (refreshTokenRequest != null && refreshTokenRequest.getRefreshToken() != null) {
+            refreshTokenService.revoke(refreshTokenRequest.getRefreshToken());
+        }
+
+        // The access token stays valid until it expires unless its id is put on the revocation list
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            Claims claims = jwtTokenProvider.resolveClaims(authorization.substring(7));
+            if (claims != null) {
+                tokenRevocationList.revoke(claims.getId(), claims.getExpiration().getTime());
+            }
+        }
+
+        return ResponseEntity.ok("Logged out successfully");
+    }
+
     @PostMapping("/signup")
     public ResponseEntity<String> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
         try {
@@ -0,0 +1,59 @@
+package com.gradeportal.controller;
+
+import com.gradeportal.dto.DashboardDTO;
+import com.gradeportal.service.DashboardService;
+import com.gradeportal.util.ServerTiming;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+// One round trip per page load; the caller is taken from the JWT, never from a request parameter
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = ServerTiming.HEADER)
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @GetMapping("/student")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<?> getStudentDashboard(Authentication authentication) {
+        return dashboard(timing -> dashboardService.getStudentDashboard(authentication.getName(), timing));
+    }
+
+    @GetMapping("/teacher")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<?> getTeacherDashboard(Authentication authentication) {
+        return dashboard(timing -> dashboardService.getTeacherDashboard(authentication.getName(), timing));
+    }
+
+    @GetMapping("/admin")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getAdminDashboard(Authentication authentication) {
+        return dashboard(timing -> dashboardService.getAdminDashboard(authentication.getName(), timing));
+    }
+
+    private ResponseEntity<?> dashboard(Function<ServerTiming, DashboardDTO> loader) {
+        ServerTiming timing = new ServerTiming();
+        try {
+            DashboardDTO dashboard = loader.apply(timing);
+            return ResponseEntity.ok()
+                    .header(ServerTiming.HEADER, timing.toHeaderValue())
+                    .body(dashboard);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(dashboardService.getRetryAfterSeconds()))
+                    .body("Server is busy, please try again shortly");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error loading dashboard: " + e.getMessage());
+        }
+    }
+}
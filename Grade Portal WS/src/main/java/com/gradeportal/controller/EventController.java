@@ -0,0 +1,75 @@
+package com.gradeportal.controller;
+
+import com.gradeportal.config.CustomUserDetailsService.UserPrincipal;
+import com.gradeportal.config.EventStreamTickets;
+import com.gradeportal.entity.User;
+import com.gradeportal.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class EventController {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private EventStreamTickets eventStreamTickets;
+
+    // Authenticated by the Authorization header; the ticket opens one stream as ?ticket= within its TTL
+    @PostMapping("/ticket")
+    @PreAuthorize("hasAnyRole('STUDENT', 'TEACHER', 'ADMIN')")
+    public ResponseEntity<?> issueTicket(Authentication authentication) {
+        if (!(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            return ResponseEntity.badRequest().body("Tickets are issued for token-authenticated users only");
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(Map.of("ticket", eventStreamTickets.issue(principal), "expiresInMs", eventStreamTickets.getTtlMs()));
+    }
+
+    // Browsers resend Last-Event-ID when they reconnect on their own; a client opening a new stream (e.g. with
+    // a renewed token) passes it as lastEventId instead. Errors have no body, since the declared type is a stream.
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('STUDENT', 'TEACHER', 'ADMIN')")
+    public ResponseEntity<SseEmitter> subscribe(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                                @RequestParam(value = "lastEventId", required = false) String lastEventIdParam,
+                                                Authentication authentication) {
+        try {
+            User.UserRole role = authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                    .map(authority -> User.UserRole.valueOf(authority.substring(ROLE_PREFIX.length())))
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException("No role"));
+            String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+
+            SseEmitter emitter = changeFeedService.subscribe(role, authentication.getName(), lastEventId);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(emitter);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(changeFeedService.getRetryAfterSeconds()))
+                    .build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,17 +1,42 @@
 package com.gradeportal.controller;
 
+import com.gradeportal.dto.CompactGradeListDTO;
+import com.gradeportal.dto.GradeBatchEntry;
+import com.gradeportal.dto.GradeBatchResult;
 import com.gradeportal.dto.GradeDTO;
-import com.gradeportal.dto.ReportCardDTO;
+import com.gradeportal.dto.GradeLedgerEntryDTO;
+import com.gradeportal.dto.GradePageDTO;
+import com.gradeportal.dto.GradesAsOfDTO;
+import com.gradeportal.dto.GradeSummaryDTO;
+import com.gradeportal.dto.GradeUpdateResult;
 import com.gradeportal.entity.Grade;
+import com.gradeportal.repository.GradeRepositoryCustom;
+import com.gradeportal.service.GradeExportService;
+import com.gradeportal.service.GradeLedgerService;
 import com.gradeportal.service.GradeService;
+import com.gradeportal.service.GradeStatsService;
+import com.gradeportal.service.ReportCardCache;
+import com.gradeportal.util.SparseFieldset;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -19,20 +44,99 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class GradeController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private GradeService gradeService;
 
+    @Autowired
+    private GradeStatsService gradeStatsService;
+
+    @Autowired
+    private GradeExportService gradeExportService;
+
+    @Autowired
+    private ReportCardCache reportCardCache;
+
+    @Autowired
+    private GradeLedgerService gradeLedgerService;
+
     @GetMapping("/student/{studentId}")
     @PreAuthorize("hasRole('TEACHER')")
-    public ResponseEntity<List<GradeDTO>> getGradesByStudent(@PathVariable Long studentId) {
+    public ResponseEntity<?> getGradesByStudent(@PathVariable Long studentId,
+                                                @RequestParam(required = false) String view,
+                                                @RequestParam(required = false) String fields) {
         try {
+            SparseFieldset fieldset = SparseFieldset.parse(fields, SparseFieldset.GRADE);
+            if ("compact".equals(view)) {
+                return ResponseEntity.ok(fieldset.wrap(compactGrades(studentId, fieldset)));
+            }
+            if (view != null && !"full".equals(view)) {
+                return ResponseEntity.badRequest().body("Error fetching grades: view must be full or compact");
+            }
+            
             List<Grade> grades = gradeService.findGradesByStudentId(studentId);
             List<GradeDTO> gradeDTOs = grades.stream()
                 .map(GradeDTO::new)
                 .collect(Collectors.toList());
-            return ResponseEntity.ok(gradeDTOs);
+            return ResponseEntity.ok(fieldset.wrap(gradeDTOs));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+            return ResponseEntity.badRequest().body("Error fetching grades: " + e.getMessage());
+        }
+    }
+
+    // Top-level names pick the tuple columns; student and subject are dropped unless selected
+    private CompactGradeListDTO compactGrades(Long studentId, SparseFieldset fieldset) {
+        List<String> columns = GradeService.COMPACT_COLUMNS.stream()
+            .filter(column -> fieldset.includes(SparseFieldset.GRADE, column))
+            .toList();
+        CompactGradeListDTO compact = gradeService.getCompactGrades(studentId, columns);
+        if (!fieldset.includes(SparseFieldset.GRADE, "student")) {
+            compact.setStudent(null);
+        }
+        if (!fieldset.includes(SparseFieldset.GRADE, "subject")) {
+            compact.setSubjects(null);
+        }
+        return compact;
+    }
+
+    @GetMapping("/student/{studentId}/page")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<?> getGradePageByStudent(@PathVariable Long studentId,
+                                                   @RequestParam(defaultValue = "dateAssigned") String sort,
+                                                   @RequestParam(defaultValue = "desc") String direction,
+                                                   @RequestParam(defaultValue = "50") int limit,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) String fields) {
+        return gradePage(GradeRepositoryCustom.Scope.STUDENT, studentId, sort, direction, limit, cursor, fields);
+    }
+
+    @GetMapping("/subject/{subjectId}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<?> getGradePageBySubject(@PathVariable Long subjectId,
+                                                   @RequestParam(defaultValue = "dateAssigned") String sort,
+                                                   @RequestParam(defaultValue = "desc") String direction,
+                                                   @RequestParam(defaultValue = "50") int limit,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) String fields) {
+        return gradePage(GradeRepositoryCustom.Scope.SUBJECT, subjectId, sort, direction, limit, cursor, fields);
+    }
+
+    private ResponseEntity<?> gradePage(GradeRepositoryCustom.Scope scope, Long scopeId, String sort, String direction,
+                                        int limit, String cursor, String fields) {
+        try {
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest().body("limit must be between 1 and " + MAX_PAGE_SIZE);
+            }
+            if (!"asc".equals(direction) && !"desc".equals(direction)) {
+                return ResponseEntity.badRequest().body("direction must be asc or desc");
+            }
+
+            SparseFieldset fieldset = SparseFieldset.parse(fields, SparseFieldset.GRADE);
+            GradePageDTO page = gradeService.findGradePage(scope, scopeId, sort, "desc".equals(direction), cursor, limit);
+            return ResponseEntity.ok(fieldset.wrap(page));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching grades: " + e.getMessage());
         }
     }
 
@@ -40,13 +144,125 @@ public class GradeController {
     @PreAuthorize("hasAnyRole('STUDENT', 'TEACHER', 'ADMIN')")
     public ResponseEntity<?> getReportCard(@PathVariable Long studentId) {
         try {
-            ReportCardDTO reportCard = gradeService.generateReportCard(studentId);
-            return ResponseEntity.ok(reportCard);
+            // A matching If-None-Match is answered with 304 by Spring before the body is written
+            ReportCardCache.CachedReportCard reportCard = reportCardCache.get(studentId);
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(reportCard.getEtag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(reportCard.getBody());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error generating report card: " + e.getMessage());
         }
     }
 
+    @GetMapping("/student/{studentId}/summary")
+    @PreAuthorize("hasAnyRole('STUDENT', 'TEACHER', 'ADMIN')")
+    public ResponseEntity<?> getGradeSummary(@PathVariable Long studentId) {
+        try {
+            GradeSummaryDTO summary = gradeService.getGradeSummary(studentId);
+            return ResponseEntity.ok(summary);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error loading grade summary: " + e.getMessage());
+        }
+    }
+
+    // `at` is an ISO date-time, or a date meaning the end of that day
+    @GetMapping("/student/{studentId}/as-of")
+    @PreAuthorize("hasAnyRole('STUDENT', 'TEACHER', 'ADMIN')")
+    public ResponseEntity<?> getGradesAsOf(@PathVariable Long studentId, @RequestParam String at) {
+        try {
+            GradesAsOfDTO grades = gradeLedgerService.getGradesAsOf(studentId, parsePointInTime(at));
+            return ResponseEntity.ok(grades);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error loading grades: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/student/{studentId}/history")
+    @PreAuthorize("hasAnyRole('TEACHER', 'ADMIN')")
+    public ResponseEntity<?> getGradeHistory(@PathVariable Long studentId, @RequestParam(required = false) Long subjectId) {
+        try {
+            List<GradeLedgerEntryDTO> history = gradeLedgerService.getHistory(studentId, subjectId);
+            return ResponseEntity.ok(history);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error loading grade history: " + e.getMessage());
+        }
+    }
+
+    private LocalDateTime parsePointInTime(String at) {
+        try {
+            return LocalDateTime.parse(at);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDate.parse(at).atTime(LocalTime.MAX);
+            } catch (DateTimeParseException ignored) {
+                throw new RuntimeException("Invalid date: " + at);
+            }
+        }
+    }
+
+    // Compares student_grade_stats with a fresh aggregation of grades and lists any drift
+    @GetMapping("/stats/verify")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> verifyGradeStats() {
+        try {
+            return ResponseEntity.ok(gradeStatsService.verify());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error verifying grade stats: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/stats/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildGradeStats() {
+        try {
+            return ResponseEntity.ok(gradeStatsService.rebuild());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error rebuilding grade stats: " + e.getMessage());
+        }
+    }
+
+    // Streams every grade (or one section's) as CSV or JSON Lines; the body is written on the async
+    // executor, so the request thread is released as soon as the headers are ready. Spring only streams
+    // a ResponseEntity declared with a StreamingResponseBody, so errors are streamed as plain text too.
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportGrades(@RequestParam(defaultValue = "csv") String format,
+                                          @RequestParam(required = false) String section,
+                                          @RequestParam(defaultValue = "false") boolean gzip) {
+        try {
+            GradeExportService.Format exportFormat = GradeExportService.Format.parse(format);
+            String filename = "grades." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+
+            if (!gradeExportService.tryStartExport()) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(textBody("Too many exports are running, please try again later"));
+            }
+
+            StreamingResponseBody body = out -> {
+                try {
+                    gradeExportService.writeExport(exportFormat, section, gzip, out);
+                } finally {
+                    gradeExportService.finishExport();
+                }
+            };
+            return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+                .body(textBody("Error exporting grades: " + e.getMessage()));
+        }
+    }
+
+    private StreamingResponseBody textBody(String message) {
+        return out -> out.write(message.getBytes(StandardCharsets.UTF_8));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<String> assignGrade(@RequestBody Map<String, Object> request) {
@@ -74,29 +290,86 @@ public class GradeController {
         }
     }
 
-    @PutMapping("/{id}")
+    @PostMapping("/batch")
     @PreAuthorize("hasRole('TEACHER')")
-    public ResponseEntity<String> updateGrade(@PathVariable Long id, @RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> assignGrades(@RequestBody List<GradeBatchEntry> entries) {
         try {
-            Double gradeValue = Double.parseDouble(request.get("gradeValue").toString());
+            GradeBatchResult result = gradeService.assignGrades(entries);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error assigning grades: " + e.getMessage());
+        }
+    }
 
-            if (gradeValue == null) {
-                return ResponseEntity.badRequest().body("Grade value is required");
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<?> getGrade(@PathVariable Long id) {
+        try {
+            Optional<Grade> grade = gradeService.findById(id);
+            if (grade.isEmpty()) {
+                return ResponseEntity.notFound().build();
             }
+            return ResponseEntity.ok().eTag(versionTag(grade.get().getVersion())).body(new GradeDTO(grade.get()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching grade: " + e.getMessage());
+        }
+    }
+
+    // Requires If-Match with the ETag from GET /api/grades/{id}: 428 without it, 412 when the grade has changed since.
+    // If-Match: * updates the grade whatever its version, as long as it exists.
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<String> updateGrade(@PathVariable Long id, @RequestBody Map<String, Object> request,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Double gradeValue = Double.parseDouble(request.get("gradeValue").toString());
 
             if (gradeValue < 0 || gradeValue > 100) {
                 return ResponseEntity.badRequest().body("Grade must be between 0 and 100");
             }
 
-            // For now, we'll use the assignGrade method which handles both create and update
-            // In a more complex scenario, we might have a separate update method
-            
-            return ResponseEntity.ok("Grade updated successfully");
+            if (ifMatch == null || ifMatch.isBlank()) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                    .body("If-Match header with the grade's ETag is required");
+            }
+
+            GradeUpdateResult result = gradeService.updateGrade(id, gradeValue, parseVersionTags(ifMatch));
+            return switch (result.getOutcome()) {
+                case UPDATED -> ResponseEntity.ok().eTag(versionTag(result.getVersion())).body("Grade updated successfully");
+                case NOT_FOUND -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Grade not found");
+                case VERSION_MISMATCH -> ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .eTag(versionTag(result.getVersion()))
+                    .body("Grade was changed by someone else; reload it and try again");
+            };
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error updating grade: " + e.getMessage());
         }
     }
 
+    private String versionTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // If-Match compares strongly, so weak tags and anything that is not one of our version tags never match.
+    // Returns null for "*", which matches any current version.
+    private List<Long> parseVersionTags(String ifMatch) {
+        if (ifMatch.trim().equals("*")) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.length() > 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(trimmed.substring(1, trimmed.length() - 1)));
+                } catch (NumberFormatException ignored) {
+                    // not a tag this API issued
+                }
+            }
+        }
+        return versions;
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('TEACHER')")
     public ResponseEntity<String> deleteGrade(@PathVariable Long id) {
@@ -0,0 +1,77 @@
+package com.gradeportal.controller;
+
+import com.gradeportal.dto.ImportJobDTO;
+import com.gradeportal.service.GradeImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/imports")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ImportController {
+
+    private static final int MAX_ERRORS = 1000;
+
+    @Autowired
+    private GradeImportService gradeImportService;
+
+    // Accepts a CSV (optionally gzipped) with studentId, subjectId and gradeValue columns and returns as soon
+    // as the upload is stored; poll the Location for progress
+    @PostMapping(consumes = "multipart/form-data")
+    @PreAuthorize("hasRole('TEACHER')")
+    public ResponseEntity<?> createImport(@RequestParam("file") MultipartFile file, Authentication authentication) {
+        try {
+            if (file.isEmpty()) {
+                return ResponseEntity.badRequest().body("Error creating import: file is empty");
+            }
+
+            ImportJobDTO job;
+            try (InputStream content = file.getInputStream()) {
+                job = gradeImportService.submit(file.getOriginalFilename(), content, authentication.getName());
+            }
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/imports/" + job.getId()))
+                    .body(job);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(gradeImportService.getRetryAfterSeconds()))
+                    .body("Too many imports are queued, please try again later");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error creating import: " + e.getMessage());
+        }
+    }
+
+    // Jobs are only visible to the teacher who started them and to admins
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('TEACHER', 'ADMIN')")
+    public ResponseEntity<?> getImport(@PathVariable Long id,
+                                       @RequestParam(defaultValue = "100") int maxErrors,
+                                       Authentication authentication) {
+        try {
+            if (maxErrors < 0 || maxErrors > MAX_ERRORS) {
+                return ResponseEntity.badRequest().body("Error fetching import: maxErrors must be between 0 and " + MAX_ERRORS);
+            }
+
+            Optional<ImportJobDTO> job = gradeImportService.findJob(id, maxErrors);
+            boolean admin = authentication.getAuthorities().stream()
+                    .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+            if (job.isEmpty() || !(admin || job.get().getCreatedBy().equals(authentication.getName()))) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(job.get());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching import: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.gradeportal.controller;
+
+import com.gradeportal.dto.StudentRankDTO;
+import com.gradeportal.service.SectionRankingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sections")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class SectionController {
+
+    private static final int MAX_TOP = 500;
+
+    @Autowired
+    private SectionRankingService sectionRankingService;
+
+    // Best averages in the section, best first; tied students share a rank
+    @GetMapping("/{section}/top")
+    @PreAuthorize("hasAnyRole('STUDENT', 'TEACHER', 'ADMIN')")
+    public ResponseEntity<?> getTopStudents(@PathVariable String section, @RequestParam(defaultValue = "10") int n) {
+        try {
+            if (n < 1 || n > MAX_TOP) {
+                return ResponseEntity.badRequest().body("n must be between 1 and " + MAX_TOP);
+            }
+
+            List<StudentRankDTO> top = sectionRankingService.getTop(section, n);
+            return ResponseEntity.ok(top);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching section ranking: " + e.getMessage());
+        }
+    }
+}
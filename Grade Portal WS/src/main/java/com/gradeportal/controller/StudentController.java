@@ -1,10 +1,13 @@
 package com.gradeportal.controller;
 
 import com.gradeportal.dto.StudentDTO;
+import com.gradeportal.dto.StudentRankDTO;
 import com.gradeportal.entity.Student;
 import com.gradeportal.entity.User;
+import com.gradeportal.service.SectionRankingService;
 import com.gradeportal.service.StudentService;
 import com.gradeportal.service.UserService;
+import com.gradeportal.util.SparseFieldset;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -27,14 +30,22 @@ public class StudentController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private SectionRankingService sectionRankingService;
+
     @GetMapping
     @PreAuthorize("hasRole('TEACHER')")
-    public ResponseEntity<List<StudentDTO>> getAllStudents() {
-        List<Student> students = studentService.findAllStudents();
-        List<StudentDTO> studentDTOs = students.stream()
-            .map(StudentDTO::new)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(studentDTOs);
+    public ResponseEntity<?> getAllStudents(@RequestParam(required = false) String fields) {
+        try {
+            SparseFieldset fieldset = SparseFieldset.parse(fields, SparseFieldset.STUDENT);
+            List<Student> students = studentService.findAllStudents();
+            List<StudentDTO> studentDTOs = students.stream()
+                .map(StudentDTO::new)
+                .collect(Collectors.toList());
+            return ResponseEntity.ok(fieldset.wrap(studentDTOs));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching students: " + e.getMessage());
+        }
     }
 
     @PostMapping
@@ -103,4 +114,15 @@ public class StudentController {
             return ResponseEntity.badRequest().body("Error fetching student: " + e.getMessage());
         }
     }
+
+    @GetMapping("/{id}/rank")
+    @PreAuthorize("hasAnyRole('STUDENT', 'TEACHER', 'ADMIN')")
+    public ResponseEntity<?> getStudentRank(@PathVariable Long id) {
+        try {
+            StudentRankDTO rank = sectionRankingService.getRank(id);
+            return ResponseEntity.ok(rank);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching rank: " + e.getMessage());
+        }
+    }
 }
@@ -3,6 +3,7 @@ package com.gradeportal.controller;
 import com.gradeportal.dto.SubjectDTO;
 import com.gradeportal.entity.Subject;
 import com.gradeportal.service.SubjectService;
+import com.gradeportal.util.SparseFieldset;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,12 +24,17 @@ public class SubjectController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('TEACHER', 'ADMIN')")
-    public ResponseEntity<List<SubjectDTO>> getAllSubjects() {
-        List<Subject> subjects = subjectService.findAllSubjects();
-        List<SubjectDTO> subjectDTOs = subjects.stream()
-            .map(SubjectDTO::new)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(subjectDTOs);
+    public ResponseEntity<?> getAllSubjects(@RequestParam(required = false) String fields) {
+        try {
+            SparseFieldset fieldset = SparseFieldset.parse(fields, SparseFieldset.SUBJECT);
+            List<Subject> subjects = subjectService.findAllSubjects();
+            List<SubjectDTO> subjectDTOs = subjects.stream()
+                .map(SubjectDTO::new)
+                .collect(Collectors.toList());
+            return ResponseEntity.ok(fieldset.wrap(subjectDTOs));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching subjects: " + e.getMessage());
+        }
     }
 
     @PostMapping
@@ -1,5 +1,7 @@
 package com.gradeportal.controller;
 
+import com.gradeportal.dto.BulkUserRequest;
+import com.gradeportal.dto.BulkUserResult;
 import com.gradeportal.entity.User;
 import com.gradeportal.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -84,6 +86,51 @@ public class UserController {
         }
     }
 
+    // Bulk endpoints: target "ids", or "status" (plus optional "role") to act on every matching user
+    @PutMapping("/bulk/approve")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> approveUsers(@RequestBody BulkUserRequest request) {
+        try {
+            BulkUserResult result = userService.approveUsers(request);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error approving users: " + e.getMessage());
+        }
+    }
+
+    @PutMapping("/bulk/decline")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> declineUsers(@RequestBody BulkUserRequest request) {
+        try {
+            BulkUserResult result = userService.declineUsers(request);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error declining users: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> deleteUsers(@RequestBody BulkUserRequest request) {
+        try {
+            BulkUserResult result = userService.deleteUsers(request);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error deleting users: " + e.getMessage());
+        }
+    }
+
+    @PutMapping("/bulk/assign")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> assignTeachers(@RequestBody BulkUserRequest request) {
+        try {
+            BulkUserResult result = userService.assignTeachers(request);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error assigning teachers: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/current")
     @PreAuthorize("hasAnyRole('STUDENT', 'TEACHER', 'ADMIN')")
     public ResponseEntity<?> getCurrentUser(@RequestParam String username) {
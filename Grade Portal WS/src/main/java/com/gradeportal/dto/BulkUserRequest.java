@@ -0,0 +1,63 @@
+package com.gradeportal.dto;
+
+import com.gradeportal.entity.User;
+
+import java.util.List;
+
+// Targets either an explicit id list or every user matching status (and optionally role)
+public class BulkUserRequest {
+    
+    private List<Long> ids;
+    private User.UserStatus status;
+    private User.UserRole role;
+    private String className;
+    
+    // Constructors
+    public BulkUserRequest() {}
+    
+    public BulkUserRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public BulkUserRequest(User.UserStatus status, User.UserRole role) {
+        this.status = status;
+        this.role = role;
+    }
+    
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+    
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public User.UserStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(User.UserStatus status) {
+        this.status = status;
+    }
+    
+    public User.UserRole getRole() {
+        return role;
+    }
+    
+    public void setRole(User.UserRole role) {
+        this.role = role;
+    }
+    
+    public String getClassName() {
+        return className;
+    }
+    
+    public void setClassName(String className) {
+        this.className = className;
+    }
+}
@@ -0,0 +1,38 @@
+package com.gradeportal.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class BulkUserResult {
+    
+    private int affected;
+    private Map<Long, Outcome> outcomes = new LinkedHashMap<>();
+    
+    // Constructors
+    public BulkUserResult() {}
+    
+    public void put(Long userId, Outcome outcome) {
+        outcomes.put(userId, outcome);
+    }
+    
+    // Getters and Setters
+    public int getAffected() {
+        return affected;
+    }
+    
+    public void setAffected(int affected) {
+        this.affected = affected;
+    }
+    
+    public Map<Long, Outcome> getOutcomes() {
+        return outcomes;
+    }
+    
+    public void setOutcomes(Map<Long, Outcome> outcomes) {
+        this.outcomes = outcomes;
+    }
+    
+    public enum Outcome {
+        APPROVED, DECLINED, DELETED, ASSIGNED, UNCHANGED, NOT_FOUND, NOT_A_TEACHER, HAS_STUDENT_RECORD
+    }
+}
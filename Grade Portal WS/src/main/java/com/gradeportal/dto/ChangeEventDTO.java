@@ -0,0 +1,46 @@
+package com.gradeportal.dto;
+
+import java.util.List;
+
+// Data of one /api/events message: what kind of record changed, how, and which ids. Clients reload the
+// affected view rather than patching it from the event.
+public class ChangeEventDTO {
+    
+    private String type;
+    private String action;
+    private List<Long> ids;
+    
+    // Constructors
+    public ChangeEventDTO() {}
+    
+    public ChangeEventDTO(String type, String action, List<Long> ids) {
+        this.type = type;
+        this.action = action;
+        this.ids = ids;
+    }
+    
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public String getAction() {
+        return action;
+    }
+    
+    public void setAction(String action) {
+        this.action = action;
+    }
+    
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
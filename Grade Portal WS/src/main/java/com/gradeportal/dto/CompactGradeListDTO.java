@@ -0,0 +1,61 @@
+package com.gradeportal.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+// A student's grades without repetition: the student once, each subject once keyed by id, and one tuple
+// per grade holding the values named in `columns`
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompactGradeListDTO {
+    
+    private StudentDTO student;
+    private Map<Long, SubjectDTO> subjects;
+    private List<String> columns;
+    private List<Object[]> grades;
+    
+    // Constructors
+    public CompactGradeListDTO() {}
+    
+    public CompactGradeListDTO(StudentDTO student, Map<Long, SubjectDTO> subjects, List<String> columns,
+                               List<Object[]> grades) {
+        this.student = student;
+        this.subjects = subjects;
+        this.columns = columns;
+        this.grades = grades;
+    }
+    
+    // Getters and Setters
+    public StudentDTO getStudent() {
+        return student;
+    }
+    
+    public void setStudent(StudentDTO student) {
+        this.student = student;
+    }
+    
+    public Map<Long, SubjectDTO> getSubjects() {
+        return subjects;
+    }
+    
+    public void setSubjects(Map<Long, SubjectDTO> subjects) {
+        this.subjects = subjects;
+    }
+    
+    public List<String> getColumns() {
+        return columns;
+    }
+    
+    public void setColumns(List<String> columns) {
+        this.columns = columns;
+    }
+    
+    public List<Object[]> getGrades() {
+        return grades;
+    }
+    
+    public void setGrades(List<Object[]> grades) {
+        this.grades = grades;
+    }
+}
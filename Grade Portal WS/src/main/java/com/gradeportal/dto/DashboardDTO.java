@@ -0,0 +1,80 @@
+package com.gradeportal.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.util.List;
+
+// Everything one role's page needs on load; sections that do not apply to the role are left out
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DashboardDTO {
+    
+    private UserSummaryDTO user;
+    private StudentDTO student;
+    @JsonRawValue // already serialized by ReportCardCache
+    private String reportCard;
+    private List<StudentDTO> students;
+    private List<SubjectDTO> subjects;
+    private List<UserSummaryDTO> teachers;
+    private List<UserSummaryDTO> pendingUsers;
+    
+    // Constructors
+    public DashboardDTO() {}
+    
+    // Getters and Setters
+    public UserSummaryDTO getUser() {
+        return user;
+    }
+    
+    public void setUser(UserSummaryDTO user) {
+        this.user = user;
+    }
+    
+    public StudentDTO getStudent() {
+        return student;
+    }
+    
+    public void setStudent(StudentDTO student) {
+        this.student = student;
+    }
+    
+    public String getReportCard() {
+        return reportCard;
+    }
+    
+    public void setReportCard(String reportCard) {
+        this.reportCard = reportCard;
+    }
+    
+    public List<StudentDTO> getStudents() {
+        return students;
+    }
+    
+    public void setStudents(List<StudentDTO> students) {
+        this.students = students;
+    }
+    
+    public List<SubjectDTO> getSubjects() {
+        return subjects;
+    }
+    
+    public void setSubjects(List<SubjectDTO> subjects) {
+        this.subjects = subjects;
+    }
+    
+    public List<UserSummaryDTO> getTeachers() {
+        return teachers;
+    }
+    
+    public void setTeachers(List<UserSummaryDTO> teachers) {
+        this.teachers = teachers;
+    }
+    
+    public List<UserSummaryDTO> getPendingUsers() {
+        return pendingUsers;
+    }
+    
+    public void setPendingUsers(List<UserSummaryDTO> pendingUsers) {
+        this.pendingUsers = pendingUsers;
+    }
+}
@@ -0,0 +1,42 @@
+package com.gradeportal.dto;
+
+public class GradeBatchEntry {
+    
+    private Long studentId;
+    private Long subjectId;
+    private Double gradeValue;
+    
+    // Constructors
+    public GradeBatchEntry() {}
+    
+    public GradeBatchEntry(Long studentId, Long subjectId, Double gradeValue) {
+        this.studentId = studentId;
+        this.subjectId = subjectId;
+        this.gradeValue = gradeValue;
+    }
+    
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public Long getSubjectId() {
+        return subjectId;
+    }
+    
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+    
+    public Double getGradeValue() {
+        return gradeValue;
+    }
+    
+    public void setGradeValue(Double gradeValue) {
+        this.gradeValue = gradeValue;
+    }
+}
@@ -0,0 +1,130 @@
+package com.gradeportal.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GradeBatchResult {
+    
+    private int created;
+    private int updated;
+    private int failed;
+    private List<Row> rows = new ArrayList<>();
+    
+    // Constructors
+    public GradeBatchResult() {}
+    
+    public void add(Row row) {
+        rows.add(row);
+    }
+    
+    // Counts are taken once every row has its final status
+    public void tally() {
+        created = 0;
+        updated = 0;
+        failed = 0;
+        for (Row row : rows) {
+            switch (row.getStatus()) {
+                case CREATED -> created++;
+                case UPDATED -> updated++;
+                case FAILED -> failed++;
+                default -> { }
+            }
+        }
+    }
+    
+    // Getters and Setters
+    public int getCreated() {
+        return created;
+    }
+    
+    public int getUpdated() {
+        return updated;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public List<Row> getRows() {
+        return rows;
+    }
+    
+    public void setRows(List<Row> rows) {
+        this.rows = rows;
+    }
+    
+    public enum Status {
+        CREATED, UPDATED, FAILED,
+        SUPERSEDED // a later row in the same batch targets the same student and subject
+    }
+    
+    public static class Row {
+        private int index;
+        private Long studentId;
+        private Long subjectId;
+        private Status status;
+        private Long gradeId;
+        private String error;
+        
+        public Row() {}
+        
+        public Row(int index, GradeBatchEntry entry) {
+            this.index = index;
+            this.studentId = entry.getStudentId();
+            this.subjectId = entry.getSubjectId();
+        }
+        
+        public int getIndex() {
+            return index;
+        }
+        
+        public void setIndex(int index) {
+            this.index = index;
+        }
+        
+        public Long getStudentId() {
+            return studentId;
+        }
+        
+        public void setStudentId(Long studentId) {
+            this.studentId = studentId;
+        }
+        
+        public Long getSubjectId() {
+            return subjectId;
+        }
+        
+        public void setSubjectId(Long subjectId) {
+            this.subjectId = subjectId;
+        }
+        
+        public Status getStatus() {
+            return status;
+        }
+        
+        public void setStatus(Status status) {
+            this.status = status;
+        }
+        
+        public Long getGradeId() {
+            return gradeId;
+        }
+        
+        public void setGradeId(Long gradeId) {
+            this.gradeId = gradeId;
+        }
+        
+        public String getError() {
+            return error;
+        }
+        
+        public void setError(String error) {
+            this.error = error;
+        }
+        
+        public void fail(String error) {
+            this.status = Status.FAILED;
+            this.error = error;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.gradeportal.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.gradeportal.entity.Grade;
 import com.gradeportal.entity.Student;
 import com.gradeportal.entity.Subject;
+import com.gradeportal.util.SparseFieldset;
 
+@JsonFilter(SparseFieldset.GRADE)
 public class GradeDTO {
     
     private Long id;
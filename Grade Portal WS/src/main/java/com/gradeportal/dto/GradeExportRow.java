@@ -0,0 +1,61 @@
+package com.gradeportal.dto;
+
+import java.time.LocalDate;
+
+// One exported grade, projected straight from the query so nothing is attached to the persistence context
+public class GradeExportRow {
+    
+    private final Long gradeId;
+    private final Long studentId;
+    private final String studentName;
+    private final String section;
+    private final Long subjectId;
+    private final String subjectName;
+    private final Double gradeValue;
+    private final LocalDate dateAssigned;
+    
+    public GradeExportRow(Long gradeId, Long studentId, String studentName, String section, Long subjectId,
+                          String subjectName, Double gradeValue, LocalDate dateAssigned) {
+        this.gradeId = gradeId;
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.section = section;
+        this.subjectId = subjectId;
+        this.subjectName = subjectName;
+        this.gradeValue = gradeValue;
+        this.dateAssigned = dateAssigned;
+    }
+    
+    // Getters
+    public Long getGradeId() {
+        return gradeId;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public String getStudentName() {
+        return studentName;
+    }
+    
+    public String getSection() {
+        return section;
+    }
+    
+    public Long getSubjectId() {
+        return subjectId;
+    }
+    
+    public String getSubjectName() {
+        return subjectName;
+    }
+    
+    public Double getGradeValue() {
+        return gradeValue;
+    }
+    
+    public LocalDate getDateAssigned() {
+        return dateAssigned;
+    }
+}
@@ -0,0 +1,74 @@
+package com.gradeportal.dto;
+
+import com.gradeportal.entity.GradeLedgerEntry;
+
+public class GradeLedgerEntryDTO {
+    
+    private Long id;
+    private Long studentId;
+    private Long subjectId;
+    private Double gradeValue;
+    private String entryType;
+    private String recordedAt;
+    
+    // Constructors
+    public GradeLedgerEntryDTO() {}
+    
+    public GradeLedgerEntryDTO(GradeLedgerEntry entry) {
+        this.id = entry.getId();
+        this.studentId = entry.getStudentId();
+        this.subjectId = entry.getSubjectId();
+        this.gradeValue = entry.getGradeValue();
+        this.entryType = entry.getEntryType().name();
+        this.recordedAt = entry.getRecordedAt().toString();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public Long getSubjectId() {
+        return subjectId;
+    }
+    
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+    
+    public Double getGradeValue() {
+        return gradeValue;
+    }
+    
+    public void setGradeValue(Double gradeValue) {
+        this.gradeValue = gradeValue;
+    }
+    
+    public String getEntryType() {
+        return entryType;
+    }
+    
+    public void setEntryType(String entryType) {
+        this.entryType = entryType;
+    }
+    
+    public String getRecordedAt() {
+        return recordedAt;
+    }
+    
+    public void setRecordedAt(String recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+}
@@ -0,0 +1,35 @@
+package com.gradeportal.dto;
+
+import java.util.List;
+
+// One page of a keyset-paginated grade listing; nextCursor is null on the last page
+public class GradePageDTO {
+    
+    private List<GradeDTO> items;
+    private String nextCursor;
+    
+    // Constructors
+    public GradePageDTO() {}
+    
+    public GradePageDTO(List<GradeDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+    
+    // Getters and Setters
+    public List<GradeDTO> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<GradeDTO> items) {
+        this.items = items;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,76 @@
+package com.gradeportal.dto;
+
+import com.gradeportal.entity.StudentGradeStats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Result of checking student_grade_stats against grades; rowsRebuilt is only set by a rebuild
+public class GradeStatsReport {
+    
+    private int studentsChecked;
+    private Integer rowsRebuilt;
+    private List<Drift> drift = new ArrayList<>();
+    
+    public enum Problem {
+        MISSING, // the student has grades but no stats row
+        ORPHANED, // a stats row for a student without grades
+        MISMATCH // the stored aggregates differ from the recomputed ones
+    }
+    
+    public static class Drift {
+        
+        private final Long studentId;
+        private final Problem problem;
+        private final StudentGradeStats stored;
+        private final StudentGradeStats expected;
+        
+        public Drift(Long studentId, Problem problem, StudentGradeStats stored, StudentGradeStats expected) {
+            this.studentId = studentId;
+            this.problem = problem;
+            this.stored = stored;
+            this.expected = expected;
+        }
+        
+        public Long getStudentId() {
+            return studentId;
+        }
+        
+        public Problem getProblem() {
+            return problem;
+        }
+        
+        public StudentGradeStats getStored() {
+            return stored;
+        }
+        
+        public StudentGradeStats getExpected() {
+            return expected;
+        }
+    }
+    
+    // Getters and Setters
+    public int getStudentsChecked() {
+        return studentsChecked;
+    }
+    
+    public void setStudentsChecked(int studentsChecked) {
+        this.studentsChecked = studentsChecked;
+    }
+    
+    public Integer getRowsRebuilt() {
+        return rowsRebuilt;
+    }
+    
+    public void setRowsRebuilt(Integer rowsRebuilt) {
+        this.rowsRebuilt = rowsRebuilt;
+    }
+    
+    public List<Drift> getDrift() {
+        return drift;
+    }
+    
+    public void addDrift(Drift drift) {
+        this.drift.add(drift);
+    }
+}
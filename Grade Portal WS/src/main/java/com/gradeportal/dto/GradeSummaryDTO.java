@@ -0,0 +1,114 @@
+package com.gradeportal.dto;
+
+import com.gradeportal.entity.StudentGradeStats;
+
+public class GradeSummaryDTO {
+    
+    private Long studentId;
+    private Integer totalGrades;
+    private Integer passedGrades;
+    private Integer failedGrades;
+    private Double averageGrade;
+    private Double minGrade;
+    private Double maxGrade;
+    private String lastAssigned;
+    private String overallStatus;
+    
+    // Constructors
+    public GradeSummaryDTO() {}
+    
+    public GradeSummaryDTO(StudentGradeStats stats, String overallStatus) {
+        this.studentId = stats.getStudentId();
+        this.totalGrades = stats.getGradeCount();
+        this.passedGrades = stats.getPassedCount();
+        this.failedGrades = stats.getFailedCount();
+        this.averageGrade = Math.round(stats.getAverageGrade() * 100.0) / 100.0;
+        this.minGrade = stats.getMinGrade();
+        this.maxGrade = stats.getMaxGrade();
+        this.lastAssigned = stats.getLastAssigned() != null ? stats.getLastAssigned().toString() : null;
+        this.overallStatus = overallStatus;
+    }
+    
+    // A student who has no grades yet
+    public GradeSummaryDTO(Long studentId) {
+        this.studentId = studentId;
+        this.totalGrades = 0;
+        this.passedGrades = 0;
+        this.failedGrades = 0;
+        this.averageGrade = 0.0;
+        this.overallStatus = "N/A";
+    }
+    
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public Integer getTotalGrades() {
+        return totalGrades;
+    }
+    
+    public void setTotalGrades(Integer totalGrades) {
+        this.totalGrades = totalGrades;
+    }
+    
+    public Integer getPassedGrades() {
+        return passedGrades;
+    }
+    
+    public void setPassedGrades(Integer passedGrades) {
+        this.passedGrades = passedGrades;
+    }
+    
+    public Integer getFailedGrades() {
+        return failedGrades;
+    }
+    
+    public void setFailedGrades(Integer failedGrades) {
+        this.failedGrades = failedGrades;
+    }
+    
+    public Double getAverageGrade() {
+        return averageGrade;
+    }
+    
+    public void setAverageGrade(Double averageGrade) {
+        this.averageGrade = averageGrade;
+    }
+    
+    public Double getMinGrade() {
+        return minGrade;
+    }
+    
+    public void setMinGrade(Double minGrade) {
+        this.minGrade = minGrade;
+    }
+    
+    public Double getMaxGrade() {
+        return maxGrade;
+    }
+    
+    public void setMaxGrade(Double maxGrade) {
+        this.maxGrade = maxGrade;
+    }
+    
+    public String getLastAssigned() {
+        return lastAssigned;
+    }
+    
+    public void setLastAssigned(String lastAssigned) {
+        this.lastAssigned = lastAssigned;
+    }
+    
+    public String getOverallStatus() {
+        return overallStatus;
+    }
+    
+    public void setOverallStatus(String overallStatus) {
+        this.overallStatus = overallStatus;
+    }
+}
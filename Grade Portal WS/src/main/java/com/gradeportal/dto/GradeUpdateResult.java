@@ -0,0 +1,48 @@
+package com.gradeportal.dto;
+
+// Result of a conditional grade update. version is the grade's version after the update, or its current
+// version when the expected one no longer matched.
+public class GradeUpdateResult {
+    
+    private Long gradeId;
+    private Outcome outcome;
+    private Long version;
+    
+    // Constructors
+    public GradeUpdateResult() {}
+    
+    public GradeUpdateResult(Long gradeId, Outcome outcome, Long version) {
+        this.gradeId = gradeId;
+        this.outcome = outcome;
+        this.version = version;
+    }
+    
+    // Getters and Setters
+    public Long getGradeId() {
+        return gradeId;
+    }
+    
+    public void setGradeId(Long gradeId) {
+        this.gradeId = gradeId;
+    }
+    
+    public Outcome getOutcome() {
+        return outcome;
+    }
+    
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public enum Outcome {
+        UPDATED, NOT_FOUND, VERSION_MISMATCH
+    }
+}
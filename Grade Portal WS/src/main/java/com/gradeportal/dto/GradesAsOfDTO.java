@@ -0,0 +1,106 @@
+package com.gradeportal.dto;
+
+import java.util.List;
+
+// A student's grades as they stood at `asOf`, rebuilt from the latest snapshot taken through that time
+// plus the ledger entries recorded after it
+public class GradesAsOfDTO {
+    
+    private Long studentId;
+    private String asOf;
+    private String snapshotTakenThrough;
+    private Integer ledgerEntriesReplayed;
+    private List<Grade> grades;
+    
+    // Constructors
+    public GradesAsOfDTO() {}
+    
+    public GradesAsOfDTO(Long studentId, String asOf, String snapshotTakenThrough, Integer ledgerEntriesReplayed,
+                         List<Grade> grades) {
+        this.studentId = studentId;
+        this.asOf = asOf;
+        this.snapshotTakenThrough = snapshotTakenThrough;
+        this.ledgerEntriesReplayed = ledgerEntriesReplayed;
+        this.grades = grades;
+    }
+    
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public String getAsOf() {
+        return asOf;
+    }
+    
+    public void setAsOf(String asOf) {
+        this.asOf = asOf;
+    }
+    
+    public String getSnapshotTakenThrough() {
+        return snapshotTakenThrough;
+    }
+    
+    public void setSnapshotTakenThrough(String snapshotTakenThrough) {
+        this.snapshotTakenThrough = snapshotTakenThrough;
+    }
+    
+    public Integer getLedgerEntriesReplayed() {
+        return ledgerEntriesReplayed;
+    }
+    
+    public void setLedgerEntriesReplayed(Integer ledgerEntriesReplayed) {
+        this.ledgerEntriesReplayed = ledgerEntriesReplayed;
+    }
+    
+    public List<Grade> getGrades() {
+        return grades;
+    }
+    
+    public void setGrades(List<Grade> grades) {
+        this.grades = grades;
+    }
+    
+    public static class Grade {
+        
+        private Long subjectId;
+        private String subjectName;
+        private Double gradeValue;
+        
+        public Grade() {}
+        
+        public Grade(Long subjectId, String subjectName, Double gradeValue) {
+            this.subjectId = subjectId;
+            this.subjectName = subjectName;
+            this.gradeValue = gradeValue;
+        }
+        
+        public Long getSubjectId() {
+            return subjectId;
+        }
+        
+        public void setSubjectId(Long subjectId) {
+            this.subjectId = subjectId;
+        }
+        
+        public String getSubjectName() {
+            return subjectName;
+        }
+        
+        public void setSubjectName(String subjectName) {
+            this.subjectName = subjectName;
+        }
+        
+        public Double getGradeValue() {
+            return gradeValue;
+        }
+        
+        public void setGradeValue(Double gradeValue) {
+            this.gradeValue = gradeValue;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.gradeportal.dto;
+
+import com.gradeportal.entity.ImportJob;
+import com.gradeportal.entity.ImportJobError;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ImportJobDTO {
+    
+    private Long id;
+    private String status;
+    private String fileName;
+    private String createdBy;
+    private String createdAt;
+    private String startedAt;
+    private String finishedAt;
+    private long rowsProcessed;
+    private long rowsCreated;
+    private long rowsUpdated;
+    private long rowsFailed;
+    private int chunksCommitted;
+    private String failureReason;
+    private boolean errorsTruncated;
+    private List<RowError> errors;
+    
+    // Constructors
+    public ImportJobDTO() {}
+    
+    // errorsTruncated is set when the job recorded more row errors than are listed
+    public ImportJobDTO(ImportJob job, List<ImportJobError> errors) {
+        this.id = job.getId();
+        this.status = job.getStatus().name();
+        this.fileName = job.getFileName();
+        this.createdBy = job.getCreatedBy();
+        this.createdAt = format(job.getCreatedAt());
+        this.startedAt = format(job.getStartedAt());
+        this.finishedAt = format(job.getFinishedAt());
+        this.rowsProcessed = job.getRowsProcessed();
+        this.rowsCreated = job.getRowsCreated();
+        this.rowsUpdated = job.getRowsUpdated();
+        this.rowsFailed = job.getRowsFailed();
+        this.chunksCommitted = job.getChunksCommitted();
+        this.failureReason = job.getFailureReason();
+        this.errorsTruncated = job.getRowsFailed() > errors.size();
+        this.errors = errors.stream().map(RowError::new).toList();
+    }
+    
+    private static String format(LocalDateTime time) {
+        return time != null ? time.toString() : null;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getFileName() {
+        return fileName;
+    }
+    
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+    
+    public String getCreatedBy() {
+        return createdBy;
+    }
+    
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+    
+    public String getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public String getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(String startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public String getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(String finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+    
+    public long getRowsProcessed() {
+        return rowsProcessed;
+    }
+    
+    public void setRowsProcessed(long rowsProcessed) {
+        this.rowsProcessed = rowsProcessed;
+    }
+    
+    public long getRowsCreated() {
+        return rowsCreated;
+    }
+    
+    public void setRowsCreated(long rowsCreated) {
+        this.rowsCreated = rowsCreated;
+    }
+    
+    public long getRowsUpdated() {
+        return rowsUpdated;
+    }
+    
+    public void setRowsUpdated(long rowsUpdated) {
+        this.rowsUpdated = rowsUpdated;
+    }
+    
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+    
+    public void setRowsFailed(long rowsFailed) {
+        this.rowsFailed = rowsFailed;
+    }
+    
+    public int getChunksCommitted() {
+        return chunksCommitted;
+    }
+    
+    public void setChunksCommitted(int chunksCommitted) {
+        this.chunksCommitted = chunksCommitted;
+    }
+    
+    public String getFailureReason() {
+        return failureReason;
+    }
+    
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+    
+    public boolean getErrorsTruncated() {
+        return errorsTruncated;
+    }
+    
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+    
+    public List<RowError> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+    
+    public static class RowError {
+        
+        private Integer line;
+        private String message;
+        
+        public RowError() {}
+        
+        public RowError(ImportJobError error) {
+            this.line = error.getLineNumber();
+            this.message = error.getMessage();
+        }
+        
+        public Integer getLine() {
+            return line;
+        }
+        
+        public void setLine(Integer line) {
+            this.line = line;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+        
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
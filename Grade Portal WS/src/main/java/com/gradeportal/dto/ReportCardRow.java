@@ -0,0 +1,55 @@
+package com.gradeportal.dto;
+
+import java.time.LocalDate;
+
+// One row of the report card query: the student plus at most one of their grades.
+// A student without grades yields a single row whose grade and subject columns are null.
+public class ReportCardRow {
+    
+    private final Long studentId;
+    private final String studentName;
+    private final String section;
+    private final Long userId;
+    private final Long gradeId;
+    private final Double gradeValue;
+    private final LocalDate dateAssigned;
+    private final Long subjectId;
+    private final String subjectName;
+    private final String subjectDescription;
+    
+    public ReportCardRow(Long studentId, String studentName, String section, Long userId, Long gradeId,
+                         Double gradeValue, LocalDate dateAssigned, Long subjectId, String subjectName,
+                         String subjectDescription) {
+        this.studentId = studentId;
+        this.studentName = studentName;
+        this.section = section;
+        this.userId = userId;
+        this.gradeId = gradeId;
+        this.gradeValue = gradeValue;
+        this.dateAssigned = dateAssigned;
+        this.subjectId = subjectId;
+        this.subjectName = subjectName;
+        this.subjectDescription = subjectDescription;
+    }
+    
+    public StudentDTO toStudentDTO() {
+        return new StudentDTO(studentId, studentName, section, userId);
+    }
+    
+    public SubjectDTO toSubjectDTO() {
+        return new SubjectDTO(subjectId, subjectName, subjectDescription);
+    }
+    
+    // Getters
+    public Long getGradeId() {
+        return gradeId;
+    }
+    
+    public Double getGradeValue() {
+        return gradeValue;
+    }
+    
+    public LocalDate getDateAssigned() {
+        return dateAssigned;
+    }
+}
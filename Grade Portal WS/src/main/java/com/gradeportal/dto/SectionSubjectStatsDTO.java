@@ -0,0 +1,149 @@
+package com.gradeportal.dto;
+
+import com.gradeportal.util.GradeAccumulator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Class-level statistics for one section and subject; numbers are rounded to two decimals
+public class SectionSubjectStatsDTO {
+    
+    private static final double[] PERCENTILES = {10, 25, 75, 90};
+    
+    private String section;
+    private Long subjectId;
+    private String subjectName;
+    private Long count;
+    private Double mean;
+    private Double median;
+    private Double standardDeviation;
+    private Double min;
+    private Double max;
+    private Map<String, Double> percentiles;
+    private int[] histogram;
+    private Double passRate;
+    
+    // Constructors
+    public SectionSubjectStatsDTO() {}
+    
+    public SectionSubjectStatsDTO(String section, Long subjectId, String subjectName, GradeAccumulator stats) {
+        this.section = section;
+        this.subjectId = subjectId;
+        this.subjectName = subjectName;
+        this.count = stats.getCount();
+        this.mean = round(stats.getMean());
+        this.median = round(stats.percentile(0.5));
+        this.standardDeviation = round(stats.getStandardDeviation());
+        this.min = stats.getMin();
+        this.max = stats.getMax();
+        this.percentiles = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            this.percentiles.put("p" + (int) percentile, round(stats.percentile(percentile / 100)));
+        }
+        this.histogram = stats.histogram(10);
+        this.passRate = stats.getCount() > 0 ? round((double) stats.getPassed() / stats.getCount() * 100) : 0.0;
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+    
+    // Getters and Setters
+    public String getSection() {
+        return section;
+    }
+    
+    public void setSection(String section) {
+        this.section = section;
+    }
+    
+    public Long getSubjectId() {
+        return subjectId;
+    }
+    
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+    
+    public String getSubjectName() {
+        return subjectName;
+    }
+    
+    public void setSubjectName(String subjectName) {
+        this.subjectName = subjectName;
+    }
+    
+    public Long getCount() {
+        return count;
+    }
+    
+    public void setCount(Long count) {
+        this.count = count;
+    }
+    
+    public Double getMean() {
+        return mean;
+    }
+    
+    public void setMean(Double mean) {
+        this.mean = mean;
+    }
+    
+    public Double getMedian() {
+        return median;
+    }
+    
+    public void setMedian(Double median) {
+        this.median = median;
+    }
+    
+    public Double getStandardDeviation() {
+        return standardDeviation;
+    }
+    
+    public void setStandardDeviation(Double standardDeviation) {
+        this.standardDeviation = standardDeviation;
+    }
+    
+    public Double getMin() {
+        return min;
+    }
+    
+    public void setMin(Double min) {
+        this.min = min;
+    }
+    
+    public Double getMax() {
+        return max;
+    }
+    
+    public void setMax(Double max) {
+        this.max = max;
+    }
+    
+    public Map<String, Double> getPercentiles() {
+        return percentiles;
+    }
+    
+    public void setPercentiles(Map<String, Double> percentiles) {
+        this.percentiles = percentiles;
+    }
+    
+    // Ten counts: [0, 10), [10, 20), ... [90, 100]
+    public int[] getHistogram() {
+        return histogram;
+    }
+    
+    public void setHistogram(int[] histogram) {
+        this.histogram = histogram;
+    }
+    
+    // Percentage of grades at or above the passing grade
+    public Double getPassRate() {
+        return passRate;
+    }
+    
+    public void setPassRate(Double passRate) {
+        this.passRate = passRate;
+    }
+}
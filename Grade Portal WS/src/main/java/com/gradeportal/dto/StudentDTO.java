@@ -1,7 +1,10 @@
 package com.gradeportal.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.gradeportal.entity.Student;
+import com.gradeportal.util.SparseFieldset;
 
+@JsonFilter(SparseFieldset.STUDENT)
 public class StudentDTO {
     
     private Long id;
@@ -0,0 +1,75 @@
+package com.gradeportal.dto;
+
+public class StudentRankDTO {
+    
+    private Long studentId;
+    private String section;
+    private Double averageGrade;
+    private Integer gradeCount;
+    private Integer rank;
+    private Integer sectionSize;
+    
+    // Constructors
+    public StudentRankDTO() {}
+    
+    public StudentRankDTO(Long studentId, String section, Double averageGrade, Integer gradeCount, Integer rank,
+                          Integer sectionSize) {
+        this.studentId = studentId;
+        this.section = section;
+        this.averageGrade = averageGrade;
+        this.gradeCount = gradeCount;
+        this.rank = rank;
+        this.sectionSize = sectionSize;
+    }
+    
+    // Getters and Setters
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public String getSection() {
+        return section;
+    }
+    
+    public void setSection(String section) {
+        this.section = section;
+    }
+    
+    public Double getAverageGrade() {
+        return averageGrade;
+    }
+    
+    public void setAverageGrade(Double averageGrade) {
+        this.averageGrade = averageGrade;
+    }
+    
+    public Integer getGradeCount() {
+        return gradeCount;
+    }
+    
+    public void setGradeCount(Integer gradeCount) {
+        this.gradeCount = gradeCount;
+    }
+    
+    // 1 is best; students with the same average share a rank and the next rank is skipped
+    public Integer getRank() {
+        return rank;
+    }
+    
+    public void setRank(Integer rank) {
+        this.rank = rank;
+    }
+    
+    // Students in the section with at least one grade
+    public Integer getSectionSize() {
+        return sectionSize;
+    }
+    
+    public void setSectionSize(Integer sectionSize) {
+        this.sectionSize = sectionSize;
+    }
+}
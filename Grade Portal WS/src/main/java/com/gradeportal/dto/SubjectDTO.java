@@ -1,7 +1,10 @@
 package com.gradeportal.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.gradeportal.entity.Subject;
+import com.gradeportal.util.SparseFieldset;
 
+@JsonFilter(SparseFieldset.SUBJECT)
 public class SubjectDTO {
     
     private Long id;
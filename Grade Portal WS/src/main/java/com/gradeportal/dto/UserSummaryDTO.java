@@ -0,0 +1,85 @@
+package com.gradeportal.dto;
+
+import com.gradeportal.entity.User;
+
+// A user without credentials or security fields
+public class UserSummaryDTO {
+    
+    private Long id;
+    private String username;
+    private String firstName;
+    private String lastName;
+    private String role;
+    private String status;
+    private String assignedClass;
+    
+    // Constructors
+    public UserSummaryDTO() {}
+    
+    public UserSummaryDTO(User user) {
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.firstName = user.getFirstName();
+        this.lastName = user.getLastName();
+        this.role = user.getRole() != null ? user.getRole().name() : null;
+        this.status = user.getStatus() != null ? user.getStatus().name() : null;
+        this.assignedClass = user.getAssignedClass();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+    
+    public String getLastName() {
+        return lastName;
+    }
+    
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+    
+    public String getRole() {
+        return role;
+    }
+    
+    public void setRole(String role) {
+        this.role = role;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getAssignedClass() {
+        return assignedClass;
+    }
+    
+    public void setAssignedClass(String assignedClass) {
+        this.assignedClass = assignedClass;
+    }
+}
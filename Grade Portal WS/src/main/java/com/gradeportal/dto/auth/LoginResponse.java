@@ -5,6 +5,8 @@ import com.gradeportal.entity.User;
 public class LoginResponse {
     
     private String token;
+    private String refreshToken;
+    private long expiresIn;
     private User user;
     
     // Constructors
@@ -15,6 +17,13 @@ public class LoginResponse {
         this.user = user;
     }
     
+    public LoginResponse(String token, String refreshToken, long expiresIn, User user) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+        this.user = user;
+    }
+    
     // Getters and Setters
     public String getToken() {
         return token;
@@ -24,6 +33,22 @@ public class LoginResponse {
         this.token = token;
     }
     
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+    
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+    
     public User getUser() {
         return user;
     }
@@ -2,6 +2,7 @@ package com.gradeportal.dto.auth;
 
 import com.gradeportal.entity.User;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 public class SignupRequest {
@@ -22,7 +23,7 @@ public class SignupRequest {
     @Size(max = 50)
     private String lastName;
     
-    @NotBlank
+    @NotNull
     private User.UserRole role;
     
     // Constructors
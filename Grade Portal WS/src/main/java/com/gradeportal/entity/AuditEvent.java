@@ -0,0 +1,85 @@
+package com.gradeportal.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// Append-only: rows are inserted in batches by AuditService and never updated
+@Entity
+@Immutable
+@Table(name = "audit_events", indexes = {
+    @Index(name = "idx_audit_events_type", columnList = "event_type, id"),
+    @Index(name = "idx_audit_events_actor", columnList = "actor, id")
+})
+public class AuditEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private EventType eventType;
+
+    @Column(name = "actor", length = 50)
+    private String actor;
+
+    @Column(name = "target_user_id")
+    private Long targetUserId;
+
+    @Column(name = "detail")
+    private String detail;
+
+    @Column(name = "client_ip", length = 45)
+    private String clientIp;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    // Constructors
+    public AuditEvent() {}
+
+    public AuditEvent(EventType eventType, String actor, Long targetUserId, String detail, String clientIp,
+                      LocalDateTime occurredAt) {
+        this.eventType = eventType;
+        this.actor = actor;
+        this.targetUserId = targetUserId;
+        this.detail = detail;
+        this.clientIp = clientIp;
+        this.occurredAt = occurredAt;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public Long getTargetUserId() {
+        return targetUserId;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public String getClientIp() {
+        return clientIp;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public enum EventType {
+        LOGIN_SUCCESS, LOGIN_FAILURE, USER_APPROVED, USER_DECLINED, USER_DELETED, TEACHER_ASSIGNED
+    }
+}
@@ -4,13 +4,24 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "grades")
+@Table(name = "grades", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_grades_student_subject", columnNames = {"student_id", "subject_id"})
+}, indexes = {
+    // Keyset pagination: one index per (scope, sort key), with id as the tie-breaker
+    @Index(name = "idx_grades_student_date", columnList = "student_id, date_assigned, id"),
+    @Index(name = "idx_grades_student_value", columnList = "student_id, grade_value, id"),
+    @Index(name = "idx_grades_subject_date", columnList = "subject_id, date_assigned, id"),
+    @Index(name = "idx_grades_subject_value", columnList = "subject_id, grade_value, id"),
+    // A student has at most one grade per subject, so their grades sort by id without an index
+    @Index(name = "idx_grades_subject_id", columnList = "subject_id, id")
+})
 public class Grade {
     
     @Id
@@ -18,12 +29,12 @@ public class Grade {
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "student_id", nullable = false)
+    @JoinColumn(name = "student_id", nullable = false, foreignKey = @ForeignKey(name = "fk_grades_student"))
     @NotNull
     private Student student;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "subject_id", nullable = false)
+    @JoinColumn(name = "subject_id", nullable = false, foreignKey = @ForeignKey(name = "fk_grades_subject"))
     @NotNull
     private Subject subject;
     
@@ -32,9 +43,16 @@ public class Grade {
     @DecimalMax("100.0")
     private Double gradeValue;
     
-    @Column(name = "date_assigned")
+    // Not null so it can serve as a keyset sort key
+    @Column(name = "date_assigned", nullable = false)
     private LocalDate dateAssigned;
     
+    // Bumped by every write, including the SQL upserts; clients echo it back in If-Match
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -98,6 +116,10 @@ public class Grade {
         this.dateAssigned = dateAssigned;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,92 @@
+package com.gradeportal.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// Append-only history of grade changes. GradeService inserts one entry per change right after writing the
+// grades row, while holding that row's lock, so a pair's entries are in id order of application; grades holds
+// the latest value of every (student, subject) pair.
+@Entity
+@Immutable
+@Table(name = "grade_ledger", indexes = {
+    @Index(name = "idx_grade_ledger_student_time", columnList = "student_id, recorded_at"),
+    @Index(name = "idx_grade_ledger_time", columnList = "recorded_at")
+})
+public class GradeLedgerEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+    
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId;
+    
+    // Null for DELETED entries
+    @Column(name = "grade_value")
+    private Double gradeValue;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 16)
+    private EntryType entryType;
+    
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+    
+    // Constructors
+    public GradeLedgerEntry() {}
+    
+    public GradeLedgerEntry(Long studentId, Long subjectId, Double gradeValue, EntryType entryType,
+                            LocalDateTime recordedAt) {
+        this.studentId = studentId;
+        this.subjectId = subjectId;
+        this.gradeValue = gradeValue;
+        this.entryType = entryType;
+        this.recordedAt = recordedAt;
+    }
+    
+    public static GradeLedgerEntry assigned(Long studentId, Long subjectId, Double gradeValue, LocalDateTime recordedAt) {
+        return new GradeLedgerEntry(studentId, subjectId, gradeValue, EntryType.ASSIGNED, recordedAt);
+    }
+    
+    public static GradeLedgerEntry deleted(Long studentId, Long subjectId, LocalDateTime recordedAt) {
+        return new GradeLedgerEntry(studentId, subjectId, null, EntryType.DELETED, recordedAt);
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public Long getSubjectId() {
+        return subjectId;
+    }
+    
+    public Double getGradeValue() {
+        return gradeValue;
+    }
+    
+    public EntryType getEntryType() {
+        return entryType;
+    }
+    
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+    
+    public enum EntryType {
+        ASSIGNED, DELETED
+    }
+}
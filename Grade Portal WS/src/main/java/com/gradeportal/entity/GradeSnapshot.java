@@ -0,0 +1,57 @@
+package com.gradeportal.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Every grade as of takenThrough: all ledger entries recorded at or before it, none after.
+// Its rows live in grade_snapshot_rows.
+@Entity
+@Table(name = "grade_snapshots", indexes = {
+    @Index(name = "idx_grade_snapshots_taken_through", columnList = "taken_through")
+})
+public class GradeSnapshot {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "taken_through", nullable = false)
+    private LocalDateTime takenThrough;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "grade_count", nullable = false)
+    private Integer gradeCount;
+    
+    // Constructors
+    public GradeSnapshot() {}
+    
+    public GradeSnapshot(LocalDateTime takenThrough, LocalDateTime createdAt, Integer gradeCount) {
+        this.takenThrough = takenThrough;
+        this.createdAt = createdAt;
+        this.gradeCount = gradeCount;
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public LocalDateTime getTakenThrough() {
+        return takenThrough;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public Integer getGradeCount() {
+        return gradeCount;
+    }
+    
+    public void setGradeCount(Integer gradeCount) {
+        this.gradeCount = gradeCount;
+    }
+}
@@ -0,0 +1,73 @@
+package com.gradeportal.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+// Written and read only through SQL (see GradeSnapshotRepositoryImpl); mapped so the table is generated
+@Entity
+@Immutable
+@IdClass(GradeSnapshotRow.Key.class)
+@Table(name = "grade_snapshot_rows")
+public class GradeSnapshotRow {
+    
+    @Id
+    @Column(name = "snapshot_id")
+    private Long snapshotId;
+    
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+    
+    @Id
+    @Column(name = "subject_id")
+    private Long subjectId;
+    
+    @Column(name = "grade_value", nullable = false)
+    private Double gradeValue;
+    
+    // Constructors
+    public GradeSnapshotRow() {}
+    
+    // Getters
+    public Long getSnapshotId() {
+        return snapshotId;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public Long getSubjectId() {
+        return subjectId;
+    }
+    
+    public Double getGradeValue() {
+        return gradeValue;
+    }
+    
+    public static class Key implements Serializable {
+        
+        private Long snapshotId;
+        private Long studentId;
+        private Long subjectId;
+        
+        public Key() {}
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(snapshotId, key.snapshotId) && Objects.equals(studentId, key.studentId)
+                && Objects.equals(subjectId, key.subjectId);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(snapshotId, studentId, subjectId);
+        }
+    }
+}
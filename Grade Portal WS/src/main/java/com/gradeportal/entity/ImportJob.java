@@ -0,0 +1,154 @@
+package com.gradeportal.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// A CSV grade import. Counters are updated in the same transaction as each committed chunk, so they
+// always match what has been written.
+@Entity
+@Table(name = "import_jobs", indexes = {
+    @Index(name = "idx_import_jobs_status", columnList = "status")
+})
+public class ImportJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private Status status;
+    
+    @Column(name = "file_name")
+    private String fileName;
+    
+    @Column(name = "created_by", nullable = false, length = 50)
+    private String createdBy;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+    
+    @Column(name = "rows_processed", nullable = false)
+    private long rowsProcessed;
+    
+    @Column(name = "rows_created", nullable = false)
+    private long rowsCreated;
+    
+    @Column(name = "rows_updated", nullable = false)
+    private long rowsUpdated;
+    
+    @Column(name = "rows_failed", nullable = false)
+    private long rowsFailed;
+    
+    @Column(name = "chunks_committed", nullable = false)
+    private int chunksCommitted;
+    
+    @Column(name = "errors_recorded", nullable = false)
+    private int errorsRecorded;
+    
+    @Column(name = "failure_reason")
+    private String failureReason;
+    
+    // Constructors
+    public ImportJob() {}
+    
+    public ImportJob(String fileName, String createdBy, LocalDateTime createdAt) {
+        this.status = Status.QUEUED;
+        this.fileName = fileName;
+        this.createdBy = createdBy;
+        this.createdAt = createdAt;
+    }
+    
+    public void start(LocalDateTime startedAt) {
+        this.status = Status.RUNNING;
+        this.startedAt = startedAt;
+    }
+    
+    public void complete(LocalDateTime finishedAt) {
+        this.status = Status.COMPLETED;
+        this.finishedAt = finishedAt;
+    }
+    
+    public void fail(String failureReason, LocalDateTime finishedAt) {
+        this.status = Status.FAILED;
+        this.failureReason = failureReason;
+        this.finishedAt = finishedAt;
+    }
+    
+    public void addChunk(long processed, long created, long updated, long failed, int errors) {
+        this.rowsProcessed += processed;
+        this.rowsCreated += created;
+        this.rowsUpdated += updated;
+        this.rowsFailed += failed;
+        this.errorsRecorded += errors;
+        this.chunksCommitted++;
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public String getFileName() {
+        return fileName;
+    }
+    
+    public String getCreatedBy() {
+        return createdBy;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public long getRowsProcessed() {
+        return rowsProcessed;
+    }
+    
+    public long getRowsCreated() {
+        return rowsCreated;
+    }
+    
+    public long getRowsUpdated() {
+        return rowsUpdated;
+    }
+    
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+    
+    public int getChunksCommitted() {
+        return chunksCommitted;
+    }
+    
+    public int getErrorsRecorded() {
+        return errorsRecorded;
+    }
+    
+    public String getFailureReason() {
+        return failureReason;
+    }
+    
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+}
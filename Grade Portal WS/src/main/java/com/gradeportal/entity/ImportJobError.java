@@ -0,0 +1,52 @@
+package com.gradeportal.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+// A row an import could not write, identified by the line it starts on in the uploaded file
+@Entity
+@Immutable
+@Table(name = "import_job_errors", indexes = {
+    @Index(name = "idx_import_job_errors_job_line", columnList = "job_id, line_number")
+})
+public class ImportJobError {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+    
+    @Column(name = "line_number", nullable = false)
+    private Integer lineNumber;
+    
+    @Column(name = "message", nullable = false)
+    private String message;
+    
+    // Constructors
+    public ImportJobError() {}
+    
+    public ImportJobError(Long jobId, Integer lineNumber, String message) {
+        this.jobId = jobId;
+        this.lineNumber = lineNumber;
+        this.message = message;
+    }
+    
+    // Getters
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getJobId() {
+        return jobId;
+    }
+    
+    public Integer getLineNumber() {
+        return lineNumber;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,125 @@
+package com.gradeportal.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Read model kept in step with grades by GradeService, in the same transaction as the grade change.
+// Written and read only through SQL (see StudentGradeStatsRepositoryImpl); a row exists while the student has grades.
+@Entity
+@Immutable
+@Table(name = "student_grade_stats")
+public class StudentGradeStats {
+    
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+    
+    @Column(name = "grade_count", nullable = false)
+    private Integer gradeCount;
+    
+    @Column(name = "grade_sum", nullable = false)
+    private Double gradeSum;
+    
+    @Column(name = "passed_count", nullable = false)
+    private Integer passedCount;
+    
+    @Column(name = "failed_count", nullable = false)
+    private Integer failedCount;
+    
+    @Column(name = "min_grade")
+    private Double minGrade;
+    
+    @Column(name = "max_grade")
+    private Double maxGrade;
+    
+    @Column(name = "last_assigned")
+    private LocalDate lastAssigned;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public StudentGradeStats() {}
+    
+    public StudentGradeStats(Long studentId, Integer gradeCount, Double gradeSum, Integer passedCount,
+                             Integer failedCount, Double minGrade, Double maxGrade, LocalDate lastAssigned) {
+        this.studentId = studentId;
+        this.gradeCount = gradeCount;
+        this.gradeSum = gradeSum;
+        this.passedCount = passedCount;
+        this.failedCount = failedCount;
+        this.minGrade = minGrade;
+        this.maxGrade = maxGrade;
+        this.lastAssigned = lastAssigned;
+    }
+    
+    // Getters
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public Integer getGradeCount() {
+        return gradeCount;
+    }
+    
+    public Double getGradeSum() {
+        return gradeSum;
+    }
+    
+    public Integer getPassedCount() {
+        return passedCount;
+    }
+    
+    public Integer getFailedCount() {
+        return failedCount;
+    }
+    
+    public Double getMinGrade() {
+        return minGrade;
+    }
+    
+    public Double getMaxGrade() {
+        return maxGrade;
+    }
+    
+    public LocalDate getLastAssigned() {
+        return lastAssigned;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public Double getAverageGrade() {
+        return gradeCount > 0 ? gradeSum / gradeCount : 0.0;
+    }
+    
+    // Compares the aggregates only; the sum is allowed the rounding noise of a different summation order
+    public boolean sameAggregatesAs(StudentGradeStats other) {
+        return Objects.equals(gradeCount, other.gradeCount)
+            && Math.abs(gradeSum - other.gradeSum) < 1e-6
+            && Objects.equals(passedCount, other.passedCount)
+            && Objects.equals(failedCount, other.failedCount)
+            && Objects.equals(minGrade, other.minGrade)
+            && Objects.equals(maxGrade, other.maxGrade)
+            && Objects.equals(lastAssigned, other.lastAssigned);
+    }
+    
+    @Override
+    public String toString() {
+        return "StudentGradeStats{" +
+               "studentId=" + studentId +
+               ", gradeCount=" + gradeCount +
+               ", gradeSum=" + gradeSum +
+               ", passedCount=" + passedCount +
+               ", failedCount=" + failedCount +
+               ", minGrade=" + minGrade +
+               ", maxGrade=" + maxGrade +
+               ", lastAssigned=" + lastAssigned +
+               '}';
+    }
+}
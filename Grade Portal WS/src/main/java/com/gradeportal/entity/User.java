@@ -3,6 +3,7 @@ package com.gradeportal.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -45,6 +46,10 @@ public class User {
     @Column(name = "assigned_class")
     private String assignedClass;
     
+    @Column(name = "security_version", nullable = false)
+    @ColumnDefault("0")
+    private Long securityVersion = 0L;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -127,6 +132,14 @@ public class User {
         this.assignedClass = assignedClass;
     }
     
+    public Long getSecurityVersion() {
+        return securityVersion;
+    }
+    
+    public void setSecurityVersion(Long securityVersion) {
+        this.securityVersion = securityVersion;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
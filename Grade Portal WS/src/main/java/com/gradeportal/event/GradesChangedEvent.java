@@ -0,0 +1,40 @@
+package com.gradeportal.event;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+// Published by GradeService and StudentService whenever grades, or the section they count towards, change.
+// An empty subjectIds set means every subject of the listed sections is affected.
+public class GradesChangedEvent {
+    
+    private final Set<Long> studentIds;
+    private final Set<String> sections;
+    private final Set<Long> subjectIds;
+    
+    public GradesChangedEvent(Collection<Long> studentIds, Collection<String> sections, Collection<Long> subjectIds) {
+        this.studentIds = Set.copyOf(studentIds);
+        // Students need not have a section, so this set may hold null
+        this.sections = Collections.unmodifiableSet(new HashSet<>(sections));
+        this.subjectIds = Set.copyOf(subjectIds);
+    }
+    
+    public Set<Long> getStudentIds() {
+        return studentIds;
+    }
+    
+    public Set<String> getSections() {
+        return sections;
+    }
+    
+    public Set<Long> getSubjectIds() {
+        return subjectIds;
+    }
+    
+    // Whether a result filtered by section and/or subject (null meaning any) may have changed
+    public boolean affects(String section, Long subjectId) {
+        return (section == null || sections.contains(section))
+            && (subjectId == null || subjectIds.isEmpty() || subjectIds.contains(subjectId));
+    }
+}
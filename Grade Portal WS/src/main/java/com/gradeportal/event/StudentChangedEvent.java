@@ -0,0 +1,26 @@
+package com.gradeportal.event;
+
+// Published by StudentService when a student is created, when their own details (name, section) change,
+// or when they are removed
+public class StudentChangedEvent {
+    
+    private final Long studentId;
+    private final ChangeType changeType;
+    
+    public StudentChangedEvent(Long studentId, ChangeType changeType) {
+        this.studentId = studentId;
+        this.changeType = changeType;
+    }
+    
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+    
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,26 @@
+package com.gradeportal.event;
+
+// Published by SubjectService when a subject is created, renamed or removed; its name is copied into
+// cached results
+public class SubjectChangedEvent {
+    
+    private final Long subjectId;
+    private final ChangeType changeType;
+    
+    public SubjectChangedEvent(Long subjectId, ChangeType changeType) {
+        this.subjectId = subjectId;
+        this.changeType = changeType;
+    }
+    
+    public Long getSubjectId() {
+        return subjectId;
+    }
+    
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+    
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,40 @@
+package com.gradeportal.event;
+
+public class UserChangedEvent {
+    
+    private final Long userId;
+    private final String username;
+    private final ChangeType changeType;
+    private final String detail;
+    
+    public UserChangedEvent(Long userId, String username, ChangeType changeType) {
+        this(userId, username, changeType, null);
+    }
+    
+    public UserChangedEvent(Long userId, String username, ChangeType changeType, String detail) {
+        this.userId = userId;
+        this.username = username;
+        this.changeType = changeType;
+        this.detail = detail;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+    
+    public String getDetail() {
+        return detail;
+    }
+    
+    public enum ChangeType {
+        CREATED, APPROVED, DECLINED, DELETED, ASSIGNED, PASSWORD_CHANGED
+    }
+}
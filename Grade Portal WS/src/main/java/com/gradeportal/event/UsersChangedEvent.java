@@ -0,0 +1,36 @@
+package com.gradeportal.event;
+
+import java.util.List;
+
+// One event for a bulk change, so listeners can invalidate every affected user in a single pass
+public class UsersChangedEvent {
+    
+    private final List<Long> userIds;
+    private final List<String> usernames;
+    private final UserChangedEvent.ChangeType changeType;
+    private final String detail;
+    
+    public UsersChangedEvent(List<Long> userIds, List<String> usernames, UserChangedEvent.ChangeType changeType,
+                             String detail) {
+        this.userIds = List.copyOf(userIds);
+        this.usernames = List.copyOf(usernames);
+        this.changeType = changeType;
+        this.detail = detail;
+    }
+    
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+    
+    public List<String> getUsernames() {
+        return usernames;
+    }
+    
+    public UserChangedEvent.ChangeType getChangeType() {
+        return changeType;
+    }
+    
+    public String getDetail() {
+        return detail;
+    }
+}
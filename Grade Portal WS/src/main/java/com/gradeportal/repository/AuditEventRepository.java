@@ -0,0 +1,24 @@
+package com.gradeportal.repository;
+
+import com.gradeportal.entity.AuditEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AuditEventRepository extends JpaRepository<AuditEvent, Long> {
+
+    // Keyset page: newest first, strictly older than the last id the caller has seen
+    @Query("SELECT e FROM AuditEvent e WHERE e.id < :beforeId " +
+           "AND (:eventType IS NULL OR e.eventType = :eventType) " +
+           "AND (:actor IS NULL OR e.actor = :actor) " +
+           "ORDER BY e.id DESC")
+    List<AuditEvent> findPage(@Param("beforeId") Long beforeId,
+                              @Param("eventType") AuditEvent.EventType eventType,
+                              @Param("actor") String actor,
+                              Pageable pageable);
+}
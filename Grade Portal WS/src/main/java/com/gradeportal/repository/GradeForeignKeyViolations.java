@@ -0,0 +1,24 @@
+package com.gradeportal.repository;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+// Grade writes rely on the foreign keys to find a missing student or subject. The keys are named on Grade,
+// so the violation can be turned back into the error message callers had before.
+public final class GradeForeignKeyViolations {
+    
+    private GradeForeignKeyViolations() {
+    }
+    
+    public static RuntimeException translate(DataIntegrityViolationException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toUpperCase(Locale.ROOT);
+        if (message.contains("FK_GRADES_STUDENT")) {
+            return new RuntimeException("Student not found");
+        }
+        if (message.contains("FK_GRADES_SUBJECT")) {
+            return new RuntimeException("Subject not found");
+        }
+        return e;
+    }
+}
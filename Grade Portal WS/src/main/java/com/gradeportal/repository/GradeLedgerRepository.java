@@ -0,0 +1,17 @@
+package com.gradeportal.repository;
+
+import com.gradeportal.entity.GradeLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GradeLedgerRepository extends JpaRepository<GradeLedgerEntry, Long>, GradeLedgerRepositoryCustom {
+    
+    @Query("SELECT e FROM GradeLedgerEntry e WHERE e.studentId = :studentId " +
+           "AND (:subjectId IS NULL OR e.subjectId = :subjectId) ORDER BY e.recordedAt DESC, e.id DESC")
+    List<GradeLedgerEntry> findHistory(@Param("studentId") Long studentId, @Param("subjectId") Long subjectId);
+}
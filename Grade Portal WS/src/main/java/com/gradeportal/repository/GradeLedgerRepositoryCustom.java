@@ -0,0 +1,31 @@
+package com.gradeportal.repository;
+
+import com.gradeportal.entity.GradeLedgerEntry;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface GradeLedgerRepositoryCustom {
+    
+    // Earlier than anything the ledger holds; stands in for "from the beginning" so the range stays indexable
+    Timestamp BEGINNING = Timestamp.valueOf(LocalDateTime.of(1970, 1, 1, 0, 0));
+    
+    // Lower bound of a (after, upTo] range over recorded_at, for SQL that reads the ledger
+    static Timestamp from(LocalDateTime after) {
+        return after != null ? Timestamp.valueOf(after) : BEGINNING;
+    }
+    
+    // Inserts the entries in one JDBC batch
+    void append(List<GradeLedgerEntry> entries);
+    
+    // Records an ASSIGNED entry for every grade that has no history yet; returns the number of entries written
+    int backfillFromGrades();
+    
+    // One student's entries recorded after `after` (null for the beginning) up to and including `upTo`,
+    // in the order they were applied
+    List<GradeLedgerEntry> findChanges(Long studentId, LocalDateTime after, LocalDateTime upTo);
+    
+    // Number of entries recorded after `after` (null for the beginning) up to and including `upTo`
+    int countChanges(LocalDateTime after, LocalDateTime upTo);
+}
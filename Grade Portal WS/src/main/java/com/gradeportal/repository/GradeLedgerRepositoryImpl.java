@@ -0,0 +1,108 @@
+package com.gradeportal.repository;
+
+import com.gradeportal.entity.GradeLedgerEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GradeLedgerRepositoryImpl implements GradeLedgerRepositoryCustom {
+    
+    private static final int MAX_APPEND_ATTEMPTS = 5;
+    
+    private static final String INSERT_SQL = "INSERT INTO grade_ledger " +
+        "(student_id, subject_id, grade_value, entry_type, recorded_at) VALUES (?, ?, ?, ?, ?)";
+    
+    private static final String BACKFILL_SQL = "INSERT INTO grade_ledger " +
+        "(student_id, subject_id, grade_value, entry_type, recorded_at) " +
+        "SELECT g.student_id, g.subject_id, g.grade_value, 'ASSIGNED', COALESCE(g.updated_at, g.created_at, ?) " +
+        "FROM grades g WHERE NOT EXISTS (SELECT 1 FROM grade_ledger l " +
+        "WHERE l.student_id = g.student_id AND l.subject_id = g.subject_id)";
+    
+    private static final String CHANGES_SQL = "SELECT id, student_id, subject_id, grade_value, entry_type, recorded_at " +
+        "FROM grade_ledger WHERE recorded_at > ? AND recorded_at <= ?";
+    
+    // Entries of a pair are appended while its grades row is locked, so ids follow the order of application
+    private static final String ORDER_BY_APPLIED = " ORDER BY id";
+    
+    private static final RowMapper<GradeLedgerEntry> ENTRY_MAPPER = (rs, rowNum) -> {
+        GradeLedgerEntry entry = new GradeLedgerEntry(rs.getLong("student_id"), rs.getLong("subject_id"),
+            rs.getObject("grade_value", Double.class), GradeLedgerEntry.EntryType.valueOf(rs.getString("entry_type")),
+            rs.getTimestamp("recorded_at").toLocalDateTime());
+        entry.setId(rs.getLong("id"));
+        return entry;
+    };
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    // H2 in MySQL mode can hand two concurrent inserts the same identity value. The id is the ledger's only
+    // unique key, so a duplicate key here is always that race and only the rows that failed are written again.
+    @Override
+    public void append(List<GradeLedgerEntry> entries) {
+        List<GradeLedgerEntry> pending = entries;
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            try {
+                insert(pending);
+                return;
+            } catch (DuplicateKeyException e) {
+                if (attempt == MAX_APPEND_ATTEMPTS) {
+                    throw e;
+                }
+                pending = notInserted(pending, e);
+            }
+        }
+    }
+    
+    private void insert(List<GradeLedgerEntry> entries) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getStudentId());
+            ps.setLong(2, entry.getSubjectId());
+            ps.setObject(3, entry.getGradeValue(), Types.DOUBLE);
+            ps.setString(4, entry.getEntryType().name());
+            ps.setTimestamp(5, Timestamp.valueOf(entry.getRecordedAt()));
+        });
+    }
+    
+    // Drivers that stop at the first failure report fewer update counts than rows
+    private List<GradeLedgerEntry> notInserted(List<GradeLedgerEntry> entries, DuplicateKeyException e) {
+        if (!(e.getCause() instanceof BatchUpdateException batchError)) {
+            return entries;
+        }
+        int[] counts = batchError.getUpdateCounts();
+        List<GradeLedgerEntry> failed = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (i >= counts.length || counts[i] == Statement.EXECUTE_FAILED) {
+                failed.add(entries.get(i));
+            }
+        }
+        return failed;
+    }
+    
+    @Override
+    public int backfillFromGrades() {
+        return jdbcTemplate.update(BACKFILL_SQL, Timestamp.valueOf(LocalDateTime.now()));
+    }
+    
+    @Override
+    public List<GradeLedgerEntry> findChanges(Long studentId, LocalDateTime after, LocalDateTime upTo) {
+        return jdbcTemplate.query(CHANGES_SQL + " AND student_id = ?" + ORDER_BY_APPLIED, ENTRY_MAPPER,
+            GradeLedgerRepositoryCustom.from(after), Timestamp.valueOf(upTo), studentId);
+    }
+    
+    @Override
+    public int countChanges(LocalDateTime after, LocalDateTime upTo) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM grade_ledger " +
+            "WHERE recorded_at > ? AND recorded_at <= ?", Integer.class,
+            GradeLedgerRepositoryCustom.from(after), Timestamp.valueOf(upTo));
+        return count != null ? count : 0;
+    }
+}
@@ -1,18 +1,28 @@
 package com.gradeportal.repository;
 
+import com.gradeportal.dto.GradeExportRow;
+import com.gradeportal.dto.ReportCardRow;
 import com.gradeportal.entity.Grade;
 import com.gradeportal.entity.Student;
 import com.gradeportal.entity.Subject;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface GradeRepository extends JpaRepository<Grade, Long> {
+public interface GradeRepository extends JpaRepository<Grade, Long>, GradeRepositoryCustom {
     
     List<Grade> findByStudent(Student student);
     
@@ -44,4 +54,53 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
     
     @Query("SELECT COUNT(g) FROM Grade g WHERE g.student.id = :studentId AND g.gradeValue < 60")
     Long countFailingGradesByStudentId(@Param("studentId") Long studentId);
+    
+    // Existing (id, studentId, subjectId) triples for a batch; may include pairs the batch does not touch
+    @Query("SELECT g.id, g.student.id, g.subject.id FROM Grade g " +
+           "WHERE g.student.id IN :studentIds AND g.subject.id IN :subjectIds")
+    List<Object[]> findIdsByStudentIdsAndSubjectIds(@Param("studentIds") Collection<Long> studentIds,
+                                                   @Param("subjectIds") Collection<Long> subjectIds);
+    
+    // (studentId, subjectId, student section) of a grade, read without loading the entity
+    @Query("SELECT g.student.id, g.subject.id, g.student.section FROM Grade g WHERE g.id = :id")
+    List<Object[]> findStudentAndSubjectIds(@Param("id") Long id);
+    
+    @Query("SELECT g.version FROM Grade g WHERE g.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    
+    // Compare-and-set in one statement: matches only while the grade still has one of the expected versions
+    @Modifying
+    @Query("UPDATE Grade g SET g.gradeValue = :gradeValue, g.dateAssigned = :dateAssigned, g.updatedAt = :updatedAt, " +
+           "g.version = g.version + 1 WHERE g.id = :id AND g.version IN :versions")
+    int updateIfVersionMatches(@Param("id") Long id, @Param("versions") Collection<Long> versions,
+                               @Param("gradeValue") Double gradeValue, @Param("dateAssigned") LocalDate dateAssigned,
+                               @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // For If-Match: *, which matches whatever version the grade has as long as it exists
+    @Modifying
+    @Query("UPDATE Grade g SET g.gradeValue = :gradeValue, g.dateAssigned = :dateAssigned, g.updatedAt = :updatedAt, " +
+           "g.version = g.version + 1 WHERE g.id = :id")
+    int updateIfExists(@Param("id") Long id, @Param("gradeValue") Double gradeValue,
+                       @Param("dateAssigned") LocalDate dateAssigned, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Modifying
+    @Query("DELETE FROM Grade g WHERE g.id = :id")
+    int deleteGradeById(@Param("id") Long id);
+    
+    // Everything a report card needs in one statement; the outer joins keep a row for a student with no grades
+    @Query("SELECT new com.gradeportal.dto.ReportCardRow(s.id, s.name, s.section, u.id, g.id, g.gradeValue, " +
+           "g.dateAssigned, sub.id, sub.name, sub.description) " +
+           "FROM Student s LEFT JOIN s.user u LEFT JOIN Grade g ON g.student = s LEFT JOIN g.subject sub " +
+           "WHERE s.id = :studentId ORDER BY g.dateAssigned DESC, g.id DESC")
+    List<ReportCardRow> findReportCardRows(@Param("studentId") Long studentId);
+    
+    // Forward-only cursor for exports; must be consumed inside a transaction and closed by the caller
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.gradeportal.dto.GradeExportRow(g.id, st.id, st.name, st.section, sub.id, sub.name, " +
+           "g.gradeValue, g.dateAssigned) FROM Grade g JOIN g.student st JOIN g.subject sub " +
+           "WHERE (:section IS NULL OR st.section = :section) ORDER BY st.section, st.id, sub.id")
+    Stream<GradeExportRow> streamForExport(@Param("section") String section);
 }
@@ -0,0 +1,56 @@
+package com.gradeportal.repository;
+
+import com.gradeportal.entity.Grade;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface GradeRepositoryCustom {
+    
+    // Atomic insert-or-update on (student_id, subject_id); returns the grade id
+    Long upsertGrade(Long studentId, Long subjectId, Double gradeValue, LocalDate dateAssigned);
+    
+    // One keyset page of a student's or a subject's grades, ordered by the sort key then id in the same
+    // direction. afterValue/afterId are the last row of the previous page (null for the first page);
+    // afterValue is unused when sorting by id. Student and subject are fetched in the same statement.
+    List<Grade> findGradePage(Scope scope, Long scopeId, SortKey sortKey, boolean descending,
+                              Object afterValue, Long afterId, int limit);
+    
+    enum Scope {
+        STUDENT("student"), SUBJECT("subject");
+        
+        private final String property;
+        
+        Scope(String property) {
+            this.property = property;
+        }
+        
+        public String getProperty() {
+            return property;
+        }
+    }
+    
+    // Each key is backed by an index on (scope column, key, id); see Grade
+    enum SortKey {
+        DATE_ASSIGNED("dateAssigned"), GRADE_VALUE("gradeValue"), ID("id");
+        
+        private final String property;
+        
+        SortKey(String property) {
+            this.property = property;
+        }
+        
+        public String getProperty() {
+            return property;
+        }
+        
+        public static SortKey fromProperty(String property) {
+            for (SortKey key : values()) {
+                if (key.property.equals(property)) {
+                    return key;
+                }
+            }
+            throw new RuntimeException("sort must be dateAssigned, gradeValue or id");
+        }
+    }
+}
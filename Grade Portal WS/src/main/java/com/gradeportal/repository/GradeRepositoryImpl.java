@@ -0,0 +1,109 @@
+package com.gradeportal.repository;
+
+import com.gradeportal.entity.Grade;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class GradeRepositoryImpl implements GradeRepositoryCustom {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private GradeSqlDialect gradeSqlDialect;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Long upsertGrade(Long studentId, Long subjectId, Double gradeValue, LocalDate dateAssigned) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        try {
+            executeUpsert(studentId, subjectId, gradeValue, dateAssigned, now, keyHolder);
+        } catch (DuplicateKeyException e) {
+            // Two writers both found no row and raced to insert; the row exists now, so this run updates it
+            keyHolder = new GeneratedKeyHolder();
+            executeUpsert(studentId, subjectId, gradeValue, dateAssigned, now, keyHolder);
+        }
+        
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (!keys.isEmpty() && !keys.get(0).isEmpty()) {
+            return ((Number) keys.get(0).values().iterator().next()).longValue();
+        }
+        // Only reached on databases that report no key for the update path
+        return jdbcTemplate.queryForObject("SELECT id FROM grades WHERE student_id = ? AND subject_id = ?",
+            Long.class, studentId, subjectId);
+    }
+    
+    private void executeUpsert(Long studentId, Long subjectId, Double gradeValue, LocalDate dateAssigned,
+                               Timestamp now, GeneratedKeyHolder keyHolder) {
+        try {
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(gradeSqlDialect.upsertGradeSql(), new String[] {"id"});
+                ps.setLong(1, studentId);
+                ps.setLong(2, subjectId);
+                ps.setDouble(3, gradeValue);
+                ps.setDate(4, Date.valueOf(dateAssigned));
+                ps.setTimestamp(5, now);
+                ps.setTimestamp(6, now);
+                return ps;
+            }, keyHolder);
+        } catch (DuplicateKeyException e) {
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            throw GradeForeignKeyViolations.translate(e);
+        }
+    }
+    
+    // The seek predicate compares (key, id) with the last row seen, so each page is an index range scan
+    // that starts where the previous one stopped instead of skipping an offset
+    @Override
+    public List<Grade> findGradePage(Scope scope, Long scopeId, SortKey sortKey, boolean descending,
+                                     Object afterValue, Long afterId, int limit) {
+        String key = "g." + sortKey.getProperty();
+        String comparison = descending ? " < " : " > ";
+        String direction = descending ? " DESC" : " ASC";
+        
+        StringBuilder jpql = new StringBuilder("SELECT g FROM Grade g JOIN FETCH g.student JOIN FETCH g.subject ")
+            .append("WHERE g.").append(scope.getProperty()).append(".id = :scopeId");
+        boolean seek = afterId != null;
+        boolean seekOnValue = seek && sortKey != SortKey.ID;
+        if (seekOnValue) {
+            jpql.append(" AND (").append(key).append(comparison).append(":afterValue OR (")
+                .append(key).append(" = :afterValue AND g.id").append(comparison).append(":afterId))");
+        } else if (seek) {
+            jpql.append(" AND g.id").append(comparison).append(":afterId");
+        }
+        jpql.append(" ORDER BY ");
+        if (sortKey != SortKey.ID) {
+            jpql.append(key).append(direction).append(", ");
+        }
+        jpql.append("g.id").append(direction);
+        
+        TypedQuery<Grade> query = entityManager.createQuery(jpql.toString(), Grade.class)
+            .setParameter("scopeId", scopeId)
+            .setMaxResults(limit);
+        if (seek) {
+            query.setParameter("afterId", afterId);
+        }
+        if (seekOnValue) {
+            query.setParameter("afterValue", afterValue);
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,20 @@
+package com.gradeportal.repository;
+
+import com.gradeportal.entity.GradeSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GradeSnapshotRepository extends JpaRepository<GradeSnapshot, Long>, GradeSnapshotRepositoryCustom {
+    
+    // The snapshot a point-in-time read starts from
+    Optional<GradeSnapshot> findFirstByTakenThroughLessThanEqualOrderByTakenThroughDesc(LocalDateTime at);
+    
+    Optional<GradeSnapshot> findFirstByOrderByTakenThroughDesc();
+    
+    List<GradeSnapshot> findAllByOrderByTakenThroughDesc();
+}
@@ -0,0 +1,21 @@
+package com.gradeportal.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+public interface GradeSnapshotRepositoryCustom {
+    
+    // Copies the rows of `previousId` whose (student, subject) pair has no ledger entry in (after, upTo]
+    // into `snapshotId`; returns the number of rows copied
+    int copyUnchangedRows(Long snapshotId, Long previousId, LocalDateTime after, LocalDateTime upTo);
+    
+    // Writes the latest value of each pair with a ledger entry in (after, upTo], skipping pairs whose latest
+    // entry is a deletion; returns the number of rows written
+    int insertLatest(Long snapshotId, LocalDateTime after, LocalDateTime upTo);
+    
+    // Subject id to grade value for one student in one snapshot
+    Map<Long, Double> findGrades(Long snapshotId, Long studentId);
+    
+    void deleteRows(Collection<Long> snapshotIds);
+}
@@ -0,0 +1,63 @@
+package com.gradeportal.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GradeSnapshotRepositoryImpl implements GradeSnapshotRepositoryCustom {
+    
+    private static final String COPY_UNCHANGED_SQL = "INSERT INTO grade_snapshot_rows " +
+        "(snapshot_id, student_id, subject_id, grade_value) " +
+        "SELECT ?, r.student_id, r.subject_id, r.grade_value FROM grade_snapshot_rows r " +
+        "WHERE r.snapshot_id = ? AND NOT EXISTS (SELECT 1 FROM grade_ledger l " +
+        "WHERE l.student_id = r.student_id AND l.subject_id = r.subject_id " +
+        "AND l.recorded_at > ? AND l.recorded_at <= ?)";
+    
+    // Entries carry whole values, so only the newest entry of each pair in the window matters
+    private static final String INSERT_LATEST_SQL = "INSERT INTO grade_snapshot_rows " +
+        "(snapshot_id, student_id, subject_id, grade_value) " +
+        "SELECT ?, l.student_id, l.subject_id, l.grade_value FROM grade_ledger l " +
+        "WHERE l.entry_type = 'ASSIGNED' AND l.id IN (SELECT MAX(c.id) FROM grade_ledger c " +
+        "WHERE c.recorded_at > ? AND c.recorded_at <= ? GROUP BY c.student_id, c.subject_id)";
+
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public int copyUnchangedRows(Long snapshotId, Long previousId, LocalDateTime after, LocalDateTime upTo) {
+        return jdbcTemplate.update(COPY_UNCHANGED_SQL, snapshotId, previousId, Timestamp.valueOf(after),
+            Timestamp.valueOf(upTo));
+    }
+    
+    @Override
+    public int insertLatest(Long snapshotId, LocalDateTime after, LocalDateTime upTo) {
+        return jdbcTemplate.update(INSERT_LATEST_SQL, snapshotId, GradeLedgerRepositoryCustom.from(after),
+            Timestamp.valueOf(upTo));
+    }
+    
+    @Override
+    public Map<Long, Double> findGrades(Long snapshotId, Long studentId) {
+        Map<Long, Double> grades = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT subject_id, grade_value FROM grade_snapshot_rows " +
+                "WHERE snapshot_id = ? AND student_id = ? ORDER BY subject_id",
+            rs -> { grades.put(rs.getLong("subject_id"), rs.getDouble("grade_value")); }, snapshotId, studentId);
+        return grades;
+    }
+    
+    @Override
+    public void deleteRows(Collection<Long> snapshotIds) {
+        if (snapshotIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(snapshotIds);
+        jdbcTemplate.batchUpdate("DELETE FROM grade_snapshot_rows WHERE snapshot_id = ?", ids, ids.size(),
+            (ps, snapshotId) -> ps.setLong(1, snapshotId));
+    }
+}
@@ -0,0 +1,26 @@
+package com.gradeportal.repository;
+
+// Database-specific SQL used by the grade repositories; chosen once at startup (see GradeSqlDialectConfig)
+public interface GradeSqlDialect {
+    
+    // student_grade_stats columns, in the order GRADE_STATS_SELECT produces them
+    String GRADE_STATS_COLUMNS = "student_id, grade_count, grade_sum, passed_count, failed_count, " +
+        "min_grade, max_grade, last_assigned, updated_at";
+    
+    // Per-student aggregates over grades; callers add the WHERE and GROUP BY student_id
+    String GRADE_STATS_SELECT = "SELECT student_id, COUNT(*) AS grade_count, SUM(grade_value) AS grade_sum, " +
+        "SUM(CASE WHEN grade_value >= 60 THEN 1 ELSE 0 END) AS passed_count, " +
+        "SUM(CASE WHEN grade_value < 60 THEN 1 ELSE 0 END) AS failed_count, " +
+        "MIN(grade_value) AS min_grade, MAX(grade_value) AS max_grade, MAX(date_assigned) AS last_assigned, " +
+        "CURRENT_TIMESTAMP AS updated_at FROM grades";
+    
+    // Inserts or updates the grade for (student_id, subject_id) in one statement.
+    // Parameters: student_id, subject_id, grade_value, date_assigned, created_at, updated_at.
+    // The grade id must be readable through generated keys for both the insert and the update path.
+    // A statement that can still lose an insert race (H2's MERGE) may throw DuplicateKeyException; callers rerun it.
+    String upsertGradeSql();
+    
+    // Recomputes one student's student_grade_stats row from their grades in one statement.
+    // Parameter: student_id. Writes nothing when the student has no grades.
+    String refreshStudentGradeStatsSql();
+}
@@ -0,0 +1,37 @@
+package com.gradeportal.repository;
+
+// Standard SQL MERGE; H2 returns the id of the matched or inserted row and does not consume an
+// identity value when the row already exists. Works in every H2 compatibility mode, including MySQL.
+public class H2GradeSqlDialect implements GradeSqlDialect {
+    
+    private static final String UPSERT_GRADE_SQL =
+        "MERGE INTO grades g USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS DOUBLE), " +
+        "CAST(? AS DATE), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP))) " +
+        "AS src (student_id, subject_id, grade_value, date_assigned, created_at, updated_at) " +
+        "ON g.student_id = src.student_id AND g.subject_id = src.subject_id " +
+        "WHEN MATCHED THEN UPDATE SET grade_value = src.grade_value, date_assigned = src.date_assigned, " +
+        "updated_at = src.updated_at, version = g.version + 1 " +
+        "WHEN NOT MATCHED THEN INSERT (student_id, subject_id, grade_value, date_assigned, created_at, updated_at, " +
+        "version) VALUES (src.student_id, src.subject_id, src.grade_value, src.date_assigned, src.created_at, " +
+        "src.updated_at, 0)";
+    
+    private static final String REFRESH_STUDENT_GRADE_STATS_SQL =
+        "MERGE INTO student_grade_stats s USING (" + GRADE_STATS_SELECT + " WHERE student_id = ? GROUP BY student_id) " +
+        "AS src ON s.student_id = src.student_id " +
+        "WHEN MATCHED THEN UPDATE SET grade_count = src.grade_count, grade_sum = src.grade_sum, " +
+        "passed_count = src.passed_count, failed_count = src.failed_count, min_grade = src.min_grade, " +
+        "max_grade = src.max_grade, last_assigned = src.last_assigned, updated_at = src.updated_at " +
+        "WHEN NOT MATCHED THEN INSERT (" + GRADE_STATS_COLUMNS + ") VALUES (src.student_id, src.grade_count, " +
+        "src.grade_sum, src.passed_count, src.failed_count, src.min_grade, src.max_grade, src.last_assigned, " +
+        "src.updated_at)";
+    
+    @Override
+    public String upsertGradeSql() {
+        return UPSERT_GRADE_SQL;
+    }
+    
+    @Override
+    public String refreshStudentGradeStatsSql() {
+        return REFRESH_STUDENT_GRADE_STATS_SQL;
+    }
+}
@@ -0,0 +1,14 @@
+package com.gradeportal.repository;
+
+import com.gradeportal.entity.ImportJobError;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Long> {
+    
+    List<ImportJobError> findByJobIdOrderByLineNumberAscIdAsc(Long jobId, Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package com.gradeportal.repository;
+
+import com.gradeportal.entity.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+    
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = com.gradeportal.entity.ImportJob.Status.FAILED, " +
+           "j.failureReason = :reason, j.finishedAt = :finishedAt WHERE j.status IN :statuses")
+    int failAllByStatusIn(@Param("statuses") Collection<ImportJob.Status> statuses,
+                          @Param("reason") String reason,
+                          @Param("finishedAt") LocalDateTime finishedAt);
+}
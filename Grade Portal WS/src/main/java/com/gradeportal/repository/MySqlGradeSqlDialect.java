@@ -0,0 +1,29 @@
+package com.gradeportal.repository;
+
+// MySQL/MariaDB; id = LAST_INSERT_ID(id) makes Connector/J report the existing row's id on update
+public class MySqlGradeSqlDialect implements GradeSqlDialect {
+    
+    private static final String UPSERT_GRADE_SQL =
+        "INSERT INTO grades (student_id, subject_id, grade_value, date_assigned, created_at, updated_at, version) " +
+        "VALUES (?, ?, ?, ?, ?, ?, 0) " +
+        "ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id), grade_value = VALUES(grade_value), " +
+        "date_assigned = VALUES(date_assigned), updated_at = VALUES(updated_at), version = version + 1";
+    
+    private static final String REFRESH_STUDENT_GRADE_STATS_SQL =
+        "INSERT INTO student_grade_stats (" + GRADE_STATS_COLUMNS + ") " +
+        GRADE_STATS_SELECT + " WHERE student_id = ? GROUP BY student_id " +
+        "ON DUPLICATE KEY UPDATE grade_count = VALUES(grade_count), grade_sum = VALUES(grade_sum), " +
+        "passed_count = VALUES(passed_count), failed_count = VALUES(failed_count), " +
+        "min_grade = VALUES(min_grade), max_grade = VALUES(max_grade), " +
+        "last_assigned = VALUES(last_assigned), updated_at = VALUES(updated_at)";
+    
+    @Override
+    public String upsertGradeSql() {
+        return UPSERT_GRADE_SQL;
+    }
+    
+    @Override
+    public String refreshStudentGradeStatsSql() {
+        return REFRESH_STUDENT_GRADE_STATS_SQL;
+    }
+}
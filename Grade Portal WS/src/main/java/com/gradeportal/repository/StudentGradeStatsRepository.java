@@ -0,0 +1,9 @@
+package com.gradeportal.repository;
+
+import com.gradeportal.entity.StudentGradeStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StudentGradeStatsRepository extends JpaRepository<StudentGradeStats, Long>, StudentGradeStatsRepositoryCustom {
+}
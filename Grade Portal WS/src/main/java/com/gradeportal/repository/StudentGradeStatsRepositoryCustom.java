@@ -0,0 +1,29 @@
+package com.gradeportal.repository;
+
+import com.gradeportal.entity.StudentGradeStats;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StudentGradeStatsRepositoryCustom {
+    
+    // Recomputes the rows of these students from grades, one statement per student in a single JDBC batch.
+    // Safe against concurrent writers of the same students without any lock held by the caller.
+    void refresh(Collection<Long> studentIds);
+    
+    // A refresh writes nothing for a student without grades, so deletes call this to drop the stale row
+    void removeIfNoGrades(Long studentId);
+    
+    // Rows are written with SQL, so reads also bypass the persistence context, which would keep
+    // serving a row loaded earlier in the same transaction
+    Optional<StudentGradeStats> findStats(Long studentId);
+    
+    List<StudentGradeStats> findAllStats();
+    
+    // What student_grade_stats should contain, computed from grades
+    List<StudentGradeStats> computeFromGrades();
+    
+    // Replaces the whole table with computeFromGrades(); returns the number of rows written
+    int rebuild();
+}
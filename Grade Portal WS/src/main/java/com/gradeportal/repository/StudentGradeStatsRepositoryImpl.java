@@ -0,0 +1,89 @@
+package com.gradeportal.repository;
+
+import com.gradeportal.entity.StudentGradeStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+public class StudentGradeStatsRepositoryImpl implements StudentGradeStatsRepositoryCustom {
+    
+    private static final String LOCK_ROW_SQL = "UPDATE student_grade_stats SET updated_at = CURRENT_TIMESTAMP " +
+        "WHERE student_id = ?";
+    
+    private static final String DELETE_IF_NO_GRADES_SQL = "DELETE FROM student_grade_stats WHERE student_id = ? " +
+        "AND NOT EXISTS (SELECT 1 FROM grades WHERE student_id = ?)";
+    
+    private static final RowMapper<StudentGradeStats> STATS_MAPPER = (rs, rowNum) -> {
+        Date lastAssigned = rs.getDate("last_assigned");
+        return new StudentGradeStats(rs.getLong("student_id"), rs.getInt("grade_count"), rs.getDouble("grade_sum"),
+            rs.getInt("passed_count"), rs.getInt("failed_count"), rs.getObject("min_grade", Double.class),
+            rs.getObject("max_grade", Double.class), lastAssigned != null ? lastAssigned.toLocalDate() : null);
+    };
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private GradeSqlDialect gradeSqlDialect;
+    
+    // Two writers recomputing the same row from their own snapshots would each miss the other's grade change.
+    // Locking the row first waits out any earlier writer, and the recompute that follows is a new statement
+    // that reads its committed grades. Rows are locked in id order so overlapping batches cannot deadlock.
+    @Override
+    public void refresh(Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(new TreeSet<>(studentIds));
+        try {
+            lockAndRecompute(ids);
+        } catch (DuplicateKeyException e) {
+            // A concurrent writer inserted the first row for one of the students; it exists now, so rerun
+            lockAndRecompute(ids);
+        }
+    }
+    
+    private void lockAndRecompute(List<Long> ids) {
+        jdbcTemplate.batchUpdate(LOCK_ROW_SQL, ids, ids.size(), (ps, studentId) -> ps.setLong(1, studentId));
+        jdbcTemplate.batchUpdate(gradeSqlDialect.refreshStudentGradeStatsSql(), ids, ids.size(),
+            (ps, studentId) -> ps.setLong(1, studentId));
+    }
+    
+    @Override
+    public void removeIfNoGrades(Long studentId) {
+        jdbcTemplate.update(DELETE_IF_NO_GRADES_SQL, studentId, studentId);
+    }
+    
+    @Override
+    public Optional<StudentGradeStats> findStats(Long studentId) {
+        return jdbcTemplate.query("SELECT " + GradeSqlDialect.GRADE_STATS_COLUMNS + " FROM student_grade_stats " +
+            "WHERE student_id = ?", STATS_MAPPER, studentId).stream().findFirst();
+    }
+    
+    @Override
+    public List<StudentGradeStats> findAllStats() {
+        return jdbcTemplate.query("SELECT " + GradeSqlDialect.GRADE_STATS_COLUMNS + " FROM student_grade_stats " +
+            "ORDER BY student_id", STATS_MAPPER);
+    }
+    
+    @Override
+    public List<StudentGradeStats> computeFromGrades() {
+        return jdbcTemplate.query(GradeSqlDialect.GRADE_STATS_SELECT + " GROUP BY student_id ORDER BY student_id",
+            STATS_MAPPER);
+    }
+    
+    @Override
+    public int rebuild() {
+        jdbcTemplate.update("DELETE FROM student_grade_stats");
+        return jdbcTemplate.update("INSERT INTO student_grade_stats (" + GradeSqlDialect.GRADE_STATS_COLUMNS + ") " +
+            GradeSqlDialect.GRADE_STATS_SELECT + " GROUP BY student_id");
+    }
+}
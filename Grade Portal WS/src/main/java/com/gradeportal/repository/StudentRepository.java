@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,8 +23,14 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     @Query("SELECT s FROM Student s WHERE s.user.id = :userId")
     Optional<Student> findByUserId(@Param("userId") Long userId);
     
+    @Query("SELECT s FROM Student s WHERE s.user.username = :username")
+    Optional<Student> findByUsername(@Param("username") String username);
+    
     @Query("SELECT s FROM Student s WHERE s.user.role = 'STUDENT' AND s.user.status = 'APPROVED'")
     List<Student> findApprovedStudents();
     
     boolean existsByNameAndSection(String name, String section);
+    
+    @Query("SELECT s.user.id FROM Student s WHERE s.user.id IN :userIds")
+    List<Long> findUserIdsLinkedToStudents(@Param("userIds") Collection<Long> userIds);
 }
@@ -1,11 +1,17 @@
 package com.gradeportal.repository;
 
 import com.gradeportal.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,4 +39,41 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findStudentByUserId(@Param("userId") Long userId);
     
     Optional<User> findByIdAndRole(Long id, User.UserRole role);
+    
+    @Query("SELECT u.securityVersion FROM User u WHERE u.id = :userId")
+    Optional<Long> findSecurityVersionById(@Param("userId") Long userId);
+    
+    // Runs in its own short transaction when called from the non-transactional login path
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword, u.updatedAt = :now " +
+           "WHERE u.id = :userId AND u.password = :oldPassword")
+    int updatePasswordIfUnchanged(@Param("userId") Long userId, @Param("oldPassword") String oldPassword,
+                                  @Param("newPassword") String newPassword, @Param("now") LocalDateTime now);
+    
+    // Bulk operations: the targets are locked with one SELECT, then changed with one UPDATE/DELETE
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id IN :ids")
+    List<User> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.status = :status AND (:role IS NULL OR u.role = :role) ORDER BY u.id")
+    List<User> findAllByStatusAndRoleForUpdate(@Param("status") User.UserStatus status, @Param("role") User.UserRole role);
+    
+    // Bumps securityVersion so tokens issued before the change stop working
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.status = :status, u.securityVersion = u.securityVersion + 1, u.updatedAt = :now " +
+           "WHERE u.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") User.UserStatus status,
+                           @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.assignedClass = :className, u.updatedAt = :now " +
+           "WHERE u.id IN :ids AND u.role = 'TEACHER'")
+    int assignClassByIdIn(@Param("ids") Collection<Long> ids, @Param("className") String className,
+                          @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM User u WHERE u.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
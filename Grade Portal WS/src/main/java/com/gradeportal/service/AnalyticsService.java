@@ -0,0 +1,237 @@
+package com.gradeportal.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gradeportal.dto.SectionSubjectStatsDTO;
+import com.gradeportal.event.GradesChangedEvent;
+import com.gradeportal.event.SubjectChangedEvent;
+import com.gradeportal.util.GradeAccumulator;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Section x subject statistics computed in one pass over a streamed result set. Rows arrive ordered by
+// section and subject, so only the current group is buffered; groups above the parallel threshold are
+// split across the fork/join pool while the next group is still being read.
+@Service
+public class AnalyticsService {
+    
+    private static final String GRADES_SQL = "SELECT st.section, g.subject_id, sub.name, g.grade_value FROM grades g " +
+        "JOIN students st ON st.id = g.student_id JOIN subjects sub ON sub.id = g.subject_id";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${analytics.fetch-size:1000}")
+    private int fetchSize;
+    
+    @Value("${analytics.parallel-threshold:20000}")
+    private int parallelThreshold;
+    
+    @Value("${analytics.cache.max-entries:1000}")
+    private long maxCacheEntries;
+    
+    private Cache<Scope, List<SectionSubjectStatsDTO>> cache;
+    
+    // Bumped on every grade change; a result computed across a bump may miss that change and is not kept
+    private final AtomicLong generation = new AtomicLong();
+    
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder().maximumSize(maxCacheEntries).build();
+    }
+    
+    // section and subjectId are optional filters; results are cached until a grade in their scope changes
+    public List<SectionSubjectStatsDTO> getSectionSubjectStats(String section, Long subjectId) {
+        Scope scope = new Scope(section, subjectId);
+        List<SectionSubjectStatsDTO> cached = cache.getIfPresent(scope);
+        if (cached != null) {
+            return cached;
+        }
+        
+        long startedAt = generation.get();
+        List<SectionSubjectStatsDTO> stats = compute(section, subjectId);
+        cache.put(scope, stats);
+        if (generation.get() != startedAt) {
+            cache.invalidate(scope);
+        }
+        return stats;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradesChanged(GradesChangedEvent event) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(scope -> event.affects(scope.section, scope.subjectId));
+    }
+    
+    // Results carry subject names
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubjectChanged(SubjectChangedEvent event) {
+        if (event.getChangeType() == SubjectChangedEvent.ChangeType.CREATED) {
+            return;
+        }
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(scope -> scope.subjectId == null || scope.subjectId.equals(event.getSubjectId()));
+    }
+    
+    private List<SectionSubjectStatsDTO> compute(String section, Long subjectId) {
+        StringBuilder sql = new StringBuilder(GRADES_SQL);
+        List<Object> params = new ArrayList<>();
+        if (section != null) {
+            sql.append(" WHERE st.section = ?");
+            params.add(section);
+        }
+        if (subjectId != null) {
+            sql.append(params.isEmpty() ? " WHERE" : " AND").append(" g.subject_id = ?");
+            params.add(subjectId);
+        }
+        sql.append(" ORDER BY st.section, g.subject_id");
+        
+        GroupCollector collector = new GroupCollector();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, collector);
+        collector.finishGroup();
+        
+        List<SectionSubjectStatsDTO> stats = new ArrayList<>(collector.groups.size());
+        for (Group group : collector.groups) {
+            GradeAccumulator accumulator = group.task != null ? group.task.join() : group.accumulator;
+            stats.add(new SectionSubjectStatsDTO(group.section, group.subjectId, group.subjectName, accumulator));
+        }
+        return List.copyOf(stats);
+    }
+    
+    private class GroupCollector implements RowCallbackHandler {
+        
+        private final List<Group> groups = new ArrayList<>();
+        private Group current;
+        private double[] values = new double[256];
+        private int size;
+        
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            String section = rs.getString(1);
+            long subjectId = rs.getLong(2);
+            if (current == null || !Objects.equals(current.section, section) || current.subjectId != subjectId) {
+                finishGroup();
+                current = new Group(section, subjectId, rs.getString(3));
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = rs.getDouble(4);
+        }
+        
+        void finishGroup() {
+            if (current == null) {
+                return;
+            }
+            if (size > parallelThreshold) {
+                current.task = ForkJoinPool.commonPool().submit(new AccumulateTask(values, 0, size, parallelThreshold));
+                values = new double[256];
+            } else {
+                current.accumulator = accumulate(values, 0, size);
+            }
+            groups.add(current);
+            current = null;
+            size = 0;
+        }
+    }
+    
+    private static GradeAccumulator accumulate(double[] values, int from, int to) {
+        GradeAccumulator accumulator = new GradeAccumulator();
+        for (int i = from; i < to; i++) {
+            accumulator.add(values[i]);
+        }
+        return accumulator;
+    }
+    
+    // Halves the range until it is below the threshold, then merges the partial accumulators
+    private static class AccumulateTask extends RecursiveTask<GradeAccumulator> {
+        
+        private final double[] values;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        
+        AccumulateTask(double[] values, int from, int to, int threshold) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+        
+        @Override
+        protected GradeAccumulator compute() {
+            if (to - from <= threshold) {
+                return accumulate(values, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            AccumulateTask left = new AccumulateTask(values, from, middle, threshold);
+            left.fork();
+            GradeAccumulator right = new AccumulateTask(values, middle, to, threshold).compute();
+            return left.join().merge(right);
+        }
+    }
+    
+    private static class Group {
+        
+        private final String section;
+        private final long subjectId;
+        private final String subjectName;
+        private GradeAccumulator accumulator;
+        private ForkJoinTask<GradeAccumulator> task;
+        
+        Group(String section, long subjectId, String subjectName) {
+            this.section = section;
+            this.subjectId = subjectId;
+            this.subjectName = subjectName;
+        }
+    }
+    
+    private static final class Scope {
+        
+        private final String section;
+        private final Long subjectId;
+        
+        Scope(String section, Long subjectId) {
+            this.section = section;
+            this.subjectId = subjectId;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Scope)) return false;
+            Scope scope = (Scope) o;
+            return Objects.equals(section, scope.section) && Objects.equals(subjectId, scope.subjectId);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(section, subjectId);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.gradeportal.service;
+
+import com.gradeportal.entity.AuditEvent;
+import com.gradeportal.event.UserChangedEvent;
+import com.gradeportal.event.UsersChangedEvent;
+import com.gradeportal.repository.AuditEventRepository;
+import com.gradeportal.util.MpscRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Callers only enqueue; a single background writer drains the buffer into audit_events in JDBC batches
+@Service
+public class AuditService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_events " +
+            "(event_type, actor, target_user_id, detail, client_ip, occurred_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    public enum OverflowPolicy {
+        DROP, // discard the event when the buffer is full
+        BLOCK // wait up to audit.block-timeout-ms for space, then discard
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditEventRepository auditEventRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${audit.buffer-capacity:8192}")
+    private int bufferCapacity;
+
+    @Value("${audit.batch-size:200}")
+    private int batchSize;
+
+    @Value("${audit.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${audit.overflow-policy:DROP}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${audit.block-timeout-ms:50}")
+    private long blockTimeoutMs;
+
+    private MpscRingBuffer<AuditEvent> buffer;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    private Counter writtenCounter;
+
+    private Counter droppedCounter;
+
+    private Counter failedCounter;
+
+    @PostConstruct
+    void start() {
+        buffer = new MpscRingBuffer<>(bufferCapacity);
+
+        Gauge.builder("audit.buffer.depth", buffer, MpscRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        writtenCounter = Counter.builder("audit.events.written").register(meterRegistry);
+        droppedCounter = Counter.builder("audit.events.dropped")
+                .description("Audit events discarded because the buffer was full")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("audit.events.failed")
+                .description("Audit events lost because their batch insert failed")
+                .register(meterRegistry);
+
+        running = true;
+        writer = new Thread(this::drainLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void record(AuditEvent.EventType eventType, String actor, Long targetUserId, String detail, String clientIp) {
+        AuditEvent event = new AuditEvent(eventType, actor, targetUserId, detail, clientIp, LocalDateTime.now());
+        if (buffer.offer(event)) {
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            LockSupport.unpark(writer);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+            while (System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                if (buffer.offer(event)) {
+                    return;
+                }
+            }
+        }
+        droppedCounter.increment();
+    }
+
+    // Admin actions are audited once their transaction has committed, attributed to the signed-in user
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        AuditEvent.EventType eventType = auditedType(event.getChangeType());
+        if (eventType != null) {
+            record(eventType, currentActor(), event.getUserId(), event.getDetail(), null);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsersChanged(UsersChangedEvent event) {
+        AuditEvent.EventType eventType = auditedType(event.getChangeType());
+        if (eventType != null) {
+            String actor = currentActor();
+            String detail = event.getDetail() != null ? "bulk, " + event.getDetail() : "bulk";
+            event.getUserIds().forEach(userId -> record(eventType, actor, userId, detail, null));
+        }
+    }
+
+    private AuditEvent.EventType auditedType(UserChangedEvent.ChangeType changeType) {
+        return switch (changeType) {
+            case APPROVED -> AuditEvent.EventType.USER_APPROVED;
+            case DECLINED -> AuditEvent.EventType.USER_DECLINED;
+            case DELETED -> AuditEvent.EventType.USER_DELETED;
+            case ASSIGNED -> AuditEvent.EventType.TEACHER_ASSIGNED;
+            default -> null;
+        };
+    }
+
+    public List<AuditEvent> findPage(Long beforeId, AuditEvent.EventType eventType, String actor, int limit) {
+        return auditEventRepository.findPage(beforeId != null ? beforeId : Long.MAX_VALUE, eventType, actor,
+                PageRequest.of(0, limit));
+    }
+
+    private String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "system";
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            buffer.drainTo(batch, batchSize);
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+                continue;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    // Any failure only loses this batch; the writer thread keeps draining
+    private void write(List<AuditEvent> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                ps.setString(1, event.getEventType().name());
+                ps.setString(2, event.getActor());
+                ps.setObject(3, event.getTargetUserId(), Types.BIGINT);
+                ps.setString(4, event.getDetail());
+                ps.setString(5, event.getClientIp());
+                ps.setTimestamp(6, Timestamp.valueOf(event.getOccurredAt()));
+            });
+            writtenCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            failedCounter.increment(batch.size());
+            logger.warn("Could not write {} audit events", batch.size(), e);
+        }
+    }
+
+    // Drains what is left before the data source goes away
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
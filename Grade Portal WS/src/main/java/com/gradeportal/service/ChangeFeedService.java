@@ -0,0 +1,412 @@
+package com.gradeportal.service;
+
+import com.gradeportal.dto.ChangeEventDTO;
+import com.gradeportal.entity.Student;
+import com.gradeportal.entity.User;
+import com.gradeportal.event.GradesChangedEvent;
+import com.gradeportal.event.StudentChangedEvent;
+import com.gradeportal.event.SubjectChangedEvent;
+import com.gradeportal.event.UserChangedEvent;
+import com.gradeportal.event.UsersChangedEvent;
+import com.gradeportal.util.BoundedExecutors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// In-process change feed behind /api/events. Committed domain events are handed to a single dispatch
+// thread, which numbers them, keeps the latest in a ring for Last-Event-ID replay and queues them for every
+// subscriber whose role may see them. Queuing replay and live events on that thread keeps them in order and
+// makes replay-then-subscribe atomic, so a reconnecting client neither misses nor repeats an event.
+// The dispatch thread never writes to a stream: each subscriber has a bounded queue drained by the sender
+// pool, and a subscriber whose queue overflows is closed, so one slow client cannot hold up the others.
+@Service
+public class ChangeFeedService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+    
+    // Sent instead of a replay when the client's last event is no longer buffered; clients reload everything
+    public static final String RESET_EVENT = "reset";
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${events.max-connections:500}")
+    private int maxConnections;
+    
+    @Value("${events.replay-capacity:1000}")
+    private int replayCapacity;
+    
+    @Value("${events.dispatch-queue-capacity:10000}")
+    private int dispatchQueueCapacity;
+    
+    // Events waiting to be written to one stream; a client this far behind is disconnected and replays
+    @Value("${events.subscriber-queue-capacity:256}")
+    private int subscriberQueueCapacity;
+    
+    @Value("${events.sender-threads:4}")
+    private int senderThreads;
+    
+    // Streams are closed after this; the browser reconnects, which also picks up a renewed access token
+    @Value("${events.emitter-timeout-ms:900000}")
+    private long emitterTimeoutMs;
+    
+    @Value("${events.reconnect-ms:3000}")
+    private long reconnectMs;
+    
+    @Value("${events.retry-after-seconds:10}")
+    private long retryAfterSeconds;
+    
+    private ThreadPoolExecutor dispatcher;
+    
+    // Holds at most one task per subscriber (see schedule), so its queue never fills
+    private ThreadPoolExecutor sender;
+    
+    // Only touched on the dispatch thread
+    private final ArrayDeque<Entry> ring = new ArrayDeque<>();
+    
+    // Only touched on the dispatch thread. Starts from the boot time so ids from before a restart are
+    // recognised as no longer replayable.
+    private long lastId;
+    
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    
+    private final AtomicInteger connections = new AtomicInteger();
+    
+    private Counter rejectedCounter;
+    
+    private Counter droppedCounter;
+    
+    private Counter overflowCounter;
+    
+    @PostConstruct
+    void init() {
+        lastId = System.currentTimeMillis() * 1000;
+        dispatcher = BoundedExecutors.create("change-feed", 1, dispatchQueueCapacity, meterRegistry, "events.dispatch");
+        // Released subscribers may still have a task queued next to those of the open ones
+        sender = BoundedExecutors.create("change-feed-sender", senderThreads, 2 * maxConnections, meterRegistry,
+                "events.sender");
+        
+        Gauge.builder("events.connections", connections, AtomicInteger::get)
+                .description("Open /api/events streams")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("events.connections.rejected")
+                .description("Event streams refused because max-connections was reached")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("events.dropped")
+                .description("Change events lost because the dispatch queue was full")
+                .register(meterRegistry);
+        overflowCounter = Counter.builder("events.subscribers.overflowed")
+                .description("Event streams closed because their client fell too far behind")
+                .register(meterRegistry);
+    }
+    
+    // Throws RejectedExecutionException when the connection cap is reached. lastEventId may be null.
+    public SseEmitter subscribe(User.UserRole role, String username, String lastEventId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            rejectedCounter.increment();
+            throw new RejectedExecutionException("Too many event streams");
+        }
+        
+        Subscriber subscriber;
+        try {
+            Long studentId = role == User.UserRole.STUDENT
+                ? studentService.findByUsername(username).map(Student::getId).orElse(null)
+                : null;
+            subscriber = new Subscriber(new SseEmitter(emitterTimeoutMs), role, studentId, subscriberQueueCapacity);
+        } catch (RuntimeException e) {
+            connections.decrementAndGet();
+            throw e;
+        }
+        subscriber.emitter.onCompletion(() -> release(subscriber));
+        subscriber.emitter.onTimeout(() -> release(subscriber));
+        subscriber.emitter.onError(error -> release(subscriber));
+        
+        Long lastSeen = parseId(lastEventId);
+        try {
+            dispatcher.execute(() -> attach(subscriber, lastSeen));
+        } catch (RejectedExecutionException e) {
+            release(subscriber);
+            rejectedCounter.increment();
+            throw e;
+        }
+        return subscriber.emitter;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+    
+    public int getConnectionCount() {
+        return connections.get();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getChangeType() != UserChangedEvent.ChangeType.PASSWORD_CHANGED) {
+            publish("user", event.getChangeType().name(), List.of(event.getUserId()), EnumSet.of(User.UserRole.ADMIN), null);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsersChanged(UsersChangedEvent event) {
+        if (event.getChangeType() != UserChangedEvent.ChangeType.PASSWORD_CHANGED && !event.getUserIds().isEmpty()) {
+            publish("user", event.getChangeType().name(), event.getUserIds(), EnumSet.of(User.UserRole.ADMIN), null);
+        }
+    }
+    
+    // Students only hear about their own record
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        publish("student", event.getChangeType().name(), List.of(event.getStudentId()),
+            EnumSet.of(User.UserRole.TEACHER, User.UserRole.STUDENT), Set.of(event.getStudentId()));
+    }
+    
+    // Any report card may show the subject's name
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubjectChanged(SubjectChangedEvent event) {
+        publish("subject", event.getChangeType().name(), List.of(event.getSubjectId()),
+            EnumSet.of(User.UserRole.TEACHER, User.UserRole.STUDENT), null);
+    }
+    
+    // Only the students whose grades changed; teacher pages do not reload on grade changes, and a bulk
+    // import would otherwise put an event in every teacher's queue
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradesChanged(GradesChangedEvent event) {
+        publish("grade", "CHANGED", event.getStudentIds().stream().sorted().toList(),
+            EnumSet.of(User.UserRole.STUDENT), event.getStudentIds());
+    }
+    
+    // Comments keep proxies from closing idle streams and reveal clients that have gone away
+    @Scheduled(fixedDelayString = "${events.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        try {
+            dispatcher.execute(() -> {
+                for (Subscriber subscriber : subscribers) {
+                    // Queued events will do as a heartbeat
+                    if (subscriber.outbox.isEmpty()) {
+                        enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The queue is full of events, which will do as a heartbeat
+        }
+    }
+    
+    // Completes every open stream; clients reconnect and replay from their last event
+    public void disconnectAll() {
+        for (Subscriber subscriber : subscribers) {
+            close(subscriber, null);
+        }
+    }
+    
+    private void publish(String type, String action, Collection<Long> ids, Set<User.UserRole> roles, Set<Long> studentIds) {
+        ChangeEventDTO data = new ChangeEventDTO(type, action, List.copyOf(ids));
+        try {
+            dispatcher.execute(() -> dispatch(new Entry(++lastId, data, roles, studentIds)));
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment();
+            logger.warn("Change feed queue is full, dropped {} {} event", type, action);
+        }
+    }
+    
+    private void dispatch(Entry entry) {
+        ring.addLast(entry);
+        if (ring.size() > replayCapacity) {
+            ring.removeFirst();
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (entry.isVisibleTo(subscriber)) {
+                enqueue(subscriber, entry.toEvent());
+            }
+        }
+    }
+    
+    private void attach(Subscriber subscriber, Long lastSeen) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        enqueue(subscriber, SseEmitter.event().reconnectTime(reconnectMs).comment("connected"));
+        if (lastSeen != null) {
+            long firstBuffered = ring.isEmpty() ? lastId + 1 : ring.peekFirst().id;
+            List<Entry> missed = ring.stream()
+                .filter(entry -> entry.id > lastSeen && entry.isVisibleTo(subscriber))
+                .toList();
+            // A replay that would not fit the subscriber's queue is sent as a reset, which it always fits
+            if (lastSeen > lastId || lastSeen < firstBuffered - 1 || missed.size() >= subscriberQueueCapacity) {
+                enqueue(subscriber, SseEmitter.event().id(String.valueOf(lastId)).name(RESET_EVENT)
+                    .data(new ChangeEventDTO(RESET_EVENT, RESET_EVENT, List.of()), MediaType.APPLICATION_JSON));
+            } else {
+                missed.forEach(entry -> enqueue(subscriber, entry.toEvent()));
+            }
+        }
+        subscribers.add(subscriber);
+        // Released while replaying: release() may already have run, so undo the add
+        if (subscriber.closed.get()) {
+            subscribers.remove(subscriber);
+        }
+    }
+    
+    // Called on the dispatch thread only, so a subscriber's events are queued in id order
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (subscriber.outbox.offer(event)) {
+            schedule(subscriber);
+        } else {
+            overflowCounter.increment();
+            close(subscriber, new IOException("Event stream client fell behind"));
+        }
+    }
+    
+    // Stops further events and leaves completing the emitter to the sender, which may be blocked in a write
+    // to this client; error is null for a normal completion
+    private void close(Subscriber subscriber, Throwable error) {
+        if (!release(subscriber)) {
+            return;
+        }
+        subscriber.outbox.clear();
+        subscriber.closeError = error;
+        subscriber.completePending.set(true);
+        schedule(subscriber);
+    }
+    
+    // At most one sender drains a subscriber at a time, which keeps its events in order
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false); // shutting down
+            }
+        }
+    }
+    
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.closed.get() && (event = subscriber.outbox.poll()) != null) {
+                try {
+                    subscriber.emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    release(subscriber);
+                    subscriber.emitter.completeWithError(e);
+                }
+            }
+            if (subscriber.completePending.compareAndSet(true, false)) {
+                if (subscriber.closeError != null) {
+                    subscriber.emitter.completeWithError(subscriber.closeError);
+                } else {
+                    subscriber.emitter.complete();
+                }
+            }
+            subscriber.draining.set(false);
+            // Anything queued after the last poll but before the flag was cleared would otherwise wait
+        } while ((subscriber.completePending.get() || !subscriber.closed.get() && !subscriber.outbox.isEmpty())
+            && subscriber.draining.compareAndSet(false, true));
+    }
+    
+    // Returns false when the subscriber was already released
+    private boolean release(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscribers.remove(subscriber);
+        connections.decrementAndGet();
+        return true;
+    }
+    
+    private static Long parseId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return 0L; // unknown position: the client gets a reset
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        disconnectAll();
+        dispatcher.shutdown();
+        sender.shutdown();
+    }
+    
+    private static final class Subscriber {
+        
+        private final SseEmitter emitter;
+        private final User.UserRole role;
+        private final Long studentId;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final ArrayBlockingQueue<SseEmitter.SseEventBuilder> outbox;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean completePending = new AtomicBoolean();
+        private volatile Throwable closeError;
+        
+        Subscriber(SseEmitter emitter, User.UserRole role, Long studentId, int queueCapacity) {
+            this.emitter = emitter;
+            this.role = role;
+            this.studentId = studentId;
+            this.outbox = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+    
+    // studentIds, when set, limits which student subscribers see the event; other roles are not affected
+    private static final class Entry {
+        
+        private final long id;
+        private final ChangeEventDTO data;
+        private final Set<User.UserRole> roles;
+        private final Set<Long> studentIds;
+        
+        Entry(long id, ChangeEventDTO data, Set<User.UserRole> roles, Set<Long> studentIds) {
+            this.id = id;
+            this.data = data;
+            this.roles = roles;
+            this.studentIds = studentIds;
+        }
+        
+        boolean isVisibleTo(Subscriber subscriber) {
+            if (!roles.contains(subscriber.role)) {
+                return false;
+            }
+            return subscriber.role != User.UserRole.STUDENT || studentIds == null
+                || (subscriber.studentId != null && studentIds.contains(subscriber.studentId));
+        }
+        
+        SseEmitter.SseEventBuilder toEvent() {
+            return SseEmitter.event().id(String.valueOf(id)).name(data.getType()).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+}
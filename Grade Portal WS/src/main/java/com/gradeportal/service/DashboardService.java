@@ -0,0 +1,152 @@
+package com.gradeportal.service;
+
+import com.gradeportal.dto.DashboardDTO;
+import com.gradeportal.dto.StudentDTO;
+import com.gradeportal.dto.SubjectDTO;
+import com.gradeportal.dto.UserSummaryDTO;
+import com.gradeportal.util.BoundedExecutors;
+import com.gradeportal.util.ServerTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Builds each role's landing page in one request. Independent sections are loaded in parallel on a small
+// bounded pool, each in its own read-only service call, and their durations go into a ServerTiming.
+@Service
+public class DashboardService {
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private SubjectService subjectService;
+    
+    @Autowired
+    private ReportCardCache reportCardCache;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // Every running section holds a database connection, so keep this well below the pool size
+    @Value("${dashboard.executor.threads:4}")
+    private int threads;
+    
+    @Value("${dashboard.executor.queue-capacity:64}")
+    private int queueCapacity;
+    
+    @Value("${dashboard.timeout-ms:5000}")
+    private long timeoutMs;
+    
+    @Value("${dashboard.retry-after-seconds:2}")
+    private long retryAfterSeconds;
+    
+    private ThreadPoolExecutor executor;
+    
+    @PostConstruct
+    void init() {
+        executor = BoundedExecutors.create("dashboard", threads, queueCapacity, meterRegistry, "dashboard.executor");
+    }
+    
+    // The student record is looked up by username so it does not wait for the user row
+    public DashboardDTO getStudentDashboard(String username, ServerTiming timing) {
+        CompletableFuture<UserSummaryDTO> user = section("user", timing, () -> findUser(username));
+        CompletableFuture<StudentDTO> student = section("student", timing, () -> studentService.findByUsername(username)
+            .map(StudentDTO::new).orElse(null));
+        CompletableFuture<String> reportCard = student.thenCompose(found -> found == null
+            ? CompletableFuture.completedFuture(null)
+            : section("reportCard", timing, () -> new String(reportCardCache.get(found.getId()).getBody(), StandardCharsets.UTF_8)));
+        await(user, reportCard);
+        
+        DashboardDTO dashboard = new DashboardDTO();
+        dashboard.setUser(user.join());
+        dashboard.setStudent(student.join());
+        dashboard.setReportCard(reportCard.join());
+        return dashboard;
+    }
+    
+    public DashboardDTO getTeacherDashboard(String username, ServerTiming timing) {
+        CompletableFuture<UserSummaryDTO> user = section("user", timing, () -> findUser(username));
+        CompletableFuture<List<StudentDTO>> students = section("students", timing, () -> studentService.findAllStudents()
+            .stream().map(StudentDTO::new).toList());
+        CompletableFuture<List<SubjectDTO>> subjects = section("subjects", timing, () -> subjectService.findAllSubjects()
+            .stream().map(SubjectDTO::new).toList());
+        await(user, students, subjects);
+        
+        DashboardDTO dashboard = new DashboardDTO();
+        dashboard.setUser(user.join());
+        dashboard.setStudents(students.join());
+        dashboard.setSubjects(subjects.join());
+        return dashboard;
+    }
+    
+    public DashboardDTO getAdminDashboard(String username, ServerTiming timing) {
+        CompletableFuture<UserSummaryDTO> user = section("user", timing, () -> findUser(username));
+        CompletableFuture<List<UserSummaryDTO>> teachers = section("teachers", timing, () -> userService.findAllTeachers()
+            .stream().map(UserSummaryDTO::new).toList());
+        CompletableFuture<List<UserSummaryDTO>> pendingUsers = section("pendingUsers", timing, () -> userService.findAllPendingUsers()
+            .stream().map(UserSummaryDTO::new).toList());
+        await(user, teachers, pendingUsers);
+        
+        DashboardDTO dashboard = new DashboardDTO();
+        dashboard.setUser(user.join());
+        dashboard.setTeachers(teachers.join());
+        dashboard.setPendingUsers(pendingUsers.join());
+        return dashboard;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+    
+    private UserSummaryDTO findUser(String username) {
+        return userService.findByUsername(username).map(UserSummaryDTO::new)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+    
+    // Throws RejectedExecutionException when the pool is saturated
+    private <T> CompletableFuture<T> section(String name, ServerTiming timing, Supplier<T> loader) {
+        return CompletableFuture.supplyAsync(() -> {
+            long startedAt = System.nanoTime();
+            try {
+                return loader.get();
+            } finally {
+                timing.record(name, System.nanoTime() - startedAt);
+            }
+        }, executor);
+    }
+    
+    // Rethrows the first section failure as it was thrown by the section
+    private void await(CompletableFuture<?>... sections) {
+        try {
+            CompletableFuture.allOf(sections).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : new RuntimeException(cause);
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Dashboard took longer than " + timeoutMs + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading the dashboard");
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
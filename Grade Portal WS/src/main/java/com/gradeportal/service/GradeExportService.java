@@ -0,0 +1,172 @@
+package com.gradeportal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.gradeportal.dto.GradeExportRow;
+import com.gradeportal.repository.GradeRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+// Writes grades from a database cursor straight to an output stream, one row at a time, so memory use
+// does not depend on how many grades are exported
+@Service
+public class GradeExportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GradeExportService.class);
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private static final String CSV_HEADER =
+        "grade_id,student_id,student_name,section,subject_id,subject_name,grade_value,date_assigned";
+    
+    public enum Format {
+        CSV("text/csv", "csv"),
+        JSONL("application/x-ndjson", "jsonl");
+        
+        private final String contentType;
+        private final String extension;
+        
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+        
+        public String getContentType() {
+            return contentType;
+        }
+        
+        public String getExtension() {
+            return extension;
+        }
+        
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported export format: " + value);
+            }
+        }
+    }
+    
+    @Autowired
+    private GradeRepository gradeRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    // Each running export holds a database connection for its whole duration
+    @Value("${grades.export.max-concurrent:2}")
+    private int maxConcurrentExports;
+    
+    private Semaphore exportSlots;
+    
+    @PostConstruct
+    void init() {
+        exportSlots = new Semaphore(maxConcurrentExports);
+    }
+    
+    // Callers that get true must call finishExport() once the export is over
+    public boolean tryStartExport() {
+        return exportSlots.tryAcquire();
+    }
+    
+    public void finishExport() {
+        exportSlots.release();
+    }
+    
+    // section null exports the whole school; returns the number of grades written
+    public long writeExport(Format format, String section, boolean gzip, OutputStream out) throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try {
+            return transaction.execute(status -> {
+                try (Stream<GradeExportRow> rows = gradeRepository.streamForExport(section)) {
+                    return writeRows(format, rows.iterator(), gzip, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private long writeRows(Format format, Iterator<GradeExportRow> rows, boolean gzip, OutputStream out) throws IOException {
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? gzipStream : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        ObjectWriter jsonWriter = objectMapper.writerFor(GradeExportRow.class);
+        
+        long count = 0;
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        while (rows.hasNext()) {
+            GradeExportRow row = rows.next();
+            if (format == Format.CSV) {
+                writeCsvRow(writer, row);
+            } else {
+                writer.write(jsonWriter.writeValueAsString(row));
+            }
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+        logger.info("Exported {} grades as {}{}", count, format, gzip ? " (gzip)" : "");
+        return count;
+    }
+    
+    private void writeCsvRow(Writer writer, GradeExportRow row) throws IOException {
+        writer.write(String.valueOf(row.getGradeId()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getStudentId()));
+        writer.write(',');
+        writer.write(csvField(row.getStudentName()));
+        writer.write(',');
+        writer.write(csvField(row.getSection()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getSubjectId()));
+        writer.write(',');
+        writer.write(csvField(row.getSubjectName()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getGradeValue()));
+        writer.write(',');
+        writer.write(row.getDateAssigned() != null ? row.getDateAssigned().toString() : "");
+    }
+    
+    // RFC 4180: quote fields containing a separator, quote or line break and double embedded quotes
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
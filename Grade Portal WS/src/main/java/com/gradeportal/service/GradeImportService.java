@@ -0,0 +1,305 @@
+package com.gradeportal.service;
+
+import com.gradeportal.dto.GradeBatchEntry;
+import com.gradeportal.dto.GradeBatchResult;
+import com.gradeportal.dto.ImportJobDTO;
+import com.gradeportal.entity.ImportJob;
+import com.gradeportal.entity.ImportJobError;
+import com.gradeportal.repository.ImportJobErrorRepository;
+import com.gradeportal.repository.ImportJobRepository;
+import com.gradeportal.util.BoundedExecutors;
+import com.gradeportal.util.CsvReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+// Uploads are spooled to a temp file and parsed by a bounded worker pool one record at a time. Every
+// chunk of rows is written with GradeService.assignGrades and committed together with the job's
+// counters and row errors, so a crash loses at most the chunk in flight.
+@Service
+public class GradeImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GradeImportService.class);
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private static final String STUDENT_ID = "studentid";
+    private static final String SUBJECT_ID = "subjectid";
+    private static final String GRADE_VALUE = "gradevalue";
+    
+    @Autowired
+    private GradeService gradeService;
+    
+    @Autowired
+    private ImportJobRepository importJobRepository;
+    
+    @Autowired
+    private ImportJobErrorRepository importJobErrorRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${imports.worker-threads:2}")
+    private int workerThreads;
+    
+    @Value("${imports.queue-capacity:16}")
+    private int queueCapacity;
+    
+    // Capped by grades.batch.max-entries, since each chunk is one assignGrades call
+    @Value("${imports.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${grades.batch.max-entries:2000}")
+    private int maxBatchEntries;
+    
+    // Row errors beyond this are counted but not stored
+    @Value("${imports.max-stored-errors:1000}")
+    private int maxStoredErrors;
+    
+    @Value("${imports.retry-after-seconds:30}")
+    private long retryAfterSeconds;
+    
+    private ThreadPoolExecutor executor;
+    
+    private TransactionTemplate transaction;
+    
+    private Counter rowsCounter;
+    
+    @PostConstruct
+    void init() {
+        chunkSize = Math.max(1, Math.min(chunkSize, maxBatchEntries));
+        transaction = new TransactionTemplate(transactionManager);
+        
+        executor = BoundedExecutors.create("grade-import", workerThreads, queueCapacity, meterRegistry, "imports");
+        rowsCounter = Counter.builder("imports.rows.processed").register(meterRegistry);
+    }
+    
+    // The content is copied to a temp file before this returns, so the request can complete while the job
+    // runs. Throws RejectedExecutionException when the queue is full; no job is left behind in that case.
+    public ImportJobDTO submit(String fileName, InputStream content, String username) throws IOException {
+        Path file = Files.createTempFile("grade-import-", ".upload");
+        try {
+            Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        
+        ImportJob job = importJobRepository.save(new ImportJob(fileName, username, LocalDateTime.now()));
+        try {
+            executor.execute(() -> run(job.getId(), file));
+        } catch (RejectedExecutionException e) {
+            importJobRepository.deleteById(job.getId());
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new ImportJobDTO(job, List.of());
+    }
+    
+    public Optional<ImportJobDTO> findJob(Long jobId, int maxErrors) {
+        return importJobRepository.findById(jobId).map(job -> new ImportJobDTO(job, maxErrors > 0
+            ? importJobErrorRepository.findByJobIdOrderByLineNumberAscIdAsc(jobId, PageRequest.of(0, maxErrors))
+            : List.of()));
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+    
+    // The worker queue lives in memory, so jobs still pending at shutdown can never finish
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        Integer failed = transaction.execute(status -> importJobRepository.failAllByStatusIn(
+            List.of(ImportJob.Status.QUEUED, ImportJob.Status.RUNNING), "Interrupted by a restart", LocalDateTime.now()));
+        if (failed != null && failed > 0) {
+            logger.warn("Marked {} interrupted import jobs as failed", failed);
+        }
+    }
+    
+    private void run(Long jobId, Path file) {
+        try {
+            updateJob(jobId, job -> job.start(LocalDateTime.now()));
+            importFile(jobId, file);
+            updateJob(jobId, job -> job.complete(LocalDateTime.now()));
+        } catch (Exception e) {
+            logger.warn("Import job {} failed", jobId, e);
+            String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            updateJob(jobId, job -> job.fail(reason, LocalDateTime.now()));
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Could not delete import file {}", file, e);
+            }
+        }
+    }
+    
+    private void importFile(Long jobId, Path file) throws IOException {
+        try (CsvReader csv = new CsvReader(new BufferedReader(
+                new InputStreamReader(open(file), StandardCharsets.UTF_8), BUFFER_SIZE))) {
+            Map<String, Integer> columns = readHeader(csv);
+            Chunk chunk = new Chunk(jobId);
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                chunk.add(csv.getRecordLineNumber(), record, columns);
+                if (chunk.lines.size() >= chunkSize) {
+                    commitChunk(jobId, chunk);
+                    chunk = new Chunk(jobId);
+                }
+            }
+            if (!chunk.lines.isEmpty()) {
+                commitChunk(jobId, chunk);
+            }
+        }
+    }
+    
+    // Gzip is recognised by its magic bytes rather than the file name or content type
+    private InputStream open(Path file) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        in.mark(2);
+        boolean gzip = in.read() == 0x1f && in.read() == 0x8b;
+        in.reset();
+        return gzip ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+    }
+    
+    private Map<String, Integer> readHeader(CsvReader csv) throws IOException {
+        List<String> header = csv.readRecord();
+        Map<String, Integer> columns = new HashMap<>();
+        if (header != null) {
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).replace("\uFEFF", "").replaceAll("[^A-Za-z]", "").toLowerCase(Locale.ROOT);
+                columns.putIfAbsent(name, i);
+            }
+        }
+        if (!columns.containsKey(STUDENT_ID) || !columns.containsKey(SUBJECT_ID) || !columns.containsKey(GRADE_VALUE)) {
+            throw new RuntimeException("CSV header must include studentId, subjectId and gradeValue");
+        }
+        return columns;
+    }
+    
+    private void commitChunk(Long jobId, Chunk chunk) {
+        transaction.executeWithoutResult(status -> {
+            List<ImportJobError> errors = new ArrayList<>(chunk.parseErrors);
+            long created = 0;
+            long updated = 0;
+            if (!chunk.entries.isEmpty()) {
+                GradeBatchResult result = gradeService.assignGrades(chunk.entries);
+                created = result.getCreated();
+                updated = result.getUpdated();
+                for (GradeBatchResult.Row row : result.getRows()) {
+                    if (row.getStatus() == GradeBatchResult.Status.FAILED) {
+                        errors.add(new ImportJobError(jobId, chunk.entryLines.get(row.getIndex()), row.getError()));
+                    }
+                }
+            }
+            
+            ImportJob job = importJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Import job not found"));
+            int storable = Math.max(0, Math.min(errors.size(), maxStoredErrors - job.getErrorsRecorded()));
+            if (storable > 0) {
+                importJobErrorRepository.saveAll(errors.subList(0, storable));
+            }
+            job.addChunk(chunk.lines.size(), created, updated, errors.size(), storable);
+        });
+        rowsCounter.increment(chunk.lines.size());
+    }
+    
+    private void updateJob(Long jobId, Consumer<ImportJob> change) {
+        transaction.executeWithoutResult(status -> importJobRepository.findById(jobId).ifPresent(change));
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+    
+    // Rows read since the last commit; records that do not parse become errors without reaching assignGrades
+    private static final class Chunk {
+        
+        private final Long jobId;
+        private final List<Integer> lines = new ArrayList<>();
+        private final List<GradeBatchEntry> entries = new ArrayList<>();
+        private final List<Integer> entryLines = new ArrayList<>();
+        private final List<ImportJobError> parseErrors = new ArrayList<>();
+        
+        Chunk(Long jobId) {
+            this.jobId = jobId;
+        }
+        
+        void add(int line, List<String> record, Map<String, Integer> columns) {
+            lines.add(line);
+            try {
+                entries.add(new GradeBatchEntry(
+                    parseLong(field(record, columns.get(STUDENT_ID))),
+                    parseLong(field(record, columns.get(SUBJECT_ID))),
+                    parseDouble(field(record, columns.get(GRADE_VALUE)))));
+                entryLines.add(line);
+            } catch (NumberFormatException e) {
+                parseErrors.add(new ImportJobError(jobId, line, "Invalid number: " + e.getMessage()));
+            }
+        }
+        
+        private static String field(List<String> record, int column) {
+            String value = column < record.size() ? record.get(column).trim() : "";
+            return value.isEmpty() ? null : value;
+        }
+        
+        private static Long parseLong(String value) {
+            try {
+                return value != null ? Long.valueOf(value) : null;
+            } catch (NumberFormatException e) {
+                throw new NumberFormatException(value);
+            }
+        }
+        
+        private static Double parseDouble(String value) {
+            try {
+                Double parsed = value != null ? Double.valueOf(value) : null;
+                if (parsed != null && !Double.isFinite(parsed)) {
+                    throw new NumberFormatException(value);
+                }
+                return parsed;
+            } catch (NumberFormatException e) {
+                throw new NumberFormatException(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.gradeportal.service;
+
+import com.gradeportal.dto.GradeLedgerEntryDTO;
+import com.gradeportal.dto.GradesAsOfDTO;
+import com.gradeportal.entity.GradeLedgerEntry;
+import com.gradeportal.entity.GradeSnapshot;
+import com.gradeportal.entity.Subject;
+import com.gradeportal.repository.GradeLedgerRepository;
+import com.gradeportal.repository.GradeSnapshotRepository;
+import com.gradeportal.repository.StudentRepository;
+import com.gradeportal.repository.SubjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// Point-in-time reads over grade_ledger. Each snapshot is built from the previous one plus the entries
+// recorded since, and a read replays only the entries after the snapshot it starts from, so neither
+// scans the whole ledger.
+@Service
+@Transactional
+public class GradeLedgerService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GradeLedgerService.class);
+    
+    @Autowired
+    private GradeLedgerRepository gradeLedgerRepository;
+    
+    @Autowired
+    private GradeSnapshotRepository gradeSnapshotRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private SubjectRepository subjectRepository;
+    
+    @Value("${grades.ledger.snapshot-settle-ms:60000}")
+    private long snapshotSettleMs;
+    
+    @Value("${grades.ledger.snapshot-retention:48}")
+    private int snapshotRetention;
+    
+    @Transactional(readOnly = true)
+    public GradesAsOfDTO getGradesAsOf(Long studentId, LocalDateTime at) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new RuntimeException("Student not found");
+        }
+        
+        Optional<GradeSnapshot> snapshot = gradeSnapshotRepository.findFirstByTakenThroughLessThanEqualOrderByTakenThroughDesc(at);
+        Map<Long, Double> grades = new TreeMap<>(snapshot
+            .map(s -> gradeSnapshotRepository.findGrades(s.getId(), studentId))
+            .orElse(Map.of()));
+        LocalDateTime takenThrough = snapshot.map(GradeSnapshot::getTakenThrough).orElse(null);
+        List<GradeLedgerEntry> changes = gradeLedgerRepository.findChanges(studentId, takenThrough, at);
+        for (GradeLedgerEntry entry : changes) {
+            if (entry.getEntryType() == GradeLedgerEntry.EntryType.ASSIGNED) {
+                grades.put(entry.getSubjectId(), entry.getGradeValue());
+            } else {
+                grades.remove(entry.getSubjectId());
+            }
+        }
+        
+        Map<Long, String> subjectNames = subjectRepository.findAllById(grades.keySet()).stream()
+            .collect(Collectors.toMap(Subject::getId, Subject::getName));
+        List<GradesAsOfDTO.Grade> rows = new ArrayList<>(grades.size());
+        grades.forEach((subjectId, gradeValue) ->
+            rows.add(new GradesAsOfDTO.Grade(subjectId, subjectNames.get(subjectId), gradeValue)));
+        return new GradesAsOfDTO(studentId, at.toString(), takenThrough != null ? takenThrough.toString() : null,
+            changes.size(), rows);
+    }
+    
+    // Newest first; subjectId is optional
+    @Transactional(readOnly = true)
+    public List<GradeLedgerEntryDTO> getHistory(Long studentId, Long subjectId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new RuntimeException("Student not found");
+        }
+        return gradeLedgerRepository.findHistory(studentId, subjectId).stream()
+            .map(GradeLedgerEntryDTO::new)
+            .collect(Collectors.toList());
+    }
+    
+    // An entry's timestamp is taken before its transaction commits, so a snapshot only covers entries older
+    // than the settle window; anything later is left to the next snapshot. Returns empty when nothing changed.
+    @Scheduled(fixedDelayString = "${grades.ledger.snapshot-interval-ms:3600000}",
+               initialDelayString = "${grades.ledger.snapshot-interval-ms:3600000}")
+    public Optional<GradeSnapshot> takeSnapshot() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime takenThrough = now.minus(Duration.ofMillis(snapshotSettleMs));
+        Optional<GradeSnapshot> previous = gradeSnapshotRepository.findFirstByOrderByTakenThroughDesc();
+        if (previous.isPresent() && !previous.get().getTakenThrough().isBefore(takenThrough)) {
+            return Optional.empty();
+        }
+        
+        LocalDateTime after = previous.map(GradeSnapshot::getTakenThrough).orElse(null);
+        int changes = gradeLedgerRepository.countChanges(after, takenThrough);
+        if (previous.isPresent() && changes == 0) {
+            return Optional.empty();
+        }
+        
+        // Both steps run as INSERT ... SELECT, so the ledger entries never pass through the heap
+        GradeSnapshot snapshot = gradeSnapshotRepository.save(new GradeSnapshot(takenThrough, now, 0));
+        int gradeCount = previous
+            .map(p -> gradeSnapshotRepository.copyUnchangedRows(snapshot.getId(), p.getId(), after, takenThrough))
+            .orElse(0);
+        gradeCount += gradeSnapshotRepository.insertLatest(snapshot.getId(), after, takenThrough);
+        snapshot.setGradeCount(gradeCount);
+        
+        pruneSnapshots();
+        logger.info("Took grade snapshot through {} with {} grades from {} ledger entries", takenThrough, gradeCount,
+            changes);
+        return Optional.of(snapshot);
+    }
+    
+    // Reads older than the oldest snapshot kept fall back to replaying the student's ledger from the start
+    private void pruneSnapshots() {
+        List<GradeSnapshot> snapshots = gradeSnapshotRepository.findAllByOrderByTakenThroughDesc();
+        if (snapshots.size() <= snapshotRetention) {
+            return;
+        }
+        List<GradeSnapshot> expired = snapshots.subList(snapshotRetention, snapshots.size());
+        gradeSnapshotRepository.deleteRows(expired.stream().map(GradeSnapshot::getId).toList());
+        gradeSnapshotRepository.deleteAllInBatch(expired);
+    }
+    
+    // Grades inserted by data.sql or by hand have no history; give each one a starting entry
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        int backfilled = gradeLedgerRepository.backfillFromGrades();
+        if (backfilled > 0) {
+            logger.info("Backfilled grade_ledger with {} existing grades", backfilled);
+        }
+    }
+}
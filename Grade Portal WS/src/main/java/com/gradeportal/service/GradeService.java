@@ -1,25 +1,64 @@
 package com.gradeportal.service;
 
+import com.gradeportal.dto.CompactGradeListDTO;
+import com.gradeportal.dto.GradeBatchEntry;
+import com.gradeportal.dto.GradeBatchResult;
+import com.gradeportal.dto.GradeDTO;
+import com.gradeportal.dto.GradePageDTO;
+import com.gradeportal.dto.GradeSummaryDTO;
+import com.gradeportal.dto.GradeUpdateResult;
 import com.gradeportal.dto.ReportCardDTO;
+import com.gradeportal.dto.ReportCardRow;
+import com.gradeportal.dto.StudentDTO;
+import com.gradeportal.dto.SubjectDTO;
 import com.gradeportal.entity.Grade;
+import com.gradeportal.entity.GradeLedgerEntry;
 import com.gradeportal.entity.Student;
-import com.gradeportal.entity.Subject;
+import com.gradeportal.entity.StudentGradeStats;
+import com.gradeportal.event.GradesChangedEvent;
+import com.gradeportal.repository.GradeForeignKeyViolations;
+import com.gradeportal.repository.GradeLedgerRepository;
 import com.gradeportal.repository.GradeRepository;
+import com.gradeportal.repository.GradeRepositoryCustom;
+import com.gradeportal.repository.GradeSqlDialect;
+import com.gradeportal.repository.StudentGradeStatsRepository;
 import com.gradeportal.repository.StudentRepository;
 import com.gradeportal.repository.SubjectRepository;
+import com.gradeportal.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Date;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class GradeService {
     
+    // Tuple columns of the compact grade list, named after the GradeDTO properties they replace
+    public static final List<String> COMPACT_COLUMNS = List.of("id", "subject", "gradeValue", "dateAssigned");
+    
     @Autowired
     private GradeRepository gradeRepository;
     
@@ -29,36 +68,186 @@ public class GradeService {
     @Autowired
     private SubjectRepository subjectRepository;
     
+    @Autowired
+    private StudentGradeStatsRepository studentGradeStatsRepository;
+    
+    @Autowired
+    private GradeLedgerRepository gradeLedgerRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private GradeSqlDialect gradeSqlDialect;
+    
+    @Value("${grades.batch.max-entries:2000}")
+    private int maxBatchEntries;
+    
+    @Value("${grades.batch.jdbc-batch-size:100}")
+    private int jdbcBatchSize;
+    
+    // One atomic upsert keeps grades at the latest value, then the change is appended to the ledger while the
+    // grades row is still locked, so a pair's entries follow the order the writes were applied; a missing
+    // subject surfaces as a foreign key violation. Nothing else is locked: the stats refresh is race-free
+    // on its own.
     public Grade assignGrade(Long studentId, Long subjectId, Double gradeValue) {
-        Optional<Student> student = studentRepository.findById(studentId);
-        Optional<Subject> subject = subjectRepository.findById(subjectId);
+        Student student = studentRepository.findById(studentId)
+            .orElseThrow(() -> new RuntimeException("Student not found"));
         
-        if (!student.isPresent()) {
-            throw new RuntimeException("Student not found");
+        LocalDate today = LocalDate.now();
+        Long gradeId = gradeRepository.upsertGrade(studentId, subjectId, gradeValue, today);
+        gradeLedgerRepository.append(List.of(GradeLedgerEntry.assigned(studentId, subjectId, gradeValue, LocalDateTime.now())));
+        studentGradeStatsRepository.refresh(List.of(studentId));
+        eventPublisher.publishEvent(new GradesChangedEvent(Set.of(studentId), Collections.singleton(student.getSection()),
+            Set.of(subjectId)));
+        
+        Grade grade = new Grade(student, subjectRepository.getReferenceById(subjectId), gradeValue, today);
+        grade.setId(gradeId);
+        return grade;
+    }
+    
+    // Resolves all references with set-based lookups, then writes every row in one JDBC batch.
+    // Plain JDBC is used because Hibernate does not batch inserts into IDENTITY tables.
+    public GradeBatchResult assignGrades(List<GradeBatchEntry> entries) {
+        if (entries == null || entries.isEmpty()) {
+            throw new RuntimeException("At least one grade entry is required");
+        }
+        if (entries.size() > maxBatchEntries) {
+            throw new RuntimeException("At most " + maxBatchEntries + " grade entries per batch");
         }
         
-        if (!subject.isPresent()) {
-            throw new RuntimeException("Subject not found");
+        GradeBatchResult result = new GradeBatchResult();
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> subjectIds = new HashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            GradeBatchEntry entry = entries.get(i);
+            GradeBatchResult.Row row = new GradeBatchResult.Row(i, entry);
+            result.add(row);
+            if (entry.getStudentId() == null || entry.getSubjectId() == null || entry.getGradeValue() == null) {
+                row.fail("Student ID, Subject ID, and Grade Value are required");
+            } else if (entry.getGradeValue() < 0 || entry.getGradeValue() > 100) {
+                row.fail("Grade must be between 0 and 100");
+            } else {
+                studentIds.add(entry.getStudentId());
+                subjectIds.add(entry.getSubjectId());
+            }
         }
         
-        // Check if grade already exists for this student and subject
-        Optional<Grade> existingGrade = gradeRepository.findByStudentAndSubject(student.get(), subject.get());
-        if (existingGrade.isPresent()) {
-            // Update existing grade
-            Grade grade = existingGrade.get();
-            grade.setGradeValue(gradeValue);
-            grade.setDateAssigned(LocalDate.now());
-            return gradeRepository.save(grade);
+        Map<Long, Student> knownStudents = studentIds.isEmpty() ? Map.of() : studentRepository.findAllById(studentIds)
+            .stream().collect(Collectors.toMap(Student::getId, student -> student));
+        Set<Long> knownSubjects = subjectIds.isEmpty() ? Set.of() : new HashSet<>(subjectRepository.findExistingIds(subjectIds));
+        
+        // The last row for a (student, subject) pair wins, like repeated single assignments would
+        Map<String, Integer> rowByPair = new LinkedHashMap<>();
+        for (GradeBatchResult.Row row : result.getRows()) {
+            if (row.getStatus() == GradeBatchResult.Status.FAILED) {
+                continue;
+            }
+            if (!knownStudents.containsKey(row.getStudentId())) {
+                row.fail("Student not found");
+            } else if (!knownSubjects.contains(row.getSubjectId())) {
+                row.fail("Subject not found");
+            } else {
+                Integer previous = rowByPair.put(pairKey(row.getStudentId(), row.getSubjectId()), row.getIndex());
+                if (previous != null) {
+                    result.getRows().get(previous).setStatus(GradeBatchResult.Status.SUPERSEDED);
+                }
+            }
+        }
+        
+        if (!rowByPair.isEmpty()) {
+            Map<String, Long> existingGrades = new HashMap<>();
+            for (Object[] grade : gradeRepository.findIdsByStudentIdsAndSubjectIds(knownStudents.keySet(), knownSubjects)) {
+                existingGrades.put(pairKey((Long) grade[1], (Long) grade[2]), (Long) grade[0]);
+            }
+            
+            List<GradeBatchResult.Row> updates = new ArrayList<>();
+            List<GradeBatchResult.Row> inserts = new ArrayList<>();
+            Set<Long> touchedStudents = new TreeSet<>();
+            Set<Long> touchedSubjects = new HashSet<>();
+            for (Map.Entry<String, Integer> pair : rowByPair.entrySet()) {
+                GradeBatchResult.Row row = result.getRows().get(pair.getValue());
+                touchedStudents.add(row.getStudentId());
+                touchedSubjects.add(row.getSubjectId());
+                Long gradeId = existingGrades.get(pair.getKey());
+                if (gradeId != null) {
+                    row.setGradeId(gradeId);
+                    row.setStatus(GradeBatchResult.Status.UPDATED);
+                    updates.add(row);
+                } else {
+                    row.setStatus(GradeBatchResult.Status.CREATED);
+                    inserts.add(row);
+                }
+            }
+            
+            writeGradeBatches(entries, updates, inserts);
+            studentGradeStatsRepository.refresh(touchedStudents);
+            eventPublisher.publishEvent(new GradesChangedEvent(touchedStudents, touchedStudents.stream()
+                .map(id -> knownStudents.get(id).getSection()).collect(Collectors.toSet()), touchedSubjects));
         }
         
-        // Create new grade
-        Grade grade = new Grade();
-        grade.setStudent(student.get());
-        grade.setSubject(subject.get());
-        grade.setGradeValue(gradeValue);
-        grade.setDateAssigned(LocalDate.now());
+        result.tally();
+        return result;
+    }
+    
+    // Every row goes through the dialect's upsert, so a concurrent single assignment cannot cause a
+    // duplicate or a constraint failure; new ids are read back with one set-based query
+    private void writeGradeBatches(List<GradeBatchEntry> entries, List<GradeBatchResult.Row> updates,
+                                   List<GradeBatchResult.Row> inserts) {
+        Date today = Date.valueOf(LocalDate.now());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        
+        // Grade rows are written in (student, subject) order so overlapping batches lock them in the same order
+        List<GradeBatchResult.Row> rows = new ArrayList<>(updates);
+        rows.addAll(inserts);
+        rows.sort(Comparator.comparing(GradeBatchResult.Row::getStudentId).thenComparing(GradeBatchResult.Row::getSubjectId));
+        try {
+            upsertBatch(entries, rows, today, now);
+        } catch (DuplicateKeyException e) {
+            // A concurrent writer inserted one of the pairs first; the upsert is idempotent, so rerun it
+            upsertBatch(entries, rows, today, now);
+        }
+        // Appended while the upserted rows are locked, as in assignGrade
+        LocalDateTime recordedAt = LocalDateTime.now();
+        gradeLedgerRepository.append(rows.stream()
+            .map(row -> GradeLedgerEntry.assigned(row.getStudentId(), row.getSubjectId(),
+                entries.get(row.getIndex()).getGradeValue(), recordedAt))
+            .toList());
         
-        return gradeRepository.save(grade);
+        if (!inserts.isEmpty()) {
+            Map<String, Long> ids = new HashMap<>();
+            Set<Long> studentIds = inserts.stream().map(GradeBatchResult.Row::getStudentId).collect(Collectors.toSet());
+            Set<Long> subjectIds = inserts.stream().map(GradeBatchResult.Row::getSubjectId).collect(Collectors.toSet());
+            for (Object[] grade : gradeRepository.findIdsByStudentIdsAndSubjectIds(studentIds, subjectIds)) {
+                ids.put(pairKey((Long) grade[1], (Long) grade[2]), (Long) grade[0]);
+            }
+            inserts.forEach(row -> row.setGradeId(ids.get(pairKey(row.getStudentId(), row.getSubjectId()))));
+        }
+    }
+    
+    private void upsertBatch(List<GradeBatchEntry> entries, List<GradeBatchResult.Row> rows, Date today,
+                             Timestamp now) {
+        try {
+            jdbcTemplate.batchUpdate(gradeSqlDialect.upsertGradeSql(), rows, jdbcBatchSize, (ps, row) -> {
+                ps.setLong(1, row.getStudentId());
+                ps.setLong(2, row.getSubjectId());
+                ps.setDouble(3, entries.get(row.getIndex()).getGradeValue());
+                ps.setDate(4, today);
+                ps.setTimestamp(5, now);
+                ps.setTimestamp(6, now);
+            });
+        } catch (DuplicateKeyException e) {
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            throw GradeForeignKeyViolations.translate(e);
+        }
+    }
+    
+    private String pairKey(Long studentId, Long subjectId) {
+        return studentId + ":" + subjectId;
     }
     
     public List<Grade> findGradesByStudentId(Long studentId) {
@@ -69,35 +258,187 @@ public class GradeService {
         return gradeRepository.findBySubjectId(subjectId);
     }
     
+    // sort is dateAssigned, gradeValue or id; cursor is the nextCursor of the previous page, or null
+    @Transactional(readOnly = true)
+    public GradePageDTO findGradePage(GradeRepositoryCustom.Scope scope, Long scopeId, String sort, boolean descending,
+                                      String cursor, int limit) {
+        GradeRepositoryCustom.SortKey sortKey = GradeRepositoryCustom.SortKey.fromProperty(sort);
+        Object afterValue = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor, sort, descending);
+            afterValue = parseSortValue(sortKey, position.getValue());
+            afterId = position.getId();
+        }
+        
+        // One extra row tells whether another page follows
+        List<Grade> grades = gradeRepository.findGradePage(scope, scopeId, sortKey, descending, afterValue, afterId,
+            limit + 1);
+        boolean hasMore = grades.size() > limit;
+        if (hasMore) {
+            grades = grades.subList(0, limit);
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            Grade last = grades.get(grades.size() - 1);
+            nextCursor = new KeysetCursor(sort, descending, sortValue(sortKey, last), last.getId()).encode();
+        }
+        return new GradePageDTO(grades.stream().map(GradeDTO::new).collect(Collectors.toList()), nextCursor);
+    }
+    
+    private String sortValue(GradeRepositoryCustom.SortKey sortKey, Grade grade) {
+        return switch (sortKey) {
+            case DATE_ASSIGNED -> grade.getDateAssigned().toString();
+            case GRADE_VALUE -> grade.getGradeValue().toString();
+            case ID -> null;
+        };
+    }
+    
+    private Object parseSortValue(GradeRepositoryCustom.SortKey sortKey, String value) {
+        try {
+            return switch (sortKey) {
+                case DATE_ASSIGNED -> LocalDate.parse(value);
+                case GRADE_VALUE -> Double.valueOf(value);
+                case ID -> null;
+            };
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+    
     public Optional<Grade> findById(Long id) {
         return gradeRepository.findById(id);
     }
     
+    // Optimistic update: a single conditional UPDATE only applies while the grade still has a version the
+    // caller has seen, so two teachers editing the same grade cannot overwrite each other. Nothing is read
+    // under a lock; the only lock taken is the one the UPDATE itself holds on the grade row.
+    // expectedVersions is null when any version will do (If-Match: *).
+    public GradeUpdateResult updateGrade(Long id, Double gradeValue, Collection<Long> expectedVersions) {
+        List<Object[]> ids = gradeRepository.findStudentAndSubjectIds(id);
+        if (ids.isEmpty()) {
+            return new GradeUpdateResult(id, GradeUpdateResult.Outcome.NOT_FOUND, null);
+        }
+        Long studentId = (Long) ids.get(0)[0];
+        Long subjectId = (Long) ids.get(0)[1];
+        String section = (String) ids.get(0)[2];
+        
+        LocalDateTime now = LocalDateTime.now();
+        int updated = expectedVersions == null ? gradeRepository.updateIfExists(id, gradeValue, now.toLocalDate(), now)
+            : expectedVersions.isEmpty() ? 0
+            : gradeRepository.updateIfVersionMatches(id, expectedVersions, gradeValue, now.toLocalDate(), now);
+        Optional<Long> version = gradeRepository.findVersionById(id);
+        if (version.isEmpty()) {
+            return new GradeUpdateResult(id, GradeUpdateResult.Outcome.NOT_FOUND, null);
+        }
+        if (updated == 0) {
+            return new GradeUpdateResult(id, GradeUpdateResult.Outcome.VERSION_MISMATCH, version.get());
+        }
+        
+        gradeLedgerRepository.append(List.of(GradeLedgerEntry.assigned(studentId, subjectId, gradeValue, now)));
+        studentGradeStatsRepository.refresh(List.of(studentId));
+        eventPublisher.publishEvent(new GradesChangedEvent(Set.of(studentId), Collections.singleton(section),
+            Set.of(subjectId)));
+        return new GradeUpdateResult(id, GradeUpdateResult.Outcome.UPDATED, version.get());
+    }
+    
+    // Deletes by id rather than through a loaded entity, so an update committed in between cannot fail it on a
+    // stale version
     public void deleteGrade(Long id) {
-        gradeRepository.deleteById(id);
+        List<Object[]> ids = gradeRepository.findStudentAndSubjectIds(id);
+        if (ids.isEmpty()) {
+            return;
+        }
+        Long studentId = (Long) ids.get(0)[0];
+        Long subjectId = (Long) ids.get(0)[1];
+        String section = (String) ids.get(0)[2];
+        
+        if (gradeRepository.deleteGradeById(id) == 0) {
+            return;
+        }
+        gradeLedgerRepository.append(List.of(GradeLedgerEntry.deleted(studentId, subjectId, LocalDateTime.now())));
+        studentGradeStatsRepository.refresh(List.of(studentId));
+        studentGradeStatsRepository.removeIfNoGrades(studentId);
+        eventPublisher.publishEvent(new GradesChangedEvent(Set.of(studentId), Collections.singleton(section),
+            Set.of(subjectId)));
     }
     
+    // One query for the student and all their grades; the summary is computed while mapping the rows
     public ReportCardDTO generateReportCard(Long studentId) {
-        Optional<Student> student = studentRepository.findById(studentId);
-        if (!student.isPresent()) {
+        List<ReportCardRow> rows = gradeRepository.findReportCardRows(studentId);
+        if (rows.isEmpty()) {
             throw new RuntimeException("Student not found");
         }
         
-        List<Grade> grades = gradeRepository.findByStudentIdOrderByDateAssignedDesc(studentId);
-        
-        List<com.gradeportal.dto.GradeDTO> gradeDTOs = grades.stream()
-            .map(com.gradeportal.dto.GradeDTO::new)
-            .collect(Collectors.toList());
+        StudentDTO studentDTO = rows.get(0).toStudentDTO();
+        List<GradeDTO> gradeDTOs = new ArrayList<>(rows.size());
+        int passedGrades = 0;
+        double gradeSum = 0;
+        for (ReportCardRow row : rows) {
+            if (row.getGradeId() == null) {
+                continue;
+            }
+            gradeDTOs.add(new GradeDTO(row.getGradeId(), studentDTO, row.toSubjectDTO(), row.getGradeValue(),
+                row.getDateAssigned() != null ? row.getDateAssigned().toString() : null));
+            gradeSum += row.getGradeValue();
+            if (row.getGradeValue() >= 60) {
+                passedGrades++;
+            }
+        }
         
-        Integer totalGrades = grades.size();
-        Integer passedGrades = Math.toIntExact(gradeRepository.countPassingGradesByStudentId(studentId));
-        Integer failedGrades = Math.toIntExact(gradeRepository.countFailingGradesByStudentId(studentId));
+        Integer totalGrades = gradeDTOs.size();
+        Integer failedGrades = totalGrades - passedGrades;
+        Double averageGrade = totalGrades > 0 ? gradeSum / totalGrades : 0.0;
         
-        Double averageGrade = gradeRepository.findAverageGradeByStudentId(studentId);
-        if (averageGrade == null) {
-            averageGrade = 0.0;
+        return new ReportCardDTO(gradeDTOs, totalGrades, passedGrades, failedGrades, 
+                               Math.round(averageGrade * 100.0) / 100.0, overallStatus(totalGrades, passedGrades));
+    }
+    
+    // Same single query as the report card; columns is a subset of COMPACT_COLUMNS, in that order
+    @Transactional(readOnly = true)
+    public CompactGradeListDTO getCompactGrades(Long studentId, List<String> columns) {
+        List<ReportCardRow> rows = gradeRepository.findReportCardRows(studentId);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Student not found");
         }
         
+        Map<Long, SubjectDTO> subjects = new LinkedHashMap<>();
+        List<Object[]> grades = new ArrayList<>(rows.size());
+        for (ReportCardRow row : rows) {
+            if (row.getGradeId() == null) {
+                continue;
+            }
+            SubjectDTO subject = subjects.computeIfAbsent(row.toSubjectDTO().getId(), id -> row.toSubjectDTO());
+            Object[] tuple = new Object[columns.size()];
+            for (int i = 0; i < tuple.length; i++) {
+                tuple[i] = switch (columns.get(i)) {
+                    case "id" -> row.getGradeId();
+                    case "subject" -> subject.getId();
+                    case "gradeValue" -> row.getGradeValue();
+                    case "dateAssigned" -> row.getDateAssigned() != null ? row.getDateAssigned().toString() : null;
+                    default -> throw new RuntimeException("Unknown column: " + columns.get(i));
+                };
+            }
+            grades.add(tuple);
+        }
+        return new CompactGradeListDTO(rows.get(0).toStudentDTO(), subjects, columns, grades);
+    }
+    
+    // Primary-key lookup on student_grade_stats instead of aggregating the student's grades
+    @Transactional(readOnly = true)
+    public GradeSummaryDTO getGradeSummary(Long studentId) {
+        Optional<StudentGradeStats> stats = studentGradeStatsRepository.findStats(studentId);
+        if (stats.isPresent()) {
+            return new GradeSummaryDTO(stats.get(), overallStatus(stats.get().getGradeCount(), stats.get().getPassedCount()));
+        }
+        if (!studentRepository.existsById(studentId)) {
+            throw new RuntimeException("Student not found");
+        }
+        return new GradeSummaryDTO(studentId);
+    }
+    
+    private String overallStatus(int totalGrades, int passedGrades) {
         String overallStatus = "N/A";
         if (totalGrades > 0) {
             double passPercentage = (double) passedGrades / totalGrades * 100;
@@ -111,8 +452,6 @@ public class GradeService {
                 overallStatus = "Poor";
             }
         }
-        
-        return new ReportCardDTO(gradeDTOs, totalGrades, passedGrades, failedGrades, 
-                               Math.round(averageGrade * 100.0) / 100.0, overallStatus);
+        return overallStatus;
     }
 }
@@ -0,0 +1,139 @@
+package com.gradeportal.service;
+
+import com.gradeportal.entity.RefreshToken;
+import com.gradeportal.entity.User;
+import com.gradeportal.event.UserChangedEvent;
+import com.gradeportal.event.UsersChangedEvent;
+import com.gradeportal.repository.RefreshTokenRepository;
+import com.gradeportal.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@Transactional
+public class RefreshTokenService {
+    
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Value("${jwt.refresh-expiration:1209600000}") // 14 days in milliseconds
+    private long refreshExpirationInMs;
+    
+    private final SecureRandom secureRandom = new SecureRandom();
+    
+    public String issue(User user) {
+        return issue(user.getId(), UUID.randomUUID().toString());
+    }
+    
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        
+        LocalDateTime expiresAt = LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationInMs));
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), userId, familyId, expiresAt));
+        return rawToken;
+    }
+    
+    // Exchanges a refresh token for its successor; returns null when the token cannot be used
+    public Rotation rotate(String rawToken) {
+        Optional<RefreshToken> stored = refreshTokenRepository.findByTokenHash(hash(rawToken));
+        if (!stored.isPresent()) {
+            return null;
+        }
+        
+        RefreshToken token = stored.get();
+        LocalDateTime now = LocalDateTime.now();
+        
+        if (token.isRevoked() || refreshTokenRepository.markRotated(token.getId(), now) == 0) {
+            // An already rotated token came back: treat the login as stolen and end it
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            return null;
+        }
+        
+        if (token.isExpired()) {
+            return null;
+        }
+        
+        Optional<User> user = userRepository.findById(token.getUserId());
+        if (!user.isPresent() || user.get().getStatus() != User.UserStatus.APPROVED) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            return null;
+        }
+        
+        return new Rotation(user.get(), issue(token.getUserId(), token.getFamilyId()));
+    }
+    
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+            .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+    
+    // Runs inside the user change transaction so a declined or deleted user cannot refresh afterwards
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getChangeType() == UserChangedEvent.ChangeType.DECLINED
+                || event.getChangeType() == UserChangedEvent.ChangeType.DELETED) {
+            refreshTokenRepository.revokeAllForUsers(List.of(event.getUserId()), LocalDateTime.now());
+        }
+    }
+    
+    @EventListener
+    public void onUsersChanged(UsersChangedEvent event) {
+        if (event.getChangeType() == UserChangedEvent.ChangeType.DECLINED
+                || event.getChangeType() == UserChangedEvent.ChangeType.DELETED) {
+            refreshTokenRepository.revokeAllForUsers(event.getUserIds(), LocalDateTime.now());
+        }
+    }
+    
+    @Scheduled(cron = "${jwt.refresh-purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+    }
+    
+    private String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    public static class Rotation {
+        private final User user;
+        private final String refreshToken;
+        
+        public Rotation(User user, String refreshToken) {
+            this.user = user;
+            this.refreshToken = refreshToken;
+        }
+        
+        public User getUser() {
+            return user;
+        }
+        
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+}
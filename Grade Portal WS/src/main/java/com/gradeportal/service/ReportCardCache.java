@@ -0,0 +1,133 @@
+package com.gradeportal.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gradeportal.dto.ReportCardDTO;
+import com.gradeportal.event.GradesChangedEvent;
+import com.gradeportal.event.StudentChangedEvent;
+import com.gradeportal.event.SubjectChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Serialized report cards keyed by student id. Each entry remembers the student's grade version it was
+// built from; versions are bumped once a change has committed, so an entry is only served while current.
+@Service
+public class ReportCardCache {
+    
+    @Autowired
+    private GradeService gradeService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${report-cards.cache.max-entries:10000}")
+    private long maxEntries;
+    
+    private Cache<Long, CachedReportCard> cache;
+    
+    private final ConcurrentHashMap<Long, Long> versions = new ConcurrentHashMap<>();
+    
+    // Bumped when a subject changes, since any report card may show its name
+    private final AtomicLong subjectGeneration = new AtomicLong();
+    
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "reportCards");
+    }
+    
+    public CachedReportCard get(Long studentId) {
+        long version = versions.getOrDefault(studentId, 0L);
+        long generation = subjectGeneration.get();
+        CachedReportCard cached = cache.getIfPresent(studentId);
+        if (cached != null && cached.version == version && cached.generation == generation) {
+            return cached;
+        }
+        
+        // Versions are read before the query, so a change committing meanwhile leaves this entry stale
+        ReportCardDTO reportCard = gradeService.generateReportCard(studentId);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(reportCard);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize report card", e);
+        }
+        CachedReportCard fresh = new CachedReportCard(version, generation, body);
+        cache.asMap().merge(studentId, fresh, (existing, computed) -> existing.isNewerThan(computed) ? existing : computed);
+        return fresh;
+    }
+    
+    public long getVersion(Long studentId) {
+        return versions.getOrDefault(studentId, 0L);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradesChanged(GradesChangedEvent event) {
+        event.getStudentIds().forEach(this::bump);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        bump(event.getStudentId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubjectChanged(SubjectChangedEvent event) {
+        // No cached report card can show a subject that did not exist yet
+        if (event.getChangeType() == SubjectChangedEvent.ChangeType.CREATED) {
+            return;
+        }
+        subjectGeneration.incrementAndGet();
+        cache.invalidateAll();
+    }
+    
+    private void bump(Long studentId) {
+        versions.merge(studentId, 1L, Long::sum);
+        cache.invalidate(studentId);
+    }
+    
+    public static final class CachedReportCard {
+        
+        private final long version;
+        private final long generation;
+        private final byte[] body;
+        private final String etag;
+        
+        CachedReportCard(long version, long generation, byte[] body) {
+            this.version = version;
+            this.generation = generation;
+            this.body = body;
+            // Strong validator: the digest of the exact bytes sent
+            this.etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        }
+        
+        boolean isNewerThan(CachedReportCard other) {
+            return generation > other.generation || (generation == other.generation && version > other.version);
+        }
+        
+        public byte[] getBody() {
+            return body;
+        }
+        
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
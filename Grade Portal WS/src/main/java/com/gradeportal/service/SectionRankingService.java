@@ -0,0 +1,193 @@
+package com.gradeportal.service;
+
+import com.gradeportal.dto.StudentRankDTO;
+import com.gradeportal.event.GradesChangedEvent;
+import com.gradeportal.repository.StudentRepository;
+import com.gradeportal.util.OrderStatisticTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory class ranking: one order-statistic tree per section, keyed by each student's average.
+// Built from grades at startup and updated per student from student_grade_stats after every grade change.
+@Service
+public class SectionRankingService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SectionRankingService.class);
+    
+    private static final String ALL_AVERAGES_SQL = "SELECT s.id, s.section, COUNT(g.id) AS grade_count, " +
+        "SUM(g.grade_value) AS grade_sum FROM students s JOIN grades g ON g.student_id = s.id GROUP BY s.id, s.section";
+    
+    private static final String STUDENT_AVERAGES_SQL = "SELECT s.id, s.section, st.grade_count, st.grade_sum " +
+        "FROM students s LEFT JOIN student_grade_stats st ON st.student_id = s.id WHERE s.id IN ";
+    
+    private static final RowMapper<Ranked> RANKED_MAPPER = (rs, rowNum) -> {
+        int gradeCount = rs.getInt("grade_count");
+        return gradeCount > 0
+            ? new Ranked(rs.getLong("id"), rs.getString("section"), rs.getDouble("grade_sum") / gradeCount, gradeCount)
+            : new Ranked(rs.getLong("id"), rs.getString("section"), 0.0, 0);
+    };
+    
+    // Best average first; equal averages are ordered by student id so every key is distinct
+    private static final Comparator<Ranked> RANK_ORDER = Comparator.comparingDouble(Ranked::getAverage).reversed()
+        .thenComparingLong(Ranked::getStudentId);
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private Map<String, OrderStatisticTree<Ranked>> sections = new HashMap<>();
+    
+    private Map<Long, Ranked> byStudent = new HashMap<>();
+    
+    // Serializes "read from the database, then apply", so a slow listener cannot apply an older state last
+    private final Object updateMutex = new Object();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (updateMutex) {
+            Map<String, OrderStatisticTree<Ranked>> newSections = new HashMap<>();
+            Map<Long, Ranked> newByStudent = new HashMap<>();
+            for (Ranked ranked : jdbcTemplate.query(ALL_AVERAGES_SQL, RANKED_MAPPER)) {
+                newSections.computeIfAbsent(ranked.section, section -> new OrderStatisticTree<>(RANK_ORDER)).add(ranked);
+                newByStudent.put(ranked.studentId, ranked);
+            }
+            lock.writeLock().lock();
+            try {
+                sections = newSections;
+                byStudent = newByStudent;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Built section rankings for {} students in {} sections", newByStudent.size(), newSections.size());
+        }
+    }
+    
+    // The changed students are re-read from student_grade_stats in one query and moved within (or between) sections
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradesChanged(GradesChangedEvent event) {
+        if (event.getStudentIds().isEmpty()) {
+            return;
+        }
+        List<Long> studentIds = new ArrayList<>(event.getStudentIds());
+        String placeholders = "(" + String.join(", ", Collections.nCopies(studentIds.size(), "?")) + ")";
+        
+        synchronized (updateMutex) {
+            Map<Long, Ranked> current = new HashMap<>();
+            for (Ranked ranked : jdbcTemplate.query(STUDENT_AVERAGES_SQL + placeholders, RANKED_MAPPER, studentIds.toArray())) {
+                current.put(ranked.studentId, ranked);
+            }
+            lock.writeLock().lock();
+            try {
+                for (Long studentId : studentIds) {
+                    Ranked previous = byStudent.remove(studentId);
+                    if (previous != null) {
+                        OrderStatisticTree<Ranked> tree = sections.get(previous.section);
+                        tree.remove(previous);
+                        if (tree.size() == 0) {
+                            sections.remove(previous.section);
+                        }
+                    }
+                    Ranked ranked = current.get(studentId);
+                    if (ranked != null && ranked.gradeCount > 0) {
+                        sections.computeIfAbsent(ranked.section, section -> new OrderStatisticTree<>(RANK_ORDER)).add(ranked);
+                        byStudent.put(studentId, ranked);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+    
+    public StudentRankDTO getRank(Long studentId) {
+        lock.readLock().lock();
+        try {
+            Ranked ranked = byStudent.get(studentId);
+            if (ranked != null) {
+                OrderStatisticTree<Ranked> tree = sections.get(ranked.section);
+                return toDTO(ranked, rankOf(tree, ranked), tree.size());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!studentRepository.existsById(studentId)) {
+            throw new RuntimeException("Student not found");
+        }
+        throw new RuntimeException("Student has no grades to rank");
+    }
+    
+    public List<StudentRankDTO> getTop(String section, int n) {
+        lock.readLock().lock();
+        try {
+            OrderStatisticTree<Ranked> tree = sections.get(section);
+            if (tree == null) {
+                return Collections.emptyList();
+            }
+            List<StudentRankDTO> top = new ArrayList<>(Math.min(n, tree.size()));
+            Ranked previous = null;
+            int rank = 0;
+            for (Ranked ranked : tree.first(n)) {
+                if (previous == null || ranked.average != previous.average) {
+                    rank = top.size() + 1;
+                }
+                top.add(toDTO(ranked, rank, tree.size()));
+                previous = ranked;
+            }
+            return top;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // One more than the number of students with a strictly better average
+    private int rankOf(OrderStatisticTree<Ranked> tree, Ranked ranked) {
+        return tree.countBefore(new Ranked(Long.MIN_VALUE, ranked.section, ranked.average, 0)) + 1;
+    }
+    
+    private StudentRankDTO toDTO(Ranked ranked, int rank, int sectionSize) {
+        return new StudentRankDTO(ranked.studentId, ranked.section, ranked.average, ranked.gradeCount, rank, sectionSize);
+    }
+    
+    private static final class Ranked {
+        
+        private final long studentId;
+        private final String section;
+        private final double average;
+        private final int gradeCount;
+        
+        // Averages are ranked as published, to two decimals, so students shown with the same average tie
+        Ranked(long studentId, String section, double average, int gradeCount) {
+            this.studentId = studentId;
+            this.section = section;
+            this.average = Math.round(average * 100.0) / 100.0;
+            this.gradeCount = gradeCount;
+        }
+        
+        long getStudentId() {
+            return studentId;
+        }
+        
+        double getAverage() {
+            return average;
+        }
+    }
+}
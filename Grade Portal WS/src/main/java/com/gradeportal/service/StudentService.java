@@ -2,14 +2,20 @@ package com.gradeportal.service;
 
 import com.gradeportal.entity.Student;
 import com.gradeportal.entity.User;
+import com.gradeportal.event.GradesChangedEvent;
+import com.gradeportal.event.StudentChangedEvent;
 import com.gradeportal.repository.StudentRepository;
 import com.gradeportal.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,6 +28,9 @@ public class StudentService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     public Student createStudent(String name, String section, Long userId) {
         // Check if student with same name and section already exists
         if (studentRepository.existsByNameAndSection(name, section)) {
@@ -37,7 +46,9 @@ public class StudentService {
             user.ifPresent(student::setUser);
         }
         
-        return studentRepository.save(student);
+        Student saved = studentRepository.save(student);
+        eventPublisher.publishEvent(new StudentChangedEvent(saved.getId(), StudentChangedEvent.ChangeType.CREATED));
+        return saved;
     }
     
     public List<Student> findAllStudents() {
@@ -64,21 +75,34 @@ public class StudentService {
         return studentRepository.findByUserId(userId);
     }
     
+    public Optional<Student> findByUsername(String username) {
+        return studentRepository.findByUsername(username);
+    }
+    
     public List<Student> findAllApprovedStudents() {
         return studentRepository.findApprovedStudents();
     }
     
     public void deleteStudent(Long id) {
         studentRepository.deleteById(id);
+        eventPublisher.publishEvent(new StudentChangedEvent(id, StudentChangedEvent.ChangeType.DELETED));
     }
     
     public Student updateStudent(Long id, String name, String section) {
         Optional<Student> studentOpt = studentRepository.findById(id);
         if (studentOpt.isPresent()) {
             Student student = studentOpt.get();
+            String previousSection = student.getSection();
             student.setName(name);
             student.setSection(section);
-            return studentRepository.save(student);
+            Student saved = studentRepository.save(student);
+            // The student's grades now count towards another section
+            if (!Objects.equals(previousSection, section)) {
+                eventPublisher.publishEvent(new GradesChangedEvent(Set.of(id), Arrays.asList(previousSection, section),
+                    Set.of()));
+            }
+            eventPublisher.publishEvent(new StudentChangedEvent(id, StudentChangedEvent.ChangeType.UPDATED));
+            return saved;
         }
         throw new RuntimeException("Student not found");
     }
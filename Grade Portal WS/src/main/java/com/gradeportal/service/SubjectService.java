@@ -1,8 +1,10 @@
 package com.gradeportal.service;
 
 import com.gradeportal.entity.Subject;
+import com.gradeportal.event.SubjectChangedEvent;
 import com.gradeportal.repository.SubjectRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,9 @@ public class SubjectService {
     @Autowired
     private SubjectRepository subjectRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     public Subject createSubject(String name, String description) {
         if (subjectRepository.existsByName(name)) {
             throw new RuntimeException("Subject with this name already exists");
@@ -25,7 +30,9 @@ public class SubjectService {
         subject.setName(name);
         subject.setDescription(description);
         
-        return subjectRepository.save(subject);
+        Subject saved = subjectRepository.save(subject);
+        eventPublisher.publishEvent(new SubjectChangedEvent(saved.getId(), SubjectChangedEvent.ChangeType.CREATED));
+        return saved;
     }
     
     public List<Subject> findAllSubjects() {
@@ -46,6 +53,7 @@ public class SubjectService {
     
     public void deleteSubject(Long id) {
         subjectRepository.deleteById(id);
+        eventPublisher.publishEvent(new SubjectChangedEvent(id, SubjectChangedEvent.ChangeType.DELETED));
     }
     
     public Subject updateSubject(Long id, String name, String description) {
@@ -54,7 +62,9 @@ public class SubjectService {
             Subject subject = subjectOpt.get();
             subject.setName(name);
             subject.setDescription(description);
-            return subjectRepository.save(subject);
+            Subject saved = subjectRepository.save(subject);
+            eventPublisher.publishEvent(new SubjectChangedEvent(id, SubjectChangedEvent.ChangeType.UPDATED));
+            return saved;
         }
         throw new RuntimeException("Subject not found");
     }
@@ -1,14 +1,33 @@
 package com.gradeportal.service;
 
+import com.gradeportal.config.CustomUserDetailsService.UserPrincipal;
+import com.gradeportal.config.UserSecurityVersions;
+import com.gradeportal.dto.BulkUserRequest;
+import com.gradeportal.dto.BulkUserResult;
 import com.gradeportal.entity.User;
+import com.gradeportal.event.UserChangedEvent;
+import com.gradeportal.event.UsersChangedEvent;
+import com.gradeportal.repository.StudentRepository;
 import com.gradeportal.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -17,19 +36,79 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private StudentRepository studentRepository;
+    
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private UserSecurityVersions userSecurityVersions;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    // Compared against when the username is unknown so failed lookups cost the same as bad passwords
+    private volatile String userNotFoundPassword;
+    
     public User authenticateUser(String username, String password) {
         Optional<User> user = userRepository.findByUsername(username);
         
         if (user.isPresent() && passwordEncoder.matches(password, user.get().getPassword())) {
+            upgradePasswordIfNeeded(user.get(), password);
             return user.get();
         }
         
         return null;
     }
     
+    // Verifies the password exactly once and returns the user together with an authenticated principal.
+    // BCrypt runs outside any transaction; the lookup and the rehash each use a short one of their own.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuthenticatedUser login(String username, String password) {
+        Optional<User> userOpt = userRepository.findByUsername(username);
+        
+        if (!userOpt.isPresent()) {
+            passwordEncoder.matches(password, getUserNotFoundPassword());
+            return null;
+        }
+        
+        User user = userOpt.get();
+        if (!passwordEncoder.matches(password, user.getPassword())) {
+            return null;
+        }
+        
+        if (user.getStatus() != User.UserStatus.APPROVED) {
+            return null;
+        }
+        
+        upgradePasswordIfNeeded(user, password);
+        
+        UserPrincipal principal = UserPrincipal.create(user);
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+            principal, null, principal.getAuthorities());
+        return new AuthenticatedUser(user, authentication);
+    }
+    
+    // Rehashes with the current encoder settings while the raw password is at hand. Only the hash that was
+    // just verified is replaced, so a password changed in the meantime is kept.
+    private void upgradePasswordIfNeeded(User user, String password) {
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            String upgraded = passwordEncoder.encode(password);
+            if (userRepository.updatePasswordIfUnchanged(user.getId(), user.getPassword(), upgraded, LocalDateTime.now()) > 0) {
+                user.setPassword(upgraded);
+                publishChange(user, UserChangedEvent.ChangeType.PASSWORD_CHANGED);
+            }
+        }
+    }
+    
+    private String getUserNotFoundPassword() {
+        if (userNotFoundPassword == null) {
+            userNotFoundPassword = passwordEncoder.encode("userNotFoundPassword");
+        }
+        return userNotFoundPassword;
+    }
+    
     public User signupUser(String username, String password, String firstName, String lastName, User.UserRole role) {
         if (userRepository.existsByUsername(username)) {
             throw new RuntimeException("Username already exists");
@@ -43,7 +122,9 @@ public class UserService {
         user.setRole(role);
         user.setStatus(User.UserStatus.PENDING);
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        publishChange(saved, UserChangedEvent.ChangeType.CREATED);
+        return saved;
     }
     
     public Optional<User> findById(Long id) {
@@ -67,7 +148,10 @@ public class UserService {
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             user.setStatus(User.UserStatus.APPROVED);
+            user.setSecurityVersion(user.getSecurityVersion() + 1);
             userRepository.save(user);
+            userSecurityVersions.revoke(userId);
+            publishChange(user, UserChangedEvent.ChangeType.APPROVED);
         }
     }
     
@@ -76,12 +160,20 @@ public class UserService {
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             user.setStatus(User.UserStatus.DECLINED);
+            user.setSecurityVersion(user.getSecurityVersion() + 1);
             userRepository.save(user);
+            userSecurityVersions.revoke(userId);
+            publishChange(user, UserChangedEvent.ChangeType.DECLINED);
         }
     }
     
     public void deleteUser(Long userId) {
-        userRepository.deleteById(userId);
+        Optional<User> userOpt = userRepository.findById(userId);
+        if (userOpt.isPresent()) {
+            userRepository.delete(userOpt.get());
+            publishChange(userOpt.get(), UserChangedEvent.ChangeType.DELETED);
+        }
+        userSecurityVersions.revoke(userId);
     }
     
     public void assignTeacher(Long teacherId, String className) {
@@ -90,9 +182,128 @@ public class UserService {
             User teacher = teacherOpt.get();
             teacher.setAssignedClass(className);
             userRepository.save(teacher);
+            eventPublisher.publishEvent(new UserChangedEvent(teacher.getId(), teacher.getUsername(),
+                UserChangedEvent.ChangeType.ASSIGNED, "class=" + className));
         }
     }
     
+    public BulkUserResult approveUsers(BulkUserRequest request) {
+        return changeStatus(request, User.UserStatus.APPROVED, UserChangedEvent.ChangeType.APPROVED,
+            BulkUserResult.Outcome.APPROVED);
+    }
+    
+    public BulkUserResult declineUsers(BulkUserRequest request) {
+        return changeStatus(request, User.UserStatus.DECLINED, UserChangedEvent.ChangeType.DECLINED,
+            BulkUserResult.Outcome.DECLINED);
+    }
+    
+    private BulkUserResult changeStatus(BulkUserRequest request, User.UserStatus status,
+                                        UserChangedEvent.ChangeType changeType, BulkUserResult.Outcome outcome) {
+        BulkUserResult result = new BulkUserResult();
+        List<User> changed = new ArrayList<>();
+        
+        for (User user : lockTargets(request, result)) {
+            if (user.getStatus() == status) {
+                result.put(user.getId(), BulkUserResult.Outcome.UNCHANGED);
+            } else {
+                result.put(user.getId(), outcome);
+                changed.add(user);
+            }
+        }
+        
+        if (!changed.isEmpty()) {
+            List<Long> ids = ids(changed);
+            result.setAffected(userRepository.updateStatusByIdIn(ids, status, LocalDateTime.now()));
+            userSecurityVersions.revokeAll(ids);
+            publishChanges(changed, changeType, null);
+        }
+        return result;
+    }
+    
+    // Users still linked to a student record are skipped rather than failing the whole batch
+    public BulkUserResult deleteUsers(BulkUserRequest request) {
+        BulkUserResult result = new BulkUserResult();
+        List<User> users = lockTargets(request, result);
+        
+        Set<Long> linked = users.isEmpty() ? Set.of()
+            : new HashSet<>(studentRepository.findUserIdsLinkedToStudents(ids(users)));
+        List<User> deleted = new ArrayList<>();
+        for (User user : users) {
+            if (linked.contains(user.getId())) {
+                result.put(user.getId(), BulkUserResult.Outcome.HAS_STUDENT_RECORD);
+            } else {
+                result.put(user.getId(), BulkUserResult.Outcome.DELETED);
+                deleted.add(user);
+            }
+        }
+        
+        if (!deleted.isEmpty()) {
+            List<Long> ids = ids(deleted);
+            result.setAffected(userRepository.deleteByIdIn(ids));
+            userSecurityVersions.revokeAll(ids);
+            publishChanges(deleted, UserChangedEvent.ChangeType.DELETED, null);
+        }
+        return result;
+    }
+    
+    public BulkUserResult assignTeachers(BulkUserRequest request) {
+        if (request.getClassName() == null || request.getClassName().trim().isEmpty()) {
+            throw new RuntimeException("Class name is required");
+        }
+        
+        BulkUserResult result = new BulkUserResult();
+        List<User> teachers = new ArrayList<>();
+        for (User user : lockTargets(request, result)) {
+            if (user.getRole() == User.UserRole.TEACHER) {
+                result.put(user.getId(), BulkUserResult.Outcome.ASSIGNED);
+                teachers.add(user);
+            } else {
+                result.put(user.getId(), BulkUserResult.Outcome.NOT_A_TEACHER);
+            }
+        }
+        
+        if (!teachers.isEmpty()) {
+            result.setAffected(userRepository.assignClassByIdIn(ids(teachers), request.getClassName(), LocalDateTime.now()));
+            publishChanges(teachers, UserChangedEvent.ChangeType.ASSIGNED, "class=" + request.getClassName());
+        }
+        return result;
+    }
+    
+    // Locks the targeted rows in one query. Every requested id starts out NOT_FOUND, which also keeps
+    // the outcomes in request order once the found users are overwritten with their real outcome.
+    private List<User> lockTargets(BulkUserRequest request, BulkUserResult result) {
+        if (request.hasIds()) {
+            Set<Long> requested = new LinkedHashSet<>(request.getIds());
+            requested.forEach(id -> result.put(id, BulkUserResult.Outcome.NOT_FOUND));
+            Map<Long, User> found = userRepository.findAllByIdInForUpdate(requested).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+            List<User> users = new ArrayList<>();
+            for (Long id : requested) {
+                if (found.containsKey(id)) {
+                    users.add(found.get(id));
+                }
+            }
+            return users;
+        }
+        if (request.getStatus() != null) {
+            return userRepository.findAllByStatusAndRoleForUpdate(request.getStatus(), request.getRole());
+        }
+        throw new RuntimeException("Either ids or status is required");
+    }
+    
+    private List<Long> ids(List<User> users) {
+        return users.stream().map(User::getId).collect(Collectors.toList());
+    }
+    
+    private void publishChanges(List<User> users, UserChangedEvent.ChangeType changeType, String detail) {
+        List<String> usernames = users.stream().map(User::getUsername).collect(Collectors.toList());
+        eventPublisher.publishEvent(new UsersChangedEvent(ids(users), usernames, changeType, detail));
+    }
+    
+    private void publishChange(User user, UserChangedEvent.ChangeType changeType) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername(), changeType));
+    }
+    
     public Optional<User> findCurrentUser(String username) {
         return userRepository.findByUsername(username);
     }
@@ -100,4 +311,22 @@ public class UserService {
     public List<User> findAllApprovedStudents() {
         return userRepository.findApprovedStudents();
     }
+    
+    public static class AuthenticatedUser {
+        private final User user;
+        private final Authentication authentication;
+        
+        public AuthenticatedUser(User user, Authentication authentication) {
+            this.user = user;
+            this.authentication = authentication;
+        }
+        
+        public User getUser() {
+            return user;
+        }
+        
+        public Authentication getAuthentication() {
+            return authentication;
+        }
+    }
 }
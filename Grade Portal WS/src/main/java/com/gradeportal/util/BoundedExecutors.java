@@ -0,0 +1,48 @@
+package com.gradeportal.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fixed pools of daemon threads named <name>-<n> over a bounded queue. A full queue throws
+// RejectedExecutionException to the caller instead of piling up work. Each pool reports
+// <metricPrefix>.queue.depth, <metricPrefix>.active and <metricPrefix>.rejected; callers that also reject
+// work themselves can count it on the same counter through meterRegistry.counter(metricPrefix + ".rejected").
+public final class BoundedExecutors {
+
+    private BoundedExecutors() {
+    }
+
+    public static ThreadPoolExecutor create(String name, int threads, int queueCapacity, MeterRegistry meterRegistry,
+                                            String metricPrefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        Counter rejectedCounter = Counter.builder(metricPrefix + ".rejected")
+                .description("Tasks turned away because the " + name + " queue was full")
+                .register(meterRegistry);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, (runnable, pool) -> {
+                    if (pool.isShutdown()) {
+                        throw new RejectedExecutionException("The " + name + " pool is shut down");
+                    }
+                    rejectedCounter.increment();
+                    throw new RejectedExecutionException("The " + name + " queue is full");
+                });
+
+        Gauge.builder(metricPrefix + ".queue.depth", executor, e -> e.getQueue().size())
+                .description("Tasks waiting for a " + name + " thread")
+                .register(meterRegistry);
+        Gauge.builder(metricPrefix + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        return executor;
+    }
+}
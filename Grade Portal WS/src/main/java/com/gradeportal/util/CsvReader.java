@@ -0,0 +1,106 @@
+package com.gradeportal.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streaming RFC 4180 reader: quoted fields may hold commas, doubled quotes and line breaks. Only the current
+// record is kept in memory, and a single field may not exceed MAX_FIELD_LENGTH characters.
+public class CsvReader implements Closeable {
+    
+    public static final int MAX_FIELD_LENGTH = 4096;
+    
+    private static final int NONE = -2;
+    
+    private final Reader reader;
+    
+    private int pushedBack = NONE;
+    
+    private int lineNumber = 1;
+    
+    private int recordLineNumber;
+    
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+    
+    // Returns null at end of input
+    public List<String> readRecord() throws IOException {
+        int startLine = lineNumber;
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLineNumber = startLine;
+        
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLineNumber);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                append(field, c);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c == '\r') {
+                int next = read();
+                if (next != '\n') {
+                    pushedBack = next;
+                }
+                break;
+            } else {
+                append(field, c);
+            }
+            c = read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    // Line on which the record last returned by readRecord() started
+    public int getRecordLineNumber() {
+        return recordLineNumber;
+    }
+    
+    private void append(StringBuilder field, int c) throws IOException {
+        if (field.length() >= MAX_FIELD_LENGTH) {
+            throw new IOException("Field longer than " + MAX_FIELD_LENGTH + " characters on line " + recordLineNumber);
+        }
+        field.append((char) c);
+    }
+    
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        int c = reader.read();
+        if (c == '\n') {
+            lineNumber++;
+        }
+        return c;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
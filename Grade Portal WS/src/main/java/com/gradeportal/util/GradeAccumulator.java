@@ -0,0 +1,121 @@
+package com.gradeportal.util;
+
+// Single-pass, mergeable statistics for grades in [0, 100]. Mean and variance use Welford's update and
+// Chan's pairwise merge; a histogram at 0.01 resolution gives exact medians and percentiles for grades
+// recorded to two decimals, so partial results computed on different threads combine without a second pass.
+public class GradeAccumulator {
+    
+    public static final double PASSING_GRADE = 60.0;
+    
+    private static final int SCALE = 100;
+    private static final int BINS = 100 * SCALE + 1;
+    
+    private final int[] bins = new int[BINS];
+    private long count;
+    private long passed;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    
+    public void add(double grade) {
+        count++;
+        double delta = grade - mean;
+        mean += delta / count;
+        m2 += delta * (grade - mean);
+        min = Math.min(min, grade);
+        max = Math.max(max, grade);
+        if (grade >= PASSING_GRADE) {
+            passed++;
+        }
+        bins[bin(grade)]++;
+    }
+    
+    // Folds other into this accumulator and returns this
+    public GradeAccumulator merge(GradeAccumulator other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            mean = other.mean;
+            m2 = other.m2;
+        } else {
+            long total = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / total;
+            m2 += other.m2 + delta * delta * count * other.count / total;
+        }
+        count += other.count;
+        passed += other.passed;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        for (int i = 0; i < BINS; i++) {
+            bins[i] += other.bins[i];
+        }
+        return this;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public long getPassed() {
+        return passed;
+    }
+    
+    public double getMean() {
+        return count > 0 ? mean : 0.0;
+    }
+    
+    // Population standard deviation: the class is the whole population, not a sample of it
+    public double getStandardDeviation() {
+        return count > 0 ? Math.sqrt(m2 / count) : 0.0;
+    }
+    
+    public double getMin() {
+        return count > 0 ? min : 0.0;
+    }
+    
+    public double getMax() {
+        return count > 0 ? max : 0.0;
+    }
+    
+    // Linear interpolation between the two closest ranks, as in most spreadsheet PERCENTILE functions
+    public double percentile(double fraction) {
+        if (count == 0) {
+            return 0.0;
+        }
+        double rank = fraction * (count - 1);
+        long lower = (long) Math.floor(rank);
+        double lowerValue = valueAt(lower);
+        double upperValue = rank > lower ? valueAt(lower + 1) : lowerValue;
+        return lowerValue + (upperValue - lowerValue) * (rank - lower);
+    }
+    
+    // Counts per equal-width range over [0, 100]; the top range also holds 100
+    public int[] histogram(int ranges) {
+        int[] histogram = new int[ranges];
+        for (int i = 0; i < BINS; i++) {
+            if (bins[i] > 0) {
+                histogram[Math.min(ranges - 1, (int) ((long) i * ranges / (BINS - 1)))] += bins[i];
+            }
+        }
+        return histogram;
+    }
+    
+    // The value of the rank-th smallest grade (0-based)
+    private double valueAt(long rank) {
+        long seen = 0;
+        for (int i = 0; i < BINS; i++) {
+            seen += bins[i];
+            if (seen > rank) {
+                return (double) i / SCALE;
+            }
+        }
+        return max;
+    }
+    
+    private static int bin(double grade) {
+        return (int) Math.max(0, Math.min(BINS - 1, Math.round(grade * SCALE)));
+    }
+}
@@ -0,0 +1,61 @@
+package com.gradeportal.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque position in a keyset-paginated listing: the sort key and direction it was issued for, plus the sort
+// value and id of the last row returned. Clients pass it back unchanged to get the rows after that one.
+public final class KeysetCursor {
+    
+    private static final String VERSION = "v1";
+    private static final char SEPARATOR = '|';
+    
+    private final String sort;
+    private final boolean descending;
+    private final String value;
+    private final long id;
+    
+    public KeysetCursor(String sort, boolean descending, String value, long id) {
+        this.sort = sort;
+        this.descending = descending;
+        this.value = value;
+        this.id = id;
+    }
+    
+    public String encode() {
+        String raw = VERSION + SEPARATOR + sort + SEPARATOR + (descending ? "desc" : "asc") + SEPARATOR + id
+            + SEPARATOR + (value != null ? value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // Rejects cursors that are malformed or were issued for a different sort order
+    public static KeysetCursor decode(String cursor, String expectedSort, boolean expectedDescending) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0]) || !parts[1].equals(expectedSort)
+                    || !parts[2].equals(expectedDescending ? "desc" : "asc")) {
+                throw new IllegalArgumentException();
+            }
+            return new KeysetCursor(parts[1], expectedDescending, parts[4], Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+    
+    public String getSort() {
+        return sort;
+    }
+    
+    public boolean isDescending() {
+        return descending;
+    }
+    
+    public String getValue() {
+        return value;
+    }
+    
+    public long getId() {
+        return id;
+    }
+}
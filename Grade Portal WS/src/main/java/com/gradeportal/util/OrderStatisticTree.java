@@ -0,0 +1,180 @@
+package com.gradeportal.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Treap whose nodes also count their subtree, so besides add and remove it answers "how many keys sort
+// before this one" and "which key is at position i" in expected O(log n). Not thread-safe.
+public class OrderStatisticTree<K> {
+    
+    private final Comparator<? super K> comparator;
+    private final SplittableRandom random = new SplittableRandom();
+    private Node<K> root;
+    
+    public OrderStatisticTree(Comparator<? super K> comparator) {
+        this.comparator = comparator;
+    }
+    
+    public int size() {
+        return size(root);
+    }
+    
+    // Returns false when an equal key is already present
+    public boolean add(K key) {
+        if (contains(key)) {
+            return false;
+        }
+        Node<K>[] parts = split(root, key);
+        root = merge(merge(parts[0], new Node<>(key, random.nextInt())), parts[1]);
+        return true;
+    }
+    
+    public boolean remove(K key) {
+        int before = size();
+        root = remove(root, key);
+        return size() < before;
+    }
+    
+    public boolean contains(K key) {
+        Node<K> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(key, node.key);
+            if (cmp == 0) {
+                return true;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+    
+    // Number of keys that sort strictly before key; key itself need not be present
+    public int countBefore(K key) {
+        int count = 0;
+        Node<K> node = root;
+        while (node != null) {
+            if (comparator.compare(key, node.key) <= 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+    
+    // The key at a 0-based position in sort order
+    public K get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range for size " + size());
+        }
+        Node<K> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.key;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+    
+    // The first n keys in sort order
+    public List<K> first(int n) {
+        List<K> keys = new ArrayList<>(Math.min(n, size()));
+        Deque<Node<K>> path = new ArrayDeque<>();
+        Node<K> node = root;
+        while (keys.size() < n && (node != null || !path.isEmpty())) {
+            while (node != null) {
+                path.push(node);
+                node = node.left;
+            }
+            node = path.pop();
+            keys.add(node.key);
+            node = node.right;
+        }
+        return keys;
+    }
+    
+    // Splits into keys before key and keys from key on
+    private Node<K>[] split(Node<K> node, K key) {
+        @SuppressWarnings("unchecked")
+        Node<K>[] parts = new Node[2];
+        if (node == null) {
+            return parts;
+        }
+        if (comparator.compare(node.key, key) < 0) {
+            Node<K>[] right = split(node.right, key);
+            node.right = right[0];
+            parts[0] = node.update();
+            parts[1] = right[1];
+        } else {
+            Node<K>[] left = split(node.left, key);
+            node.left = left[1];
+            parts[0] = left[0];
+            parts[1] = node.update();
+        }
+        return parts;
+    }
+    
+    // Every key in left must sort before every key in right
+    private Node<K> merge(Node<K> left, Node<K> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        }
+        right.left = merge(left, right.left);
+        return right.update();
+    }
+    
+    private Node<K> remove(Node<K> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = comparator.compare(key, node.key);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, key);
+        } else {
+            node.right = remove(node.right, key);
+        }
+        return node.update();
+    }
+    
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+    
+    private static final class Node<K> {
+        
+        private final K key;
+        private final int priority;
+        private int size = 1;
+        private Node<K> left;
+        private Node<K> right;
+        
+        Node(K key, int priority) {
+            this.key = key;
+            this.priority = priority;
+        }
+        
+        Node<K> update() {
+            size = 1 + size(left) + size(right);
+            return this;
+        }
+    }
+}
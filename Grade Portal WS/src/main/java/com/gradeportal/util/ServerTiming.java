@@ -0,0 +1,34 @@
+package com.gradeportal.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Collects per-section durations for a Server-Timing response header. Sections may be recorded from
+// any thread; the header lists them in the order they finished, followed by the total.
+public class ServerTiming {
+    
+    public static final String HEADER = "Server-Timing";
+    
+    private final long startedAt = System.nanoTime();
+    
+    private final Map<String, Long> durations = new LinkedHashMap<>();
+    
+    public synchronized void record(String name, long nanos) {
+        durations.merge(name, nanos, Long::sum);
+    }
+    
+    public synchronized String toHeaderValue() {
+        List<String> metrics = new ArrayList<>();
+        durations.forEach((name, nanos) -> metrics.add(metric(name, nanos)));
+        metrics.add(metric("total", System.nanoTime() - startedAt));
+        return String.join(", ", metrics);
+    }
+    
+    private static String metric(String name, long nanos) {
+        return String.format(Locale.ROOT, "%s;dur=%.1f", name, nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
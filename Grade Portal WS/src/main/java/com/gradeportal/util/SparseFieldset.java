@@ -0,0 +1,96 @@
+package com.gradeportal.util;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.gradeportal.dto.GradeDTO;
+import com.gradeportal.dto.StudentDTO;
+import com.gradeportal.dto.SubjectDTO;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// A `fields=` parameter such as "id,gradeValue,subject.name". Each DTO type has its own Jackson filter id,
+// so a dotted path trims the nested object while a bare name keeps it whole. Types the parameter does not
+// mention are serialized in full.
+public final class SparseFieldset {
+    
+    public static final String GRADE = "grade";
+    public static final String STUDENT = "student";
+    public static final String SUBJECT = "subject";
+    
+    private static final Map<String, Set<String>> PROPERTIES = Map.of(
+        GRADE, propertiesOf(GradeDTO.class),
+        STUDENT, propertiesOf(StudentDTO.class),
+        SUBJECT, propertiesOf(SubjectDTO.class));
+    
+    // Nested object properties and the filter of the type they hold
+    private static final Map<String, String> NESTED = Map.of("student", STUDENT, "subject", SUBJECT);
+    
+    // Serializes everything; registered on the application ObjectMapper
+    public static final SimpleFilterProvider ALL_FIELDS = new SimpleFilterProvider().setFailOnUnknownId(false);
+    
+    private final Map<String, Set<String>> kept;
+    
+    private SparseFieldset(Map<String, Set<String>> kept) {
+        this.kept = kept;
+    }
+    
+    // A null or blank parameter selects every field; unknown names are rejected
+    public static SparseFieldset parse(String fields, String rootType) {
+        Map<String, Set<String>> kept = new HashMap<>();
+        if (fields == null || fields.isBlank()) {
+            return new SparseFieldset(kept);
+        }
+        for (String field : fields.split(",")) {
+            String path = field.trim();
+            if (path.isEmpty()) {
+                continue;
+            }
+            int dot = path.indexOf('.');
+            String name = dot < 0 ? path : path.substring(0, dot);
+            keep(kept, rootType, name, path);
+            if (dot >= 0) {
+                String nestedType = NESTED.get(name);
+                if (nestedType == null) {
+                    throw new RuntimeException("Unknown field: " + path);
+                }
+                keep(kept, nestedType, path.substring(dot + 1), path);
+            }
+        }
+        return new SparseFieldset(kept);
+    }
+    
+    private static void keep(Map<String, Set<String>> kept, String type, String name, String path) {
+        if (!PROPERTIES.get(type).contains(name)) {
+            throw new RuntimeException("Unknown field: " + path);
+        }
+        kept.computeIfAbsent(type, t -> new LinkedHashSet<>()).add(name);
+    }
+    
+    public boolean includes(String type, String name) {
+        Set<String> names = kept.get(type);
+        return names == null || names.contains(name);
+    }
+    
+    public MappingJacksonValue wrap(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        SimpleFilterProvider filters = new SimpleFilterProvider().setFailOnUnknownId(false);
+        kept.forEach((type, names) -> filters.addFilter(type, SimpleBeanPropertyFilter.filterOutAllExcept(names)));
+        value.setFilters(filters);
+        return value;
+    }
+    
+    private static Set<String> propertiesOf(Class<?> type) {
+        return Arrays.stream(type.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .map(Field::getName)
+            .collect(Collectors.toUnmodifiableSet());
+    }
+}
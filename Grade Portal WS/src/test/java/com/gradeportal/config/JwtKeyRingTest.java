@@ -0,0 +1,123 @@
+package com.gradeportal.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    private static final long HOUR = 3600000L;
+
+    private static final Instant K2_ACTIVE_FROM = Instant.parse("2026-04-01T00:00:00Z");
+
+    private JwtKeyRing keyRing;
+
+    private MockEnvironment environment;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment()
+            .withProperty("jwt.keys.k1.secret", "first-secret-0123456789012345678901234")
+            .withProperty("jwt.keys.k1.active-from", "2026-01-01T00:00:00Z")
+            .withProperty("jwt.keys.k2.secret", "second-secret-012345678901234567890123")
+            .withProperty("jwt.keys.k2.active-from", K2_ACTIVE_FROM.toString());
+        keyRing = newKeyRing(environment);
+    }
+
+    private JwtKeyRing newKeyRing(MockEnvironment environment) {
+        JwtKeyRing ring = new JwtKeyRing();
+        ReflectionTestUtils.setField(ring, "environment", environment);
+        ReflectionTestUtils.setField(ring, "jwtSecret", "mySecretKey123456789012345678901234567890");
+        ReflectionTestUtils.setField(ring, "graceMs", HOUR);
+        ReflectionTestUtils.setField(ring, "jwtExpirationInMs", 900000L);
+        return ring;
+    }
+
+    private void startAt(JwtKeyRing ring, long epochMillis) {
+        ReflectionTestUtils.setField(ring, "clock", Clock.fixed(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC));
+        ReflectionTestUtils.invokeMethod(ring, "init");
+    }
+
+    private void rotateAt(long epochMillis) {
+        ReflectionTestUtils.setField(keyRing, "clock", Clock.fixed(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC));
+        keyRing.rotate();
+    }
+
+    @Test
+    void rotate_NextKeyActivates_SignsWithItAndKeepsPreviousForVerification() {
+        // Arrange
+        startAt(keyRing, K2_ACTIVE_FROM.toEpochMilli() - HOUR);
+        JwtKeyRing.SigningKey previous = keyRing.getCurrentKey();
+
+        // Act
+        rotateAt(K2_ACTIVE_FROM.toEpochMilli() + 10);
+
+        // Assert
+        assertEquals("k1", previous.getKeyId());
+        assertEquals("k2", keyRing.getCurrentKey().getKeyId());
+        assertSame(previous.getKey(), keyRing.getVerificationKey("k1"));
+        assertSame(keyRing.getCurrentKey().getKey(), keyRing.getVerificationKey("k2"));
+    }
+
+    @Test
+    void rotate_AfterGraceWindow_DropsSupersededKey() {
+        // Arrange
+        startAt(keyRing, K2_ACTIVE_FROM.toEpochMilli() - HOUR);
+
+        // Act
+        rotateAt(K2_ACTIVE_FROM.toEpochMilli() + HOUR + 1);
+
+        // Assert
+        assertNull(keyRing.getVerificationKey("k1"));
+        assertEquals(1, keyRing.size());
+    }
+
+    @Test
+    void init_KeysAreIndependent_RemovingOneLeavesTheOthersUnchanged() {
+        // Arrange
+        startAt(keyRing, K2_ACTIVE_FROM.toEpochMilli());
+        MockEnvironment withoutK1 = new MockEnvironment()
+            .withProperty("jwt.keys.k2.secret", environment.getProperty("jwt.keys.k2.secret"))
+            .withProperty("jwt.keys.k2.active-from", K2_ACTIVE_FROM.toString());
+        JwtKeyRing other = newKeyRing(withoutK1);
+
+        // Act
+        startAt(other, K2_ACTIVE_FROM.toEpochMilli());
+
+        // Assert
+        assertNull(other.getVerificationKey("k1"));
+        assertArrayEquals(keyRing.getVerificationKey("k2").getEncoded(), other.getVerificationKey("k2").getEncoded());
+        assertFalse(Arrays.equals(keyRing.getVerificationKey("k1").getEncoded(),
+            keyRing.getVerificationKey("k2").getEncoded()));
+    }
+
+    @Test
+    void init_NoConfiguredKeys_UsesJwtSecretAsSingleKey() {
+        // Arrange
+        JwtKeyRing fallback = newKeyRing(new MockEnvironment());
+
+        // Act
+        startAt(fallback, K2_ACTIVE_FROM.toEpochMilli());
+
+        // Assert
+        assertEquals("default", fallback.getCurrentKey().getKeyId());
+        assertEquals(1, fallback.size());
+    }
+
+    @Test
+    void init_ShortSecret_IsRejected() {
+        // Arrange
+        JwtKeyRing weak = newKeyRing(new MockEnvironment().withProperty("jwt.keys.k1.secret", "too-short"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> startAt(weak, K2_ACTIVE_FROM.toEpochMilli()));
+    }
+}
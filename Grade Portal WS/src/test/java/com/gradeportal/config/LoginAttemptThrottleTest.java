@@ -0,0 +1,92 @@
+package com.gradeportal.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptThrottleTest {
+
+    private static final long START = 1_000_000_000L;
+
+    private LoginAttemptThrottle throttle;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        throttle = new LoginAttemptThrottle();
+        ReflectionTestUtils.setField(throttle, "windowMs", 60000L);
+        ReflectionTestUtils.setField(throttle, "maxFailuresPerUser", 3);
+        ReflectionTestUtils.setField(throttle, "maxFailuresPerIp", 10);
+        ReflectionTestUtils.setField(throttle, "baseLockoutMs", 1000L);
+        ReflectionTestUtils.setField(throttle, "maxLockoutMs", 60000L);
+        ReflectionTestUtils.setField(throttle, "maxKeys", 1000L);
+        ReflectionTestUtils.setField(throttle, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(throttle, "init");
+        setTime(START);
+    }
+
+    private void setTime(long millis) {
+        ReflectionTestUtils.setField(throttle, "clock", Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+    }
+
+    @Test
+    void recordFailure_ExceedsUserLimit_LocksOutWithBackoff() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, throttle.getRetryAfterSeconds("testuser", "10.0.0.1"));
+            throttle.recordFailure("testuser", "10.0.0.1");
+        }
+
+        // Act & Assert
+        assertEquals(1, throttle.getRetryAfterSeconds("TestUser", "10.0.0.2"));
+
+        setTime(START + 1001);
+        assertEquals(0, throttle.getRetryAfterSeconds("testuser", "10.0.0.1"));
+        throttle.recordFailure("testuser", "10.0.0.1");
+        assertEquals(2, throttle.getRetryAfterSeconds("testuser", "10.0.0.1"));
+
+        assertEquals(2.0, meterRegistry.get("login.throttle.lockouts").tag("scope", "user").counter().count());
+        assertEquals(2.0, meterRegistry.get("login.throttle.rejected").counter().count());
+    }
+
+    @Test
+    void recordSuccess_ClearsUserButNotIpFailures() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            throttle.recordFailure("user" + i, "10.0.0.1");
+        }
+        throttle.recordFailure("testuser", "10.0.0.9");
+        throttle.recordFailure("testuser", "10.0.0.9");
+
+        // Act
+        throttle.recordSuccess("testuser");
+        throttle.recordFailure("testuser", "10.0.0.9");
+
+        // Assert
+        assertEquals(0, throttle.getRetryAfterSeconds("testuser", "10.0.0.9"));
+        assertTrue(throttle.getRetryAfterSeconds("someone-else", "10.0.0.1") > 0);
+    }
+
+    @Test
+    void recordFailure_OutsideWindow_IsForgotten() {
+        // Arrange
+        throttle.recordFailure("testuser", "10.0.0.1");
+        throttle.recordFailure("testuser", "10.0.0.1");
+
+        // Act
+        setTime(START + 61000);
+        throttle.recordFailure("testuser", "10.0.0.1");
+
+        // Assert
+        assertEquals(0, throttle.getRetryAfterSeconds("testuser", "10.0.0.1"));
+    }
+}
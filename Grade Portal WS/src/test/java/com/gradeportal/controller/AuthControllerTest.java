@@ -1,46 +1,89 @@
 package com.gradeportal.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gradeportal.config.JwtAuthenticationEntryPoint;
+import com.gradeportal.config.LoginAttemptThrottle;
+import com.gradeportal.config.LoginExecutor;
+import com.gradeportal.config.SecurityConfig;
+import com.gradeportal.config.TokenRevocationList;
 import com.gradeportal.dto.auth.LoginRequest;
+import com.gradeportal.dto.auth.RefreshTokenRequest;
 import com.gradeportal.dto.auth.SignupRequest;
 import com.gradeportal.entity.User;
+import com.gradeportal.service.AuditService;
+import com.gradeportal.service.RefreshTokenService;
 import com.gradeportal.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(AuthController.class)
 @AutoConfigureWebMvc
+@Import({SecurityConfig.class, JwtAuthenticationEntryPoint.class})
 class AuthControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
-    @MockBean
-    private AuthenticationManager authenticationManager;
-
     @MockBean
     private UserService userService;
 
     @MockBean
     private com.gradeportal.config.JwtTokenProvider jwtTokenProvider;
 
+    @MockBean
+    private com.gradeportal.config.UserSecurityVersions userSecurityVersions;
+
+    @MockBean
+    private LoginExecutor loginExecutor;
+
+    @MockBean
+    private LoginAttemptThrottle loginAttemptThrottle;
+
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockBean
+    private TokenRevocationList tokenRevocationList;
+
+    @MockBean
+    private AuditService auditService;
+
+    @MockBean
+    private com.gradeportal.config.EventStreamTickets eventStreamTickets;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @BeforeEach
+    void runLoginsInline() {
+        when(loginExecutor.submit(any())).thenAnswer(invocation ->
+            CompletableFuture.completedFuture(invocation.<Supplier<?>>getArgument(0).get()));
+    }
+
     @Test
     void login_ValidCredentials_ReturnsToken() throws Exception {
         // Arrange
@@ -54,34 +97,96 @@ class AuthControllerTest {
 
         Authentication authentication = new UsernamePasswordAuthenticationToken("testuser", "password");
 
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-            .thenReturn(authentication);
-        when(userService.authenticateUser("testuser", "password")).thenReturn(user);
+        when(userService.login("testuser", "password"))
+            .thenReturn(new UserService.AuthenticatedUser(user, authentication));
         when(jwtTokenProvider.generateToken(authentication)).thenReturn("jwt-token");
+        when(refreshTokenService.issue(user)).thenReturn("refresh-token");
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/login")
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("jwt-token"))
+                .andExpect(jsonPath("$.refreshToken").value("refresh-token"))
                 .andExpect(jsonPath("$.user.username").value("testuser"));
     }
 
+    @Test
+    void refresh_RevokedToken_ReturnsUnauthorized() throws Exception {
+        // Arrange
+        when(refreshTokenService.rotate("stale-token")).thenReturn(null);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest("stale-token"))))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     void login_InvalidCredentials_ReturnsBadRequest() throws Exception {
         // Arrange
         LoginRequest loginRequest = new LoginRequest("testuser", "wrongpassword");
 
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-            .thenThrow(new RuntimeException("Bad credentials"));
-        when(userService.authenticateUser("testuser", "wrongpassword")).thenReturn(null);
+        when(userService.login("testuser", "wrongpassword")).thenReturn(null);
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/login")
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isUnauthorized());
+        verify(loginAttemptThrottle).recordFailure(anyString(), anyString());
+    }
+
+    @Test
+    void login_ExecutorSaturated_ReturnsServiceUnavailable() throws Exception {
+        // Arrange
+        LoginRequest loginRequest = new LoginRequest("testuser", "password");
+
+        doReturn(CompletableFuture.failedFuture(new RejectedExecutionException("queue full")))
+            .when(loginExecutor).submit(any());
+        when(loginExecutor.getRetryAfterSeconds()).thenReturn(2L);
+
+        // Act & Assert
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"));
+        verify(userService, never()).login(anyString(), anyString());
+    }
+
+    @Test
+    void login_LockedOut_ReturnsTooManyRequestsWithoutHashing() throws Exception {
+        // Arrange
+        LoginRequest loginRequest = new LoginRequest("testuser", "password");
+
+        when(loginAttemptThrottle.getRetryAfterSeconds(anyString(), anyString())).thenReturn(8L);
+
+        // Act & Assert
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "8"));
+        verify(userService, never()).login(anyString(), anyString());
     }
 
     @Test
@@ -0,0 +1,91 @@
+package com.gradeportal.integration;
+
+import com.gradeportal.dto.SectionSubjectStatsDTO;
+import com.gradeportal.repository.StudentRepository;
+import com.gradeportal.service.AnalyticsService;
+import com.gradeportal.service.GradeService;
+import com.gradeportal.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Cache invalidation runs after commit, so this test commits for real
+@SpringBootTest
+@TestPropertySource(properties = "analytics.parallel-threshold=4")
+class AnalyticsIntegrationTest {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CommittedStudents students;
+
+    @BeforeEach
+    void setUp() {
+        students = new CommittedStudents(studentRepository, jdbcTemplate, "Test-Analytics");
+    }
+
+    @AfterEach
+    void tearDown() {
+        students.deleteAll();
+    }
+
+    @Test
+    void sectionSubjectStats_ComputedInParallelAndRefreshedAfterGradeChange() {
+        double[] grades = {45, 60, 72, 88, 91, 100};
+        for (int i = 0; i < grades.length; i++) {
+            Long studentId = students.create("Analytics " + i);
+            gradeService.assignGrade(studentId, 1L, grades[i]);
+            gradeService.assignGrade(studentId, 2L, 50.0);
+        }
+
+        List<SectionSubjectStatsDTO> stats = analyticsService.getSectionSubjectStats(students.getSection(), null);
+        assertEquals(2, stats.size());
+        SectionSubjectStatsDTO math = stats.get(0);
+        assertEquals(1L, math.getSubjectId());
+        assertEquals(6L, math.getCount());
+        assertEquals(76.0, math.getMean());
+        assertEquals(80.0, math.getMedian());
+        assertEquals(83.33, math.getPassRate());
+        assertArrayEquals(new int[] {0, 0, 0, 0, 1, 0, 1, 1, 1, 2}, math.getHistogram());
+        assertEquals(0.0, stats.get(1).getPassRate());
+
+        // Served from the cache until a grade in the section changes
+        assertSame(stats, analyticsService.getSectionSubjectStats(students.getSection(), null));
+        gradeService.assignGrade(students.get(0), 2L, 95.0);
+        List<SectionSubjectStatsDTO> refreshed = analyticsService.getSectionSubjectStats(students.getSection(), null);
+        assertNotSame(stats, refreshed);
+        assertEquals(16.67, refreshed.get(1).getPassRate());
+    }
+
+    @Test
+    void sectionSubjectStats_MovingAStudentInvalidatesBothSections() {
+        Long studentId = students.create("Analytics Mover");
+        gradeService.assignGrade(studentId, 3L, 70.0);
+        assertEquals(1, analyticsService.getSectionSubjectStats(students.getSection(), 3L).size());
+
+        studentService.updateStudent(studentId, "Analytics Mover", students.getSection() + "-B");
+
+        assertTrue(analyticsService.getSectionSubjectStats(students.getSection(), 3L).isEmpty());
+        assertEquals(1, analyticsService.getSectionSubjectStats(students.getSection() + "-B", 3L).size());
+    }
+}
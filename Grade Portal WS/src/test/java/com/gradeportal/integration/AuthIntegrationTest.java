@@ -6,18 +6,20 @@ import com.gradeportal.dto.auth.SignupRequest;
 import com.gradeportal.entity.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
-@AutoConfigureWebMvc
+@AutoConfigureMockMvc
 @Transactional
 class AuthIntegrationTest {
 
@@ -47,9 +49,13 @@ class AuthIntegrationTest {
         // 2. Test login with existing admin user
         LoginRequest loginRequest = new LoginRequest("admin", "password");
 
-        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+        MvcResult asyncLogin = mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult loginResult = mockMvc.perform(asyncDispatch(asyncLogin))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").exists())
                 .andExpect(jsonPath("$.user.username").value("admin"))
@@ -61,7 +67,7 @@ class AuthIntegrationTest {
         String token = extractTokenFromResponse(responseContent);
 
         // 3. Test accessing protected endpoint with token
-        mockMvc.perform(post("/api/users/pending")
+        mockMvc.perform(get("/api/users/pending")
                 .header("Authorization", "Bearer " + token)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
@@ -71,9 +77,13 @@ class AuthIntegrationTest {
     void invalidLogin_ShouldReturnUnauthorized() throws Exception {
         LoginRequest loginRequest = new LoginRequest("nonexistent", "wrongpassword");
 
-        mockMvc.perform(post("/api/auth/login")
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isUnauthorized());
     }
 
@@ -0,0 +1,200 @@
+package com.gradeportal.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gradeportal.dto.auth.LoginRequest;
+import com.gradeportal.repository.StudentRepository;
+import com.gradeportal.service.ChangeFeedService;
+import com.gradeportal.service.GradeService;
+import com.gradeportal.service.StudentService;
+import com.gradeportal.service.SubjectService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Events are published after commit and written by the feed's own thread, so nothing here runs in a test
+// transaction; changes re-save seed rows unchanged or use a throwaway student
+@SpringBootTest(properties = {"events.max-connections=3", "events.subscriber-queue-capacity=4"})
+@AutoConfigureMockMvc
+class ChangeFeedIntegrationTest {
+
+    private static final Pattern SUBJECT_EVENT_ID = Pattern.compile("id:(\\d+)\\nevent:subject\\n");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private SubjectService subjectService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private CommittedStudents students;
+
+    @BeforeEach
+    void setUp() {
+        students = new CommittedStudents(studentRepository, jdbcTemplate, "Test-Feed");
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeedService.disconnectAll();
+        students.deleteAll();
+    }
+
+    @Test
+    void committedChange_IsPushedToSubscribers() throws Exception {
+        MvcResult teacher = open(get("/api/events").with(user("teacher1").roles("TEACHER")));
+
+        touchSubject();
+
+        String content = await(teacher, "event:subject\ndata:{\"type\":\"subject\",\"action\":\"UPDATED\",\"ids\":[8]}");
+        assertTrue(content.contains("retry:"), content);
+    }
+
+    @Test
+    void lastEventId_ReplaysMissedEventsOrResets() throws Exception {
+        MvcResult first = open(get("/api/events").with(user("teacher1").roles("TEACHER")));
+        touchSubject();
+        Matcher matcher = SUBJECT_EVENT_ID.matcher(await(first, "event:subject\ndata:"));
+        assertTrue(matcher.find());
+        long eventId = Long.parseLong(matcher.group(1));
+
+        MvcResult replayed = open(get("/api/events").with(user("teacher1").roles("TEACHER"))
+            .header("Last-Event-ID", String.valueOf(eventId - 1)));
+        assertTrue(await(replayed, "event:subject\ndata:").contains("id:" + eventId + "\n"));
+
+        MvcResult reset = open(get("/api/events").with(user("teacher1").roles("TEACHER"))
+            .param("lastEventId", "1"));
+        String content = await(reset, "event:reset");
+        assertFalse(content.contains("event:subject"), content);
+    }
+
+    @Test
+    void events_AreFilteredBySubscriberRole() throws Exception {
+        Long otherStudentId = students.create("Feed Student");
+        MvcResult student = open(get("/api/events").with(user("student1").roles("STUDENT")));
+        MvcResult admin = open(get("/api/events").with(user("admin").roles("ADMIN")));
+        MvcResult teacher = open(get("/api/events").with(user("teacher1").roles("TEACHER")));
+
+        gradeService.assignGrade(otherStudentId, 1L, 75.0);
+        studentService.updateStudent(1L, "Jane Student", "Grade 10-A");
+
+        // Events reach subscribers in order, so once the teacher has the last one every stream has been written
+        String teacherContent = await(teacher, "event:student\ndata:{\"type\":\"student\",\"action\":\"UPDATED\",\"ids\":[1]}");
+        assertFalse(teacherContent.contains("event:grade"), teacherContent);
+        String studentContent = await(student, "event:student\ndata:{\"type\":\"student\",\"action\":\"UPDATED\",\"ids\":[1]}");
+        assertFalse(studentContent.contains("event:grade"), studentContent);
+        String adminContent = admin.getResponse().getContentAsString();
+        assertFalse(adminContent.contains("event:"), adminContent);
+    }
+
+    @Test
+    void lastEventId_ReplayLargerThanSubscriberQueue_Resets() throws Exception {
+        MvcResult first = open(get("/api/events").with(user("teacher1").roles("TEACHER")));
+        touchSubject();
+        Matcher matcher = SUBJECT_EVENT_ID.matcher(await(first, "event:subject\ndata:"));
+        assertTrue(matcher.find());
+        long eventId = Long.parseLong(matcher.group(1));
+        for (int i = 0; i < 4; i++) {
+            touchSubject();
+        }
+        changeFeedService.disconnectAll();
+
+        MvcResult replayed = open(get("/api/events").with(user("teacher1").roles("TEACHER"))
+            .header("Last-Event-ID", String.valueOf(eventId - 1)));
+        String content = await(replayed, "event:reset");
+        assertFalse(content.contains("event:subject"), content);
+    }
+
+    @Test
+    void ticket_OpensOneStream_AndTheTokenIsNotAcceptedInTheUrl() throws Exception {
+        MvcResult asyncLogin = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("teacher1", "password"))))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String token = objectMapper.readTree(mockMvc.perform(asyncDispatch(asyncLogin))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString()).get("token").asText();
+        String ticket = objectMapper.readTree(mockMvc.perform(post("/api/events/ticket")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString()).get("ticket").asText();
+
+        open(get("/api/events").param("ticket", ticket));
+
+        mockMvc.perform(get("/api/events").param("ticket", ticket))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/events").param("access_token", token))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void connectionsOverCap_AreRefused() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            open(get("/api/events").with(user("teacher1").roles("TEACHER")));
+        }
+
+        mockMvc.perform(get("/api/events").with(user("teacher1").roles("TEACHER")))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().exists("Retry-After"));
+    }
+
+    private void touchSubject() {
+        subjectService.findById(8L).ifPresent(subject ->
+            subjectService.updateSubject(8L, subject.getName(), subject.getDescription()));
+    }
+
+    private MvcResult open(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        await(result, ":connected");
+        return result;
+    }
+
+    private String await(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            String content = result.getResponse().getContentAsString();
+            if (content.contains(expected)) {
+                return content;
+            }
+            assertTrue(System.currentTimeMillis() < deadline, "Expected " + expected + " in " + content);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.gradeportal.integration;
+
+import com.gradeportal.entity.Student;
+import com.gradeportal.repository.StudentRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// For tests that commit for real because what they check runs after commit (caches, indexes, the change
+// feed). Creates students in a section of the test's own and deletes them with their grades, ledger entries
+// and stats rows afterwards.
+class CommittedStudents {
+
+    private final StudentRepository studentRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String section;
+
+    private final List<Long> studentIds = new ArrayList<>();
+
+    CommittedStudents(StudentRepository studentRepository, JdbcTemplate jdbcTemplate, String section) {
+        this.studentRepository = studentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.section = section;
+    }
+
+    String getSection() {
+        return section;
+    }
+
+    Long create(String name) {
+        Student student = studentRepository.save(new Student(name, section, null));
+        studentIds.add(student.getId());
+        return student.getId();
+    }
+
+    Long get(int index) {
+        return studentIds.get(index);
+    }
+
+    void deleteAll() {
+        for (Long studentId : studentIds) {
+            jdbcTemplate.update("DELETE FROM grade_ledger WHERE student_id = ?", studentId);
+            jdbcTemplate.update("DELETE FROM student_grade_stats WHERE student_id = ?", studentId);
+            jdbcTemplate.update("DELETE FROM grades WHERE student_id = ?", studentId);
+            jdbcTemplate.update("DELETE FROM students WHERE id = ?", studentId);
+        }
+        studentIds.clear();
+    }
+}
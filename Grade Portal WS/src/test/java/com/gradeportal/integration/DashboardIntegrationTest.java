@@ -0,0 +1,66 @@
+package com.gradeportal.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Sections load on the dashboard pool, outside any test transaction, so these read the seed data only
+@SpringBootTest
+@AutoConfigureMockMvc
+class DashboardIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(username = "student1", roles = "STUDENT")
+    void studentDashboard_ResolvesCallerAndEmbedsReportCard() throws Exception {
+        mockMvc.perform(get("/api/dashboard/student"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.user.username").value("student1"))
+            .andExpect(jsonPath("$.user.password").doesNotExist())
+            .andExpect(jsonPath("$.student.name").value("Jane Student"))
+            .andExpect(jsonPath("$.reportCard.grades", hasSize(3)))
+            .andExpect(jsonPath("$.students").doesNotExist())
+            .andExpect(header().string("Server-Timing", allOf(
+                containsString("user;dur="), containsString("student;dur="),
+                containsString("reportCard;dur="), containsString("total;dur="))));
+    }
+
+    @Test
+    @WithMockUser(username = "teacher1", roles = "TEACHER")
+    void teacherDashboard_ReturnsStudentsAndSubjects() throws Exception {
+        mockMvc.perform(get("/api/dashboard/teacher"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.user.role").value("TEACHER"))
+            .andExpect(jsonPath("$.students[0].name").value("Jane Student"))
+            .andExpect(jsonPath("$.subjects", hasSize(8)))
+            .andExpect(jsonPath("$.reportCard").doesNotExist())
+            .andExpect(header().string("Server-Timing", allOf(
+                containsString("students;dur="), containsString("subjects;dur="))));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "ADMIN")
+    void adminDashboard_ReturnsTeachersWithoutCredentials() throws Exception {
+        mockMvc.perform(get("/api/dashboard/admin"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.teachers[*].username", hasItem("teacher1")))
+            .andExpect(jsonPath("$.teachers[0].password").doesNotExist())
+            .andExpect(jsonPath("$.pendingUsers").isArray());
+    }
+
+    @Test
+    @WithMockUser(username = "teacher1", roles = "TEACHER")
+    void otherRolesDashboard_IsForbidden() throws Exception {
+        mockMvc.perform(get("/api/dashboard/admin"))
+            .andExpect(status().isForbidden());
+    }
+}
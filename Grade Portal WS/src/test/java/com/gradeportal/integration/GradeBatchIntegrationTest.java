@@ -0,0 +1,57 @@
+package com.gradeportal.integration;
+
+import com.gradeportal.dto.GradeBatchEntry;
+import com.gradeportal.dto.GradeBatchResult;
+import com.gradeportal.entity.Grade;
+import com.gradeportal.repository.GradeRepository;
+import com.gradeportal.service.GradeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class GradeBatchIntegrationTest {
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Test
+    void assignGrades_MixedRows_ReportsPerRowOutcome() {
+        // Student 1 already has grades for subjects 1-3 (data.sql)
+        List<GradeBatchEntry> entries = List.of(
+            new GradeBatchEntry(1L, 1L, 70.0),
+            new GradeBatchEntry(1L, 4L, 81.0),
+            new GradeBatchEntry(1L, 5L, 60.0),
+            new GradeBatchEntry(1L, 5L, 65.0),
+            new GradeBatchEntry(999L, 1L, 50.0),
+            new GradeBatchEntry(1L, 2L, 150.0)
+        );
+
+        GradeBatchResult result = gradeService.assignGrades(entries);
+
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getUpdated());
+        assertEquals(2, result.getFailed());
+        assertEquals(GradeBatchResult.Status.UPDATED, result.getRows().get(0).getStatus());
+        assertEquals(1L, result.getRows().get(0).getGradeId());
+        assertEquals(GradeBatchResult.Status.CREATED, result.getRows().get(1).getStatus());
+        assertEquals(GradeBatchResult.Status.SUPERSEDED, result.getRows().get(2).getStatus());
+        assertEquals(GradeBatchResult.Status.CREATED, result.getRows().get(3).getStatus());
+        assertEquals("Student not found", result.getRows().get(4).getError());
+        assertEquals("Grade must be between 0 and 100", result.getRows().get(5).getError());
+
+        Grade created = gradeRepository.findById(result.getRows().get(3).getGradeId()).orElseThrow();
+        assertEquals(65.0, created.getGradeValue());
+        assertEquals(5L, created.getSubject().getId());
+        assertEquals(70.0, gradeRepository.findById(1L).orElseThrow().getGradeValue());
+    }
+}
@@ -0,0 +1,80 @@
+package com.gradeportal.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gradeportal.entity.Student;
+import com.gradeportal.repository.StudentRepository;
+import com.gradeportal.service.GradeExportService;
+import com.gradeportal.service.GradeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class GradeExportIntegrationTest {
+
+    @Autowired
+    private GradeExportService gradeExportService;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void csvExport_QuotesFieldsThatNeedIt() throws IOException {
+        Student student = studentRepository.save(new Student("Doe, \"JJ\"", "Test-Export", null));
+        gradeService.assignGrade(student.getId(), 1L, 77.5);
+
+        String csv = export(GradeExportService.Format.CSV, "Test-Export", false);
+
+        String[] lines = csv.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("grade_id,student_id,student_name,section,subject_id,subject_name,grade_value,date_assigned", lines[0]);
+        assertTrue(lines[1].contains("," + student.getId() + ",\"Doe, \"\"JJ\"\"\",Test-Export,1,Mathematics,77.5,"));
+    }
+
+    @Test
+    void jsonLinesExport_WritesOneObjectPerGrade() throws IOException {
+        String jsonl = export(GradeExportService.Format.JSONL, "Grade 10-A", false);
+
+        String[] lines = jsonl.split("\n");
+        assertEquals(3, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1L, first.get("studentId").asLong());
+        assertEquals("Grade 10-A", first.get("section").asText());
+        assertTrue(first.get("dateAssigned").isTextual());
+    }
+
+    @Test
+    void gzipExport_DecompressesToPlainExport() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        long count = gradeExportService.writeExport(GradeExportService.Format.CSV, null, true, compressed);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            String csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(export(GradeExportService.Format.CSV, null, false), csv);
+            assertEquals(count + 1, csv.split("\n").length);
+        }
+    }
+
+    private String export(GradeExportService.Format format, String section, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        gradeExportService.writeExport(format, section, gzip, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
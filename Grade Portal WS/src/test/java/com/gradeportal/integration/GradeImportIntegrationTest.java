@@ -0,0 +1,170 @@
+package com.gradeportal.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gradeportal.repository.ImportJobRepository;
+import com.gradeportal.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Jobs run and commit on the import workers, so this test commits for real
+@SpringBootTest(properties = "imports.chunk-size=3")
+@AutoConfigureMockMvc
+@WithMockUser(username = "teacher1", roles = "TEACHER")
+class GradeImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CommittedStudents students;
+
+    private Long studentId;
+
+    private final List<Long> jobIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        students = new CommittedStudents(studentRepository, jdbcTemplate, "Test-Import");
+        studentId = students.create("Import Student");
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Long jobId : jobIds) {
+            jdbcTemplate.update("DELETE FROM import_job_errors WHERE job_id = ?", jobId);
+            importJobRepository.deleteById(jobId);
+        }
+        students.deleteAll();
+    }
+
+    @Test
+    void gzippedUpload_ImportsValidRowsAndReportsBadOnes() throws Exception {
+        long id = studentId;
+        String csv = "studentId,subjectId,gradeValue\r\n" +
+            id + ",1,81\r\n" +
+            id + ",2,\"82.5\"\r\n" +
+            id + ",3,abc\r\n" +
+            id + ",4,140\r\n" +
+            "\r\n" +
+            id + ",999,70\r\n" +
+            id + ",5,95\r\n" +
+            id + ",1,83\r\n";
+
+        JsonNode job = awaitFinished(upload(gzip(csv), "grades.csv.gz"));
+
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertEquals(7, job.get("rowsProcessed").asLong());
+        assertEquals(3, job.get("rowsCreated").asLong());
+        assertEquals(1, job.get("rowsUpdated").asLong());
+        assertEquals(3, job.get("rowsFailed").asLong());
+        assertEquals(3, job.get("chunksCommitted").asInt());
+        assertFalse(job.get("errorsTruncated").asBoolean());
+
+        JsonNode errors = job.get("errors");
+        assertEquals(3, errors.size());
+        assertEquals(4, errors.get(0).get("line").asInt());
+        assertEquals("Invalid number: abc", errors.get(0).get("message").asText());
+        assertEquals(5, errors.get(1).get("line").asInt());
+        assertEquals("Grade must be between 0 and 100", errors.get(1).get("message").asText());
+        assertEquals(7, errors.get(2).get("line").asInt());
+        assertEquals("Subject not found", errors.get(2).get("message").asText());
+
+        assertEquals(83.0, gradeValue(id, 1));
+        assertEquals(82.5, gradeValue(id, 2));
+        assertEquals(95.0, gradeValue(id, 5));
+    }
+
+    @Test
+    void missingColumns_FailsJob() throws Exception {
+        byte[] csv = "student,grade\n1,90\n".getBytes(StandardCharsets.UTF_8);
+
+        JsonNode job = awaitFinished(upload(csv, "grades.csv"));
+
+        assertEquals("FAILED", job.get("status").asText());
+        assertEquals("CSV header must include studentId, subjectId and gradeValue", job.get("failureReason").asText());
+        assertEquals(0, job.get("rowsProcessed").asLong());
+    }
+
+    @Test
+    @WithMockUser(username = "teacher2", roles = "TEACHER")
+    void otherTeachersJob_IsNotVisible() throws Exception {
+        long jobId = upload("studentId,subjectId,gradeValue\n".getBytes(StandardCharsets.UTF_8), "empty.csv");
+        awaitFinished(jobId);
+
+        jdbcTemplate.update("UPDATE import_jobs SET created_by = 'teacher1' WHERE id = ?", jobId);
+        mockMvc.perform(get("/api/imports/" + jobId)).andExpect(status().isNotFound());
+    }
+
+    private long upload(byte[] content, String fileName) throws Exception {
+        MvcResult result = mockMvc.perform(multipart("/api/imports")
+                .file(new MockMultipartFile("file", fileName, "text/csv", content)))
+            .andExpect(status().isAccepted())
+            .andExpect(header().exists("Location"))
+            .andReturn();
+        long jobId = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+        jobIds.add(jobId);
+        return jobId;
+    }
+
+    private JsonNode awaitFinished(long jobId) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            String body = mockMvc.perform(get("/api/imports/" + jobId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            JsonNode job = objectMapper.readTree(body);
+            String status = job.get("status").asText();
+            if ("COMPLETED".equals(status) || "FAILED".equals(status)) {
+                return job;
+            }
+            assertTrue(System.currentTimeMillis() < deadline, "Import job did not finish in time");
+            Thread.sleep(50);
+        }
+    }
+
+    private double gradeValue(long studentId, long subjectId) {
+        return jdbcTemplate.queryForObject("SELECT grade_value FROM grades WHERE student_id = ? AND subject_id = ?",
+            Double.class, studentId, subjectId);
+    }
+
+    private static byte[] gzip(String text) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
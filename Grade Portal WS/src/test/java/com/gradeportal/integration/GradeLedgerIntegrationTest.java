@@ -0,0 +1,116 @@
+package com.gradeportal.integration;
+
+import com.gradeportal.dto.GradesAsOfDTO;
+import com.gradeportal.entity.Grade;
+import com.gradeportal.entity.GradeSnapshot;
+import com.gradeportal.entity.Student;
+import com.gradeportal.service.GradeLedgerService;
+import com.gradeportal.service.GradeService;
+import com.gradeportal.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// No settle window, so a snapshot taken right away covers everything recorded so far
+@SpringBootTest(properties = "grades.ledger.snapshot-settle-ms=0")
+@Transactional
+class GradeLedgerIntegrationTest {
+
+    @Autowired
+    private GradeLedgerService gradeLedgerService;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long studentId;
+
+    @BeforeEach
+    void setUp() {
+        Student student = studentService.createStudent("Ledger Student", "Test-Ledger", null);
+        studentId = student.getId();
+    }
+
+    @Test
+    void asOfQueries_ReplayLedgerOnTopOfSnapshots() throws InterruptedException {
+        gradeService.assignGrade(studentId, 1L, 70.0);
+        LocalDateTime afterFirst = pause();
+
+        gradeService.assignGrade(studentId, 1L, 80.0);
+        Grade english = gradeService.assignGrade(studentId, 2L, 50.0);
+        LocalDateTime beforeSnapshot = pause();
+
+        GradeSnapshot snapshot = gradeLedgerService.takeSnapshot().orElseThrow();
+        pause();
+        gradeService.deleteGrade(english.getId());
+        gradeService.assignGrade(studentId, 1L, 90.0);
+        LocalDateTime latest = pause();
+
+        assertEquals(Map.of(1L, 70.0), gradesOf(gradeLedgerService.getGradesAsOf(studentId, afterFirst)));
+        assertEquals(Map.of(1L, 80.0, 2L, 50.0), gradesOf(gradeLedgerService.getGradesAsOf(studentId, beforeSnapshot)));
+
+        GradesAsOfDTO current = gradeLedgerService.getGradesAsOf(studentId, latest);
+        assertEquals(Map.of(1L, 90.0), gradesOf(current));
+        assertEquals(snapshot.getTakenThrough().toString(), current.getSnapshotTakenThrough());
+        assertEquals(2, current.getLedgerEntriesReplayed());
+        assertEquals(5, gradeLedgerService.getHistory(studentId, null).size());
+        assertEquals(3, gradeLedgerService.getHistory(studentId, 1L).size());
+    }
+
+    @Test
+    void incrementalSnapshot_MatchesGradesTable() throws InterruptedException {
+        gradeService.assignGrade(studentId, 1L, 65.0);
+        gradeService.assignGrade(studentId, 2L, 75.0);
+        pause();
+        gradeLedgerService.takeSnapshot().orElseThrow();
+
+        pause();
+        gradeService.assignGrade(studentId, 2L, 95.0);
+        gradeService.assignGrade(studentId, 3L, 55.0);
+        pause();
+        GradeSnapshot snapshot = gradeLedgerService.takeSnapshot().orElseThrow();
+
+        Integer gradeCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM grades", Integer.class);
+        assertEquals(gradeCount, snapshot.getGradeCount());
+        GradesAsOfDTO current = gradeLedgerService.getGradesAsOf(studentId, LocalDateTime.now());
+        assertEquals(Map.of(1L, 65.0, 2L, 95.0, 3L, 55.0), gradesOf(current));
+        assertEquals(0, current.getLedgerEntriesReplayed());
+
+        pause();
+        assertTrue(gradeLedgerService.takeSnapshot().isEmpty());
+    }
+
+    @Test
+    void unknownStudent_Throws() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> gradeLedgerService.getGradesAsOf(Long.MAX_VALUE, LocalDateTime.now()));
+        assertEquals("Student not found", e.getMessage());
+    }
+
+    // Keeps consecutive steps from sharing a timestamp
+    private LocalDateTime pause() throws InterruptedException {
+        Thread.sleep(5);
+        LocalDateTime now = LocalDateTime.now();
+        Thread.sleep(5);
+        return now;
+    }
+
+    private Map<Long, Double> gradesOf(GradesAsOfDTO dto) {
+        return dto.getGrades().stream()
+            .collect(Collectors.toMap(GradesAsOfDTO.Grade::getSubjectId, GradesAsOfDTO.Grade::getGradeValue));
+    }
+}
@@ -0,0 +1,66 @@
+package com.gradeportal.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Reads the seeded student 1, who has grades in subjects 1 to 3
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "TEACHER")
+class GradeListPayloadIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void compactView_SendsStudentAndSubjectsOnce() throws Exception {
+        mockMvc.perform(get("/api/grades/student/1").param("view", "compact"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.student.name").value("Jane Student"))
+            .andExpect(jsonPath("$.subjects['2'].name").exists())
+            .andExpect(jsonPath("$.columns", contains("id", "subject", "gradeValue", "dateAssigned")))
+            .andExpect(jsonPath("$.grades", hasSize(greaterThanOrEqualTo(3))))
+            .andExpect(jsonPath("$.grades[0]", hasSize(4)));
+    }
+
+    @Test
+    void compactView_HonoursFields() throws Exception {
+        mockMvc.perform(get("/api/grades/student/1").param("view", "compact").param("fields", "subject.name,gradeValue"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.student").doesNotExist())
+            .andExpect(jsonPath("$.columns", contains("subject", "gradeValue")))
+            .andExpect(jsonPath("$.subjects['1'].name").exists())
+            .andExpect(jsonPath("$.subjects['1'].description").doesNotExist());
+    }
+
+    @Test
+    void fullView_AndListEndpoints_HonourFields() throws Exception {
+        mockMvc.perform(get("/api/grades/student/1").param("fields", "id,subject.name"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").exists())
+            .andExpect(jsonPath("$[0].subject.name").exists())
+            .andExpect(jsonPath("$[0].student").doesNotExist())
+            .andExpect(jsonPath("$[0].gradeValue").doesNotExist());
+
+        mockMvc.perform(get("/api/students").param("fields", "id,name"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name").exists())
+            .andExpect(jsonPath("$[0].section").doesNotExist());
+
+        mockMvc.perform(get("/api/subjects").param("fields", "name"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name").exists())
+            .andExpect(jsonPath("$[0].id").doesNotExist());
+
+        mockMvc.perform(get("/api/students").param("fields", "password"))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,115 @@
+package com.gradeportal.integration;
+
+import com.gradeportal.dto.GradeUpdateResult;
+import com.gradeportal.entity.Grade;
+import com.gradeportal.service.GradeService;
+import com.gradeportal.service.StudentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class GradeOptimisticUpdateIntegrationTest {
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Long studentId;
+
+    private Long gradeId;
+
+    @BeforeEach
+    void setUp() {
+        studentId = studentService.createStudent("Optimistic Student", "Test-Optimistic", null).getId();
+        gradeId = gradeService.assignGrade(studentId, 1L, 60.0).getId();
+    }
+
+    @Test
+    void staleVersion_IsRejectedWithoutOverwriting() {
+        GradeUpdateResult first = gradeService.updateGrade(gradeId, 75.0, List.of(0L));
+        assertEquals(GradeUpdateResult.Outcome.UPDATED, first.getOutcome());
+        assertEquals(1L, first.getVersion());
+
+        GradeUpdateResult stale = gradeService.updateGrade(gradeId, 40.0, List.of(0L));
+        assertEquals(GradeUpdateResult.Outcome.VERSION_MISMATCH, stale.getOutcome());
+        assertEquals(1L, stale.getVersion());
+        assertEquals(75.0, gradeService.getGradeSummary(studentId).getAverageGrade());
+
+        assertEquals(GradeUpdateResult.Outcome.NOT_FOUND,
+            gradeService.updateGrade(Long.MAX_VALUE, 50.0, List.of(0L)).getOutcome());
+    }
+
+    @Test
+    void reassigningThroughUpsert_BumpsVersion() {
+        Grade reassigned = gradeService.assignGrade(studentId, 1L, 65.0);
+        assertEquals(gradeId, reassigned.getId());
+
+        assertEquals(GradeUpdateResult.Outcome.VERSION_MISMATCH,
+            gradeService.updateGrade(gradeId, 70.0, List.of(0L)).getOutcome());
+        assertEquals(GradeUpdateResult.Outcome.UPDATED,
+            gradeService.updateGrade(gradeId, 70.0, List.of(1L)).getOutcome());
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void put_HonoursIfMatch() throws Exception {
+        String etag = mockMvc.perform(get("/api/grades/{id}", gradeId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.gradeValue").value(60.0))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals("\"0\"", etag);
+
+        mockMvc.perform(put("/api/grades/{id}", gradeId).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"gradeValue\": 80}"))
+            .andExpect(status().isPreconditionRequired());
+
+        mockMvc.perform(put("/api/grades/{id}", gradeId).contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, etag).content("{\"gradeValue\": 80}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(put("/api/grades/{id}", gradeId).contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, etag).content("{\"gradeValue\": 90}"))
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(put("/api/grades/{id}", Long.MAX_VALUE).contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"0\"").content("{\"gradeValue\": 90}"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void put_IfMatchAny_UpdatesExistingGradeOnly() throws Exception {
+        mockMvc.perform(put("/api/grades/{id}", gradeId).contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "*").content("{\"gradeValue\": 85}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(put("/api/grades/{id}", Long.MAX_VALUE).contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "*").content("{\"gradeValue\": 85}"))
+            .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,100 @@
+package com.gradeportal.integration;
+
+import com.gradeportal.dto.GradeDTO;
+import com.gradeportal.dto.GradePageDTO;
+import com.gradeportal.entity.Grade;
+import com.gradeportal.repository.GradeRepositoryCustom;
+import com.gradeportal.service.GradeService;
+import com.gradeportal.service.StudentService;
+import com.gradeportal.service.SubjectService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class GradePaginationIntegrationTest {
+
+    private static final double[] VALUES = {70, 85, 70, 92, 55, 85, 70, 99};
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private SubjectService subjectService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long subjectId;
+
+    private final List<Grade> grades = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        subjectId = subjectService.createSubject("Test-Keyset Subject", null).getId();
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < VALUES.length; i++) {
+            Long studentId = studentService.createStudent("Keyset Student " + i, "Test-Keyset", null).getId();
+            Grade grade = gradeService.assignGrade(studentId, subjectId, VALUES[i]);
+            // Every other pair shares a date, so ties are broken by id
+            LocalDate dateAssigned = start.plusDays(i / 2);
+            jdbcTemplate.update("UPDATE grades SET date_assigned = ? WHERE id = ?", Date.valueOf(dateAssigned), grade.getId());
+            grade.setDateAssigned(dateAssigned);
+            grades.add(grade);
+        }
+    }
+
+    @Test
+    void walkingAllPages_VisitsEveryRowOnceInOrder() {
+        Comparator<Grade> byId = Comparator.comparing(Grade::getId);
+        assertWalk("gradeValue", false, Comparator.comparing(Grade::getGradeValue).thenComparing(byId));
+        assertWalk("gradeValue", true, Comparator.comparing(Grade::getGradeValue).thenComparing(byId).reversed());
+        assertWalk("dateAssigned", true, Comparator.comparing(Grade::getDateAssigned).thenComparing(byId).reversed());
+        assertWalk("id", false, byId);
+    }
+
+    @Test
+    void cursorFromAnotherSortOrder_IsRejected() {
+        String cursor = gradeService.findGradePage(GradeRepositoryCustom.Scope.SUBJECT, subjectId, "gradeValue", false,
+            null, 2).getNextCursor();
+        assertNotNull(cursor);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> gradeService.findGradePage(
+            GradeRepositoryCustom.Scope.SUBJECT, subjectId, "dateAssigned", false, cursor, 2));
+        assertEquals("Invalid cursor", e.getMessage());
+        assertThrows(RuntimeException.class, () -> gradeService.findGradePage(
+            GradeRepositoryCustom.Scope.SUBJECT, subjectId, "gradeValue", false, "not-a-cursor", 2));
+    }
+
+    private void assertWalk(String sort, boolean descending, Comparator<Grade> order) {
+        List<Long> expected = grades.stream().sorted(order).map(Grade::getId).toList();
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            GradePageDTO page = gradeService.findGradePage(GradeRepositoryCustom.Scope.SUBJECT, subjectId, sort,
+                descending, cursor, 3);
+            page.getItems().stream().map(GradeDTO::getId).forEach(visited::add);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, visited, sort + (descending ? " desc" : " asc"));
+        assertEquals(3, pages);
+    }
+}
@@ -0,0 +1,121 @@
+package com.gradeportal.integration;
+
+import com.gradeportal.dto.GradeBatchEntry;
+import com.gradeportal.dto.GradeStatsReport;
+import com.gradeportal.dto.GradeSummaryDTO;
+import com.gradeportal.entity.Grade;
+import com.gradeportal.entity.Student;
+import com.gradeportal.repository.StudentRepository;
+import com.gradeportal.service.GradeService;
+import com.gradeportal.service.GradeStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class GradeStatsIntegrationTest {
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private GradeStatsService gradeStatsService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        student = studentRepository.save(new Student("Stats Student", "Test-Stats", null));
+    }
+
+    @Test
+    void gradeChanges_KeepSummaryInStepWithGrades() {
+        assertEquals(0, gradeService.getGradeSummary(student.getId()).getTotalGrades());
+
+        gradeService.assignGrade(student.getId(), 1L, 90.0);
+        Grade failing = gradeService.assignGrade(student.getId(), 2L, 40.0);
+        gradeService.assignGrades(List.of(
+            new GradeBatchEntry(student.getId(), 1L, 80.0),
+            new GradeBatchEntry(student.getId(), 3L, 70.0)
+        ));
+
+        GradeSummaryDTO summary = gradeService.getGradeSummary(student.getId());
+        assertEquals(3, summary.getTotalGrades());
+        assertEquals(2, summary.getPassedGrades());
+        assertEquals(1, summary.getFailedGrades());
+        assertEquals(63.33, summary.getAverageGrade());
+        assertEquals(40.0, summary.getMinGrade());
+        assertEquals(80.0, summary.getMaxGrade());
+
+        gradeService.deleteGrade(failing.getId());
+        summary = gradeService.getGradeSummary(student.getId());
+        assertEquals(2, summary.getTotalGrades());
+        assertEquals(0, summary.getFailedGrades());
+        assertEquals(70.0, summary.getMinGrade());
+
+        assertTrue(gradeStatsService.verify().getDrift().isEmpty());
+    }
+
+    @Test
+    void deleteLastGrade_DropsStatsRow() {
+        Grade grade = gradeService.assignGrade(student.getId(), 1L, 55.0);
+        gradeService.deleteGrade(grade.getId());
+
+        GradeSummaryDTO summary = gradeService.getGradeSummary(student.getId());
+        assertEquals(0, summary.getTotalGrades());
+        assertEquals("N/A", summary.getOverallStatus());
+        assertTrue(gradeStatsService.verify().getDrift().isEmpty());
+    }
+
+    @Test
+    void rebuild_ReportsAndRepairsDrift() {
+        gradeService.assignGrade(student.getId(), 1L, 75.0);
+        jdbcTemplate.update("UPDATE student_grade_stats SET grade_count = 5 WHERE student_id = ?", student.getId());
+        jdbcTemplate.update("DELETE FROM student_grade_stats WHERE student_id = 1");
+
+        GradeStatsReport report = gradeStatsService.rebuild();
+
+        assertEquals(2, report.getDrift().size());
+        assertTrue(report.getDrift().stream().anyMatch(d ->
+            d.getStudentId().equals(student.getId()) && d.getProblem() == GradeStatsReport.Problem.MISMATCH));
+        assertTrue(report.getDrift().stream().anyMatch(d ->
+            d.getStudentId() == 1L && d.getProblem() == GradeStatsReport.Problem.MISSING));
+        assertTrue(gradeStatsService.verify().getDrift().isEmpty());
+        assertEquals(1, gradeService.getGradeSummary(student.getId()).getTotalGrades());
+    }
+
+    @Test
+    void repairOnStartup_RecomputesOnlyDriftedStudents() {
+        gradeService.assignGrade(student.getId(), 1L, 75.0);
+        jdbcTemplate.update("UPDATE student_grade_stats SET grade_count = 5 WHERE student_id = ?", student.getId());
+        jdbcTemplate.update("UPDATE student_grade_stats SET updated_at = TIMESTAMP '2000-01-01 00:00:00' " +
+            "WHERE student_id = 1");
+
+        gradeStatsService.repairOnStartup();
+
+        assertTrue(gradeStatsService.verify().getDrift().isEmpty());
+        assertEquals(1, gradeService.getGradeSummary(student.getId()).getTotalGrades());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student_grade_stats WHERE student_id = 1 " +
+            "AND updated_at = TIMESTAMP '2000-01-01 00:00:00'", Integer.class));
+    }
+
+    @Test
+    void getGradeSummary_UnknownStudent_Throws() {
+        RuntimeException error = assertThrows(RuntimeException.class, () -> gradeService.getGradeSummary(999L));
+        assertEquals("Student not found", error.getMessage());
+    }
+}
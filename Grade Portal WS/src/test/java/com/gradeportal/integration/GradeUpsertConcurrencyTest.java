@@ -0,0 +1,116 @@
+package com.gradeportal.integration;
+
+import com.gradeportal.repository.GradeRepository;
+import com.gradeportal.repository.StudentRepository;
+import com.gradeportal.service.GradeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Commits for real (no test transaction), so concurrent writers see each other's rows
+@SpringBootTest
+class GradeUpsertConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int UPSERTS_PER_THREAD = 250;
+    private static final long SUBJECTS = 8;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CommittedStudents students;
+
+    private Long studentId;
+
+    @BeforeEach
+    void setUp() {
+        students = new CommittedStudents(studentRepository, jdbcTemplate, "Test-Upsert");
+        studentId = students.create("Concurrency Student");
+    }
+
+    @AfterEach
+    void tearDown() {
+        students.deleteAll();
+    }
+
+    @Test
+    void assignGrade_ConcurrentTeachers_NeverCreatesDuplicates(TestReporter reporter) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < UPSERTS_PER_THREAD; i++) {
+                    long subjectId = 1 + (i % SUBJECTS);
+                    gradeService.assignGrade(studentId, subjectId, (double) ((thread * 7 + i) % 101));
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+
+        int total = THREADS * UPSERTS_PER_THREAD;
+        reporter.publishEntry("upsertsPerSecond", String.format("%.0f", total / (elapsedNanos / 1e9)));
+
+        Integer duplicates = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM (SELECT subject_id FROM grades WHERE student_id = ? " +
+            "GROUP BY subject_id HAVING COUNT(*) > 1) d", Integer.class, studentId);
+        assertEquals(0, duplicates);
+        assertEquals(SUBJECTS, gradeRepository.countGradesByStudentId(studentId));
+
+        // No student lock is held, so this checks the stats refresh did not lose a concurrent change
+        Map<String, Object> stats = jdbcTemplate.queryForMap("SELECT grade_count, grade_sum, min_grade, max_grade " +
+            "FROM student_grade_stats WHERE student_id = ?", studentId);
+        Map<String, Object> expected = jdbcTemplate.queryForMap("SELECT COUNT(*) AS grade_count, " +
+            "SUM(grade_value) AS grade_sum, MIN(grade_value) AS min_grade, MAX(grade_value) AS max_grade " +
+            "FROM grades WHERE student_id = ?", studentId);
+        assertEquals(((Number) expected.get("GRADE_COUNT")).intValue(), ((Number) stats.get("GRADE_COUNT")).intValue());
+        assertEquals(((Number) expected.get("GRADE_SUM")).doubleValue(), ((Number) stats.get("GRADE_SUM")).doubleValue());
+        assertEquals(expected.get("MIN_GRADE"), stats.get("MIN_GRADE"));
+        assertEquals(expected.get("MAX_GRADE"), stats.get("MAX_GRADE"));
+    }
+
+    @Test
+    void assignGrade_UnknownSubject_KeepsNotFoundMessage() {
+        RuntimeException error = assertThrows(RuntimeException.class,
+            () -> gradeService.assignGrade(studentId, 999L, 50.0));
+        assertEquals("Subject not found", error.getMessage());
+
+        error = assertThrows(RuntimeException.class, () -> gradeService.assignGrade(999L, 1L, 50.0));
+        assertEquals("Student not found", error.getMessage());
+    }
+}
@@ -0,0 +1,101 @@
+package com.gradeportal.integration;
+
+import com.gradeportal.repository.StudentRepository;
+import com.gradeportal.service.GradeService;
+import com.gradeportal.service.ReportCardCache;
+import com.gradeportal.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Versions are bumped after commit, so this test commits for real
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReportCardCacheIntegrationTest {
+
+    @Autowired
+    private ReportCardCache reportCardCache;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private CommittedStudents students;
+
+    private Long studentId;
+
+    @BeforeEach
+    void setUp() {
+        students = new CommittedStudents(studentRepository, jdbcTemplate, "Test-ReportCache");
+        studentId = students.create("Cache Student");
+        gradeService.assignGrade(studentId, 1L, 75.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        students.deleteAll();
+    }
+
+    @Test
+    void unchangedStudent_IsServedFromCache() {
+        ReportCardCache.CachedReportCard first = reportCardCache.get(studentId);
+        assertSame(first, reportCardCache.get(studentId));
+    }
+
+    @Test
+    void gradeAndStudentChanges_InvalidateOnlyThatStudent() {
+        ReportCardCache.CachedReportCard other = reportCardCache.get(1L);
+        ReportCardCache.CachedReportCard before = reportCardCache.get(studentId);
+        long version = reportCardCache.getVersion(studentId);
+
+        gradeService.assignGrade(studentId, 2L, 40.0);
+        assertEquals(version + 1, reportCardCache.getVersion(studentId));
+        ReportCardCache.CachedReportCard afterGrade = reportCardCache.get(studentId);
+        assertNotEquals(before.getEtag(), afterGrade.getEtag());
+        assertSame(other, reportCardCache.get(1L));
+
+        studentService.updateStudent(studentId, "Renamed Student", students.getSection());
+        assertNotEquals(afterGrade.getEtag(), reportCardCache.get(studentId).getEtag());
+    }
+
+    @Test
+    @WithMockUser(roles = "TEACHER")
+    void matchingIfNoneMatch_Returns304() throws Exception {
+        String etag = mockMvc.perform(get("/api/grades/student/{id}/report", studentId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalGrades").value(1))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/grades/student/{id}/report", studentId).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        gradeService.assignGrade(studentId, 3L, 90.0);
+        mockMvc.perform(get("/api/grades/student/{id}/report", studentId).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalGrades").value(2));
+    }
+}
@@ -0,0 +1,83 @@
+package com.gradeportal.integration;
+
+import com.gradeportal.dto.ReportCardDTO;
+import com.gradeportal.entity.Student;
+import com.gradeportal.repository.StudentRepository;
+import com.gradeportal.service.GradeService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Report cards are the peak-traffic read, so the number of statements per card is pinned here
+@SpringBootTest
+@Transactional
+class ReportCardQueryCountTest {
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void generateReportCard_StudentWithGrades_UsesOneStatement() {
+        // Nothing cached in the persistence context, so any lazy load would show up as a statement
+        entityManager.clear();
+        statistics.clear();
+
+        ReportCardDTO reportCard = gradeService.generateReportCard(1L);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(3, reportCard.getTotalGrades());
+        assertEquals(3, reportCard.getPassedGrades());
+        assertEquals(0, reportCard.getFailedGrades());
+        assertEquals(88.33, reportCard.getAverageGrade());
+        assertEquals("Excellent", reportCard.getOverallStatus());
+        assertEquals("Jane Student", reportCard.getGrades().get(0).getStudent().getName());
+        assertEquals(3L, reportCard.getGrades().get(0).getStudent().getUserId());
+        assertNotNull(reportCard.getGrades().get(0).getSubject().getName());
+    }
+
+    @Test
+    void generateReportCard_StudentWithoutGrades_UsesOneStatement() {
+        Student student = studentRepository.save(new Student("No Grades", "Test-Report", null));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        ReportCardDTO reportCard = gradeService.generateReportCard(student.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, reportCard.getTotalGrades());
+        assertEquals(0.0, reportCard.getAverageGrade());
+        assertEquals("N/A", reportCard.getOverallStatus());
+        assertTrue(reportCard.getGrades().isEmpty());
+    }
+
+    @Test
+    void generateReportCard_UnknownStudent_Throws() {
+        RuntimeException error = assertThrows(RuntimeException.class, () -> gradeService.generateReportCard(999L));
+        assertEquals("Student not found", error.getMessage());
+    }
+}
@@ -0,0 +1,94 @@
+package com.gradeportal.integration;
+
+import com.gradeportal.dto.StudentRankDTO;
+import com.gradeportal.repository.StudentRepository;
+import com.gradeportal.service.GradeService;
+import com.gradeportal.service.SectionRankingService;
+import com.gradeportal.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The index is updated after commit, so this test commits for real
+@SpringBootTest
+class SectionRankingIntegrationTest {
+
+    @Autowired
+    private SectionRankingService sectionRankingService;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CommittedStudents students;
+
+    @BeforeEach
+    void setUp() {
+        students = new CommittedStudents(studentRepository, jdbcTemplate, "Test-Ranking");
+    }
+
+    @AfterEach
+    void tearDown() {
+        students.deleteAll();
+        sectionRankingService.rebuild();
+    }
+
+    @Test
+    void gradeChanges_UpdateRanksIncrementally() {
+        Long ana = students.create("Ana");
+        Long ben = students.create("Ben");
+        Long cy = students.create("Cy");
+        gradeService.assignGrade(ana, 1L, 90.0);
+        gradeService.assignGrade(ben, 1L, 80.0);
+        gradeService.assignGrade(cy, 1L, 80.0);
+
+        assertEquals(1, sectionRankingService.getRank(ana).getRank());
+        assertEquals(2, sectionRankingService.getRank(ben).getRank());
+        assertEquals(2, sectionRankingService.getRank(cy).getRank());
+        assertEquals(3, sectionRankingService.getRank(cy).getSectionSize());
+
+        gradeService.assignGrade(cy, 2L, 100.0);
+        List<StudentRankDTO> top = sectionRankingService.getTop(students.getSection(), 2);
+        assertEquals(List.of(ana, cy), top.stream().map(StudentRankDTO::getStudentId).toList());
+        assertEquals(90.0, top.get(1).getAverageGrade());
+        assertEquals(1, top.get(1).getRank());
+        assertEquals(3, sectionRankingService.getRank(ben).getRank());
+    }
+
+    @Test
+    void sectionChange_MovesStudentToOtherTree() {
+        Long ana = students.create("Ana");
+        gradeService.assignGrade(ana, 1L, 70.0);
+
+        studentService.updateStudent(ana, "Ana", students.getSection() + "-B");
+
+        assertTrue(sectionRankingService.getTop(students.getSection(), 10).isEmpty());
+        assertEquals(students.getSection() + "-B", sectionRankingService.getRank(ana).getSection());
+        assertEquals(1, sectionRankingService.getRank(ana).getRank());
+    }
+
+    @Test
+    void getRank_StudentWithoutGrades_Throws() {
+        Long ana = students.create("Ana");
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> sectionRankingService.getRank(ana));
+        assertEquals("Student has no grades to rank", error.getMessage());
+        error = assertThrows(RuntimeException.class, () -> sectionRankingService.getRank(999L));
+        assertEquals("Student not found", error.getMessage());
+    }
+}
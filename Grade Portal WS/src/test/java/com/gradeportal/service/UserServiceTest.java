@@ -1,5 +1,7 @@
 package com.gradeportal.service;
 
+import com.gradeportal.dto.BulkUserRequest;
+import com.gradeportal.dto.BulkUserResult;
 import com.gradeportal.entity.User;
 import com.gradeportal.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,11 +12,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,9 +27,18 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private com.gradeportal.repository.StudentRepository studentRepository;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private com.gradeportal.config.UserSecurityVersions userSecurityVersions;
+
+    @Mock
+    private org.springframework.context.ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -88,6 +101,56 @@ class UserServiceTest {
         verify(passwordEncoder, never()).matches(anyString(), anyString());
     }
 
+    @Test
+    void login_ValidCredentials_VerifiesPasswordOnce() {
+        // Arrange
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
+
+        // Act
+        UserService.AuthenticatedUser result = userService.login("testuser", "password");
+
+        // Assert
+        assertNotNull(result);
+        assertSame(testUser, result.getUser());
+        assertTrue(result.getAuthentication().isAuthenticated());
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void login_WeakerHash_RehashesPassword() {
+        // Arrange
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("password")).thenReturn("strongerPassword");
+        when(userRepository.updatePasswordIfUnchanged(eq(1L), eq("encodedPassword"), eq("strongerPassword"), any()))
+            .thenReturn(1);
+
+        // Act
+        UserService.AuthenticatedUser result = userService.login("testuser", "password");
+
+        // Assert
+        assertNotNull(result);
+        assertEquals("strongerPassword", testUser.getPassword());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void login_PendingUser_ReturnsNull() {
+        // Arrange
+        testUser.setStatus(User.UserStatus.PENDING);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password", "encodedPassword")).thenReturn(true);
+
+        // Act
+        UserService.AuthenticatedUser result = userService.login("testuser", "password");
+
+        // Assert
+        assertNull(result);
+    }
+
     @Test
     void signupUser_NewUsername_CreatesUser() {
         // Arrange
@@ -159,4 +222,47 @@ class UserServiceTest {
         assertEquals("testuser", result.get().getUsername());
         verify(userRepository).findByUsername("testuser");
     }
+
+    @Test
+    void approveUsers_MixedIds_UpdatesPendingUsersInOneStatement() {
+        // Arrange
+        User pending = new User();
+        pending.setId(2L);
+        pending.setUsername("pending");
+        pending.setStatus(User.UserStatus.PENDING);
+        when(userRepository.findAllByIdInForUpdate(any())).thenReturn(List.of(testUser, pending));
+        when(userRepository.updateStatusByIdIn(eq(List.of(2L)), eq(User.UserStatus.APPROVED), any())).thenReturn(1);
+
+        // Act
+        BulkUserResult result = userService.approveUsers(new BulkUserRequest(List.of(2L, 1L, 99L)));
+
+        // Assert
+        assertEquals(1, result.getAffected());
+        assertEquals(List.of(2L, 1L, 99L), List.copyOf(result.getOutcomes().keySet()));
+        assertEquals(BulkUserResult.Outcome.APPROVED, result.getOutcomes().get(2L));
+        assertEquals(BulkUserResult.Outcome.UNCHANGED, result.getOutcomes().get(1L));
+        assertEquals(BulkUserResult.Outcome.NOT_FOUND, result.getOutcomes().get(99L));
+        verify(userSecurityVersions).revokeAll(List.of(2L));
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteUsers_UserLinkedToStudent_IsSkipped() {
+        // Arrange
+        User other = new User();
+        other.setId(2L);
+        other.setUsername("other");
+        when(userRepository.findAllByStatusAndRoleForUpdate(User.UserStatus.APPROVED, null))
+            .thenReturn(List.of(testUser, other));
+        when(studentRepository.findUserIdsLinkedToStudents(List.of(1L, 2L))).thenReturn(List.of(1L));
+        when(userRepository.deleteByIdIn(List.of(2L))).thenReturn(1);
+
+        // Act
+        BulkUserResult result = userService.deleteUsers(new BulkUserRequest(User.UserStatus.APPROVED, null));
+
+        // Assert
+        assertEquals(1, result.getAffected());
+        assertEquals(BulkUserResult.Outcome.HAS_STUDENT_RECORD, result.getOutcomes().get(1L));
+        assertEquals(BulkUserResult.Outcome.DELETED, result.getOutcomes().get(2L));
+    }
 }
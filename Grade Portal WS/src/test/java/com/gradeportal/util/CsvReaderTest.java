@@ -0,0 +1,51 @@
+package com.gradeportal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void quotedFields_KeepCommasQuotesAndLineBreaks() throws Exception {
+        CsvReader csv = new CsvReader(new StringReader("a,\"b,c\",\"say \"\"hi\"\"\"\r\n\"multi\nline\",,x\n"));
+
+        assertEquals(List.of("a", "b,c", "say \"hi\""), csv.readRecord());
+        assertEquals(1, csv.getRecordLineNumber());
+        assertEquals(List.of("multi\nline", "", "x"), csv.readRecord());
+        assertEquals(2, csv.getRecordLineNumber());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    void lineNumbers_CountPhysicalLines() throws Exception {
+        CsvReader csv = new CsvReader(new StringReader("h\n\"one\ntwo\"\n\nlast"));
+
+        csv.readRecord();
+        csv.readRecord();
+        assertEquals(List.of(""), csv.readRecord());
+        assertEquals(4, csv.getRecordLineNumber());
+        assertEquals(List.of("last"), csv.readRecord());
+        assertEquals(5, csv.getRecordLineNumber());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    void unterminatedQuote_Fails() {
+        CsvReader csv = new CsvReader(new StringReader("1,\"open\n2,3\n"));
+
+        IOException e = assertThrows(IOException.class, csv::readRecord);
+        assertTrue(e.getMessage().contains("line 1"));
+    }
+
+    @Test
+    void oversizedField_Fails() {
+        CsvReader csv = new CsvReader(new StringReader("x".repeat(CsvReader.MAX_FIELD_LENGTH + 1)));
+
+        assertThrows(IOException.class, csv::readRecord);
+    }
+}
@@ -0,0 +1,51 @@
+package com.gradeportal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradeAccumulatorTest {
+
+    @Test
+    void statistics_MatchTextbookValues() {
+        GradeAccumulator accumulator = new GradeAccumulator();
+        for (double grade : new double[] {40, 55, 60, 70, 85.5, 100}) {
+            accumulator.add(grade);
+        }
+
+        assertEquals(6, accumulator.getCount());
+        assertEquals(4, accumulator.getPassed());
+        assertEquals(68.4167, accumulator.getMean(), 1e-4);
+        assertEquals(19.7914, accumulator.getStandardDeviation(), 1e-4);
+        assertEquals(65.0, accumulator.percentile(0.5), 1e-9);
+        assertEquals(40.0, accumulator.percentile(0.0), 1e-9);
+        assertEquals(100.0, accumulator.percentile(1.0), 1e-9);
+        assertEquals(56.25, accumulator.percentile(0.25), 1e-9);
+        assertArrayEquals(new int[] {0, 0, 0, 0, 1, 1, 1, 1, 1, 1}, accumulator.histogram(10));
+    }
+
+    @Test
+    void merge_PartialAccumulators_EqualsSinglePass() {
+        Random random = new Random(42);
+        GradeAccumulator whole = new GradeAccumulator();
+        GradeAccumulator[] parts = {new GradeAccumulator(), new GradeAccumulator(), new GradeAccumulator()};
+        for (int i = 0; i < 10_000; i++) {
+            double grade = Math.round(random.nextDouble() * 10000) / 100.0;
+            whole.add(grade);
+            parts[i % 3 == 0 ? 0 : (i % 7 == 0 ? 1 : 2)].add(grade);
+        }
+
+        GradeAccumulator merged = new GradeAccumulator().merge(parts[0]).merge(parts[1]).merge(parts[2]);
+
+        assertEquals(whole.getCount(), merged.getCount());
+        assertEquals(whole.getPassed(), merged.getPassed());
+        assertEquals(whole.getMean(), merged.getMean(), 1e-9);
+        assertEquals(whole.getStandardDeviation(), merged.getStandardDeviation(), 1e-9);
+        assertEquals(whole.getMin(), merged.getMin());
+        assertEquals(whole.getMax(), merged.getMax());
+        assertEquals(whole.percentile(0.9), merged.percentile(0.9));
+        assertArrayEquals(whole.histogram(10), merged.histogram(10));
+    }
+}
@@ -0,0 +1,50 @@
+package com.gradeportal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatisticTreeTest {
+
+    @Test
+    void rankAndSelect_MatchSortedSet() {
+        Random random = new Random(7);
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            int value = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), tree.remove(value));
+            } else {
+                assertEquals(expected.add(value), tree.add(value));
+            }
+        }
+
+        assertEquals(expected.size(), tree.size());
+        List<Integer> sorted = new ArrayList<>(expected);
+        for (int i = 0; i < sorted.size(); i += 37) {
+            assertEquals(sorted.get(i), tree.get(i));
+            assertEquals(i, tree.countBefore(sorted.get(i)));
+        }
+        assertEquals(expected.headSet(1_000).size(), tree.countBefore(1_000));
+        assertEquals(sorted.subList(0, 25), tree.first(25));
+    }
+
+    @Test
+    void emptyTree_HasNoKeys() {
+        OrderStatisticTree<String> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.countBefore("a"));
+        assertTrue(tree.first(5).isEmpty());
+        assertFalse(tree.remove("a"));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(0));
+    }
+}
@@ -0,0 +1,59 @@
+package com.gradeportal.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gradeportal.dto.GradeDTO;
+import com.gradeportal.dto.StudentDTO;
+import com.gradeportal.dto.SubjectDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparseFieldsetTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().setFilterProvider(SparseFieldset.ALL_FIELDS);
+
+    private final GradeDTO grade = new GradeDTO(7L, new StudentDTO(1L, "Jane", "10-A", 3L),
+        new SubjectDTO(2L, "Science", "Long description"), 88.0, "2026-01-15");
+
+    @Test
+    void dottedPaths_TrimNestedObjects() throws Exception {
+        SparseFieldset fieldset = SparseFieldset.parse("id, gradeValue, subject.name", SparseFieldset.GRADE);
+
+        assertEquals("[{\"id\":7,\"subject\":{\"name\":\"Science\"},\"gradeValue\":88.0}]", write(fieldset, List.of(grade)));
+        assertTrue(fieldset.includes(SparseFieldset.GRADE, "subject"));
+        assertFalse(fieldset.includes(SparseFieldset.GRADE, "student"));
+        assertFalse(fieldset.includes(SparseFieldset.SUBJECT, "description"));
+    }
+
+    @Test
+    void bareNestedName_KeepsWholeObject() throws Exception {
+        SparseFieldset fieldset = SparseFieldset.parse("student", SparseFieldset.GRADE);
+
+        assertEquals("{\"student\":{\"id\":1,\"name\":\"Jane\",\"section\":\"10-A\",\"userId\":3}}", write(fieldset, grade));
+    }
+
+    @Test
+    void missingParameter_SelectsEverything() throws Exception {
+        SparseFieldset fieldset = SparseFieldset.parse(null, SparseFieldset.GRADE);
+
+        assertEquals(objectMapper.writeValueAsString(grade), write(fieldset, grade));
+        assertTrue(fieldset.includes(SparseFieldset.GRADE, "dateAssigned"));
+    }
+
+    @Test
+    void unknownFields_AreRejected() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> SparseFieldset.parse("id,password", SparseFieldset.STUDENT));
+        assertEquals("Unknown field: password", e.getMessage());
+        assertThrows(RuntimeException.class, () -> SparseFieldset.parse("gradeValue.x", SparseFieldset.GRADE));
+        assertThrows(RuntimeException.class, () -> SparseFieldset.parse("subject.nope", SparseFieldset.GRADE));
+    }
+
+    private String write(SparseFieldset fieldset, Object body) throws Exception {
+        MappingJacksonValue value = fieldset.wrap(body);
+        return objectMapper.writer(value.getFilters()).writeValueAsString(value.getValue());
+    }
+}